@@ -1,6 +1,7 @@
 plugins {
     java
     id("io.quarkus") version "3.6.4"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.test"
@@ -26,6 +27,11 @@ dependencies {
     implementation("io.quarkus:quarkus-jdbc-postgresql")
     implementation("io.quarkus:quarkus-smallrye-openapi")
     implementation("io.quarkus:quarkus-smallrye-health")
+    implementation("io.quarkus:quarkus-caffeine")
+    implementation("io.quarkus:quarkus-scheduler")
+    implementation("io.quarkus:quarkus-micrometer-registry-prometheus")
+    implementation("io.quarkus:quarkus-opentelemetry")
+    implementation("io.opentelemetry.instrumentation:opentelemetry-jdbc")
 
     // Testing
     testImplementation("io.quarkus:quarkus-junit5")
@@ -35,12 +41,46 @@ dependencies {
     testImplementation("org.mockito:mockito-junit-jupiter:5.8.0")
     testImplementation("io.quarkus:quarkus-jdbc-h2")
     testImplementation("io.quarkus:quarkus-test-h2")
+    testImplementation("io.opentelemetry:opentelemetry-sdk-testing")
 }
 
 tasks.test {
     useJUnitPlatform()
 }
 
+// End-to-end HTTP load test in src/loadTest: boots the packaged app, seeds devices, drives a weighted
+// mix of device endpoints and writes HdrHistogram latencies per endpoint to build/reports/loadtest.
+// ./gradlew loadTest [-Ploadtest.clients=64] [-Ploadtest.duration=60] [-Ploadtest.mix=get=80,list=20] ...
+val loadTest: SourceSet by sourceSets.creating
+
+dependencies {
+    "loadTestImplementation"(enforcedPlatform("${quarkusPlatformGroupId}:${quarkusPlatformArtifactId}:${quarkusPlatformVersion}"))
+    "loadTestImplementation"("com.fasterxml.jackson.core:jackson-databind")
+    "loadTestImplementation"("org.hdrhistogram:HdrHistogram:2.1.12")
+}
+
+tasks.register<JavaExec>("loadTest") {
+    group = "verification"
+    description = "Runs the HTTP load test against the packaged application"
+    dependsOn("quarkusBuild")
+    classpath = loadTest.runtimeClasspath
+    mainClass.set("com.test.devices.loadtest.LoadTest")
+    systemProperty("loadtest.app-jar", layout.buildDirectory.file("quarkus-app/quarkus-run.jar").get().asFile.path)
+    systemProperty("loadtest.report", layout.buildDirectory.file("reports/loadtest/results.json").get().asFile.path)
+    project.properties
+        .filterKeys { it.startsWith("loadtest.") }
+        .forEach { (key, value) -> systemProperty(key, value.toString()) }
+}
+
+// Microbenchmarks in src/jmh: ./gradlew jmh [-Pjmh.includes=DeviceSerialization] [-Pjmh.profilers=gc]
+jmh {
+    jmhVersion.set("1.37")
+    (findProperty("jmh.includes") as String?)?.let { includes.set(listOf(it)) }
+    profilers.set(((findProperty("jmh.profilers") as String?) ?: "gc").split(",").filter { it.isNotBlank() })
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("reports/jmh/results.json"))
+}
+
 java {
     sourceCompatibility = JavaVersion.VERSION_21
     targetCompatibility = JavaVersion.VERSION_21
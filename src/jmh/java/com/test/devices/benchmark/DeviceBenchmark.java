@@ -0,0 +1,43 @@
+package com.test.devices.benchmark;
+
+import com.test.devices.domain.model.Device;
+import com.test.devices.domain.model.DeviceState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building the {@link Device} aggregate: {@code create} validates and reads the clock,
+ * {@code reconstitute} is the plain copy done for every row loaded from the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeviceBenchmark {
+
+    private final String name = "iPhone 15 Pro";
+    private final String brand = "Apple";
+    private final LocalDateTime creationTime = LocalDateTime.of(2025, 12, 7, 10, 30);
+
+    @Benchmark
+    public Device create() {
+        return Device.create(name, brand, DeviceState.AVAILABLE);
+    }
+
+    @Benchmark
+    public Device reconstitute() {
+        return Device.reconstitute(1L, name, brand, DeviceState.AVAILABLE, creationTime, 0L, creationTime);
+    }
+}
@@ -0,0 +1,57 @@
+package com.test.devices.benchmark;
+
+import com.test.devices.application.dto.DeviceResponse;
+import com.test.devices.domain.model.Device;
+import com.test.devices.domain.model.DeviceState;
+import com.test.devices.infrastructure.persistance.DeviceEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-device copies on the request path: domain to entity on save, entity to domain on load
+ * and domain to the REST response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeviceMappingBenchmark {
+
+    private Device device;
+    private DeviceEntity entity;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime creationTime = LocalDateTime.of(2025, 12, 7, 10, 30);
+        device = Device.reconstitute(1L, "iPhone 15 Pro", "Apple", DeviceState.AVAILABLE, creationTime, 0L, creationTime);
+        entity = DeviceEntity.fromDomain(device);
+    }
+
+    @Benchmark
+    public DeviceEntity entityFromDomain() {
+        return DeviceEntity.fromDomain(device);
+    }
+
+    @Benchmark
+    public Device entityToDomain() {
+        return entity.toDomain();
+    }
+
+    @Benchmark
+    public DeviceResponse responseFrom() {
+        return DeviceResponse.from(device);
+    }
+}
@@ -0,0 +1,66 @@
+package com.test.devices.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.test.devices.application.dto.DeviceResponse;
+import com.test.devices.domain.model.DeviceState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a device list as the list endpoint writes it, from a single device up
+ * to a large page. The mapper is configured like the Quarkus default one (JSR-310 module, ISO dates).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeviceSerializationBenchmark {
+
+    @Param({"1", "100", "10000"})
+    int size;
+
+    private ObjectWriter writer;
+    private List<DeviceResponse> devices;
+
+    @Setup
+    public void setUp() {
+        writer = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writerFor(new TypeReference<List<DeviceResponse>>() { });
+
+        LocalDateTime creationTime = LocalDateTime.of(2025, 12, 7, 10, 30);
+        DeviceState[] states = DeviceState.values();
+        devices = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            devices.add(new DeviceResponse((long) i, "Device " + i, "Brand " + (i % 20),
+                    states[i % states.length], creationTime, 0L, creationTime));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws JsonProcessingException {
+        return writer.writeValueAsBytes(devices);
+    }
+}
@@ -0,0 +1,110 @@
+package com.test.devices.infrastructure.persistance;
+
+import com.test.devices.application.dto.DeviceResponse;
+import com.test.devices.domain.model.Device;
+import com.test.devices.domain.model.DeviceState;
+import com.test.devices.domain.repository.DeviceCriteria;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * A brand listing through entities (load {@code DeviceEntity}, map to {@link Device}, then to
+ * {@link DeviceResponse}) against the {@link JpaDeviceQueries} projection, on in-memory H2 with a
+ * fresh session per call as in a request. Divide {@code gc.alloc.rate.norm} by {@code rows} for
+ * the allocation per row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DeviceListQueryBenchmark {
+
+    private static final String BRAND = "Apple";
+
+    @Param({"100", "1000"})
+    public int rows;
+
+    private SessionFactory sessionFactory;
+    private EntityManager entityManager;
+    private JpaDeviceQueries queries;
+
+    @Setup
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(DeviceEntity.class)
+                .setProperty(AvailableSettings.URL, "jdbc:h2:mem:benchmark-" + rows + ";DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.DIALECT, "org.hibernate.dialect.H2Dialect")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, "50")
+                .buildSessionFactory();
+
+        EntityManager seeding = sessionFactory.createEntityManager();
+        JpaDeviceRepository repository = new JpaDeviceRepository();
+        repository.entityManager = seeding;
+        seeding.getTransaction().begin();
+        for (int i = 0; i < rows; i++) {
+            // One other-brand device per listed one, so the query filters
+            repository.save(Device.create("iPhone " + i, BRAND, DeviceState.AVAILABLE));
+            repository.save(Device.create("Galaxy " + i, "Samsung", DeviceState.AVAILABLE));
+        }
+        seeding.getTransaction().commit();
+        seeding.close();
+
+        queries = new JpaDeviceQueries();
+    }
+
+    @Setup(Level.Invocation)
+    public void openSession() {
+        entityManager = sessionFactory.createEntityManager();
+        queries.entityManager = entityManager;
+    }
+
+    @TearDown(Level.Invocation)
+    public void closeSession() {
+        entityManager.close();
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public List<DeviceResponse> entities() {
+        return entityManager.createQuery(
+                        "SELECT d FROM DeviceEntity d WHERE d.brand = :brand ORDER BY d.id", DeviceEntity.class)
+                .setParameter("brand", BRAND)
+                .setMaxResults(rows)
+                .getResultList()
+                .stream()
+                .map(DeviceEntity::toDomain)
+                .map(DeviceResponse::from)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<DeviceResponse> projection() {
+        return queries.findPage(DeviceCriteria.none().withBrand(BRAND), null, rows);
+    }
+}
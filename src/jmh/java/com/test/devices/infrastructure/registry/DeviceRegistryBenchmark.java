@@ -0,0 +1,133 @@
+package com.test.devices.infrastructure.registry;
+
+import com.test.devices.application.dto.DeviceResponse;
+import com.test.devices.domain.model.Device;
+import com.test.devices.domain.model.DeviceState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link OffHeapDeviceRegistry} against a {@code HashMap<Long, Device>} holding the same
+ * synthetic inventory: lookups of the state and of the whole device at random ids, updates, and
+ * the pause of a full collection, which has to trace every device left on the heap. Run with the
+ * gc profiler (the default) for the collection time and count under the update churn.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms3g", "-Xmx3g", "-XX:MaxDirectMemorySize=2g"})
+public class DeviceRegistryBenchmark {
+
+    private static final String[] BRANDS = {"Apple", "Samsung", "Google", "Xiaomi", "Sony", "Lenovo", "Dell", "HP"};
+    private static final DeviceState[] STATES = DeviceState.values();
+    // Random ids cycled through by the lookups, more than fit in the CPU caches
+    private static final int ID_SAMPLES = 1 << 20;
+
+    @Param({"1000000", "5000000"})
+    public int devices;
+
+    @Param({"offheap", "heap"})
+    public String registry;
+
+    private boolean offHeapSelected;
+    private OffHeapDeviceRegistry offHeap;
+    private Map<Long, Device> heap;
+    private long[] versions;
+    private long[] ids;
+    private int next;
+    private LocalDateTime now;
+
+    @Setup
+    public void setUp() {
+        offHeapSelected = registry.equals("offheap");
+        now = LocalDateTime.of(2025, 12, 7, 10, 30);
+        versions = new long[devices + 1];
+        if (offHeapSelected) {
+            offHeap = new OffHeapDeviceRegistry();
+            offHeap.enabled = true;
+            offHeap.initialCapacity = 65536;
+        } else {
+            heap = new HashMap<>();
+        }
+
+        SplittableRandom random = new SplittableRandom(42);
+        for (long id = 1; id <= devices; id++) {
+            String name = "Model " + (1 + random.nextInt(999)) + " " + id;
+            String brand = BRANDS[random.nextInt(BRANDS.length)];
+            DeviceState state = STATES[random.nextInt(STATES.length)];
+            if (offHeapSelected) {
+                offHeap.put(new DeviceResponse(id, name, brand, state, now, 0L, now));
+            } else {
+                heap.put(id, Device.reconstitute(id, name, brand, state, now, 0L, now));
+            }
+        }
+
+        ids = new long[ID_SAMPLES];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = 1 + random.nextInt(devices);
+        }
+    }
+
+    @Benchmark
+    public DeviceState state() {
+        long id = nextId();
+        return offHeapSelected ? offHeap.state(id) : heap.get(id).getState();
+    }
+
+    @Benchmark
+    public DeviceResponse device() {
+        long id = nextId();
+        return offHeapSelected ? offHeap.find(id).orElseThrow() : DeviceResponse.from(heap.get(id));
+    }
+
+    /**
+     * A state change as the write use cases register it: a new version of the whole device.
+     */
+    @Benchmark
+    public long update() {
+        long id = nextId();
+        long version = ++versions[(int) id];
+        DeviceState state = STATES[(int) (version % STATES.length)];
+        if (offHeapSelected) {
+            DeviceResponse device = offHeap.find(id).orElseThrow();
+            offHeap.put(new DeviceResponse(id, device.name(), device.brand(), state, device.creationTime(), version, now));
+        } else {
+            Device device = heap.get(id);
+            heap.put(id, Device.reconstitute(id, device.getName(), device.getBrand(), state,
+                    device.getCreationTime(), version, now));
+        }
+        return version;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 10)
+    public void fullCollection() {
+        System.gc();
+    }
+
+    private long nextId() {
+        long id = ids[next];
+        next = (next + 1) & (ID_SAMPLES - 1);
+        return id;
+    }
+}
@@ -0,0 +1,74 @@
+package com.test.devices.infrastructure.search;
+
+import com.test.devices.domain.model.Device;
+import com.test.devices.domain.model.DeviceState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * First page of ranked results from {@link InMemoryDeviceSearch} over a synthetic inventory:
+ * ten brands with three product lines each, model numbers up to 999 and optional suffixes, so
+ * many devices share a name as in a real fleet. The queries go from selective ("iphone 15") to a
+ * single short prefix matching a third of the inventory ("g"), which bounds the worst case.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms3g", "-Xmx3g"})
+public class DeviceSearchBenchmark {
+
+    private static final List<String[]> CATALOG = List.of(
+            new String[] {"Apple", "iPhone", "iPad", "MacBook"},
+            new String[] {"Samsung", "Galaxy", "Tab", "Book"},
+            new String[] {"Google", "Pixel", "Nest", "Chromebook"},
+            new String[] {"Xiaomi", "Redmi", "Poco", "Mi"},
+            new String[] {"Sony", "Xperia", "Bravia", "Walkman"},
+            new String[] {"Lenovo", "ThinkPad", "IdeaPad", "Yoga"},
+            new String[] {"Dell", "Latitude", "XPS", "Inspiron"},
+            new String[] {"HP", "EliteBook", "ProBook", "Spectre"},
+            new String[] {"Garmin", "Fenix", "Forerunner", "Venu"},
+            new String[] {"Zebra", "TC52", "MC93", "ET40"});
+    private static final String[] SUFFIXES = {"", " Pro", " Max", " Mini", " Ultra", " Lite"};
+
+    @Param({"1000000", "5000000"})
+    public int devices;
+
+    @Param({"iphone 15", "galaxy s", "pixel 8 pro", "g"})
+    public String query;
+
+    private InMemoryDeviceSearch search;
+
+    @Setup
+    public void setUp() {
+        search = new InMemoryDeviceSearch();
+        SplittableRandom random = new SplittableRandom(42);
+        for (long id = 1; id <= devices; id++) {
+            String[] brand = CATALOG.get(random.nextInt(CATALOG.size()));
+            String name = brand[1 + random.nextInt(3)] + " " + (1 + random.nextInt(999))
+                    + SUFFIXES[random.nextInt(SUFFIXES.length)];
+            Device device = Device.create(name, brand[0], DeviceState.AVAILABLE);
+            device.setId(id);
+            search.index(device);
+        }
+    }
+
+    @Benchmark
+    public List<Long> firstPage() {
+        return search.search(query, 0, 21);
+    }
+}
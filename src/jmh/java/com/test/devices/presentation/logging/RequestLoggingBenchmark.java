@@ -0,0 +1,88 @@
+package com.test.devices.presentation.logging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.jboss.logmanager.formatters.PatternFormatter;
+import org.jboss.logmanager.handlers.OutputStreamHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Request-thread cost of logging one request: the former per-method INFO line formatted
+ * synchronously with the console pattern, against the sampled access log, which only enqueues an
+ * entry for its writer thread. Output goes to a null stream, so this is the formatting CPU alone;
+ * a real console adds the write (and blocks on it when stdout is slow).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.util.logging.manager=org.jboss.logmanager.LogManager")
+public class RequestLoggingBenchmark {
+
+    private static final String CONSOLE_FORMAT = "%d{yyyy-MM-dd HH:mm:ss,SSS} %-5p [%c{2.}] (%t) %s%e%n";
+
+    @Param({"0.01", "1.0"})
+    double sampleRate;
+
+    private org.jboss.logging.Logger resourceLogger;
+    private AccessLog accessLog;
+    private long id;
+
+    @Setup
+    public void setUp() {
+        configure("", CONSOLE_FORMAT);
+        configure(AccessLog.CATEGORY, "%s%n").setUseParentHandlers(false);
+        resourceLogger = org.jboss.logging.Logger.getLogger("com.test.devices.presentation.rest.DeviceResource");
+
+        accessLog = new AccessLog();
+        accessLog.enabled = true;
+        accessLog.sampleRate = sampleRate;
+        accessLog.slowThreshold = Duration.ofSeconds(1);
+        accessLog.queueSize = 10_000;
+        accessLog.objectMapper = new ObjectMapper();
+        accessLog.init();
+    }
+
+    @TearDown
+    public void tearDown() {
+        accessLog.shutdown();
+    }
+
+    @Benchmark
+    public void perRequestInfoLog() {
+        resourceLogger.infof("GET /api/v1/devices/%d - Fetching device", ++id);
+    }
+
+    @Benchmark
+    public void sampledAccessLog() {
+        accessLog.log("GET", "/api/v1/devices/" + ++id, "getDevice", 200, 1_500_000);
+    }
+
+    private static Logger configure(String category, String format) {
+        Logger logger = Logger.getLogger(category);
+        for (Handler handler : logger.getHandlers()) {
+            logger.removeHandler(handler);
+        }
+        logger.setLevel(Level.INFO);
+        logger.addHandler(new OutputStreamHandler(OutputStream.nullOutputStream(), new PatternFormatter(format)));
+        return logger;
+    }
+}
@@ -0,0 +1,103 @@
+package com.test.devices.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Boots the packaged application with its default (H2 in-memory) configuration and stops it on close.
+ * Its output goes to {@code app.log} next to the report so the load generator's console stays readable.
+ */
+final class ApplicationProcess implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(60);
+
+    private final Process process;
+
+    private ApplicationProcess(Process process) {
+        this.process = process;
+    }
+
+    static ApplicationProcess start(LoadTestConfig config, HttpClient http) throws IOException, InterruptedException {
+        if (!Files.isRegularFile(config.appJar())) {
+            throw new IllegalStateException("Application jar not found: " + config.appJar() + " (run quarkusBuild first)");
+        }
+        if (listening(config.targetUrl(), http)) {
+            throw new IllegalStateException("Port " + config.port() + " is already in use; set loadtest.port, "
+                    + "or loadtest.base-url to test the application already running there");
+        }
+        Path log = config.report().toAbsolutePath().resolveSibling("app.log");
+        Files.createDirectories(log.getParent());
+
+        String java = ProcessHandle.current().info().command().orElse("java");
+        List<String> command = new ArrayList<>(List.of(java, "-Dquarkus.http.port=" + config.port()));
+        if (!config.appArgs().isBlank()) {
+            command.addAll(Arrays.asList(config.appArgs().trim().split("\\s+")));
+        }
+        command.addAll(List.of("-jar", config.appJar().toString()));
+
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        ApplicationProcess application = new ApplicationProcess(process);
+        try {
+            application.awaitReady(config.targetUrl(), http);
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            application.close();
+            throw e;
+        }
+        return application;
+    }
+
+    private void awaitReady(String baseUrl, HttpClient http) throws IOException, InterruptedException {
+        HttpRequest ready = HttpRequest.newBuilder(URI.create(baseUrl + "/health/ready")).build();
+        Instant deadline = Instant.now().plus(STARTUP_TIMEOUT);
+        while (Instant.now().isBefore(deadline)) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with code " + process.exitValue() + ", see app.log");
+            }
+            try {
+                if (http.send(ready, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(250);
+        }
+        throw new IllegalStateException("Application not ready after " + STARTUP_TIMEOUT.toSeconds() + "s, see app.log");
+    }
+
+    private static boolean listening(String baseUrl, HttpClient http) throws InterruptedException {
+        try {
+            http.send(HttpRequest.newBuilder(URI.create(baseUrl)).build(), HttpResponse.BodyHandlers.discarding());
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        process.destroy();
+        try {
+            if (process.waitFor(10, TimeUnit.SECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        process.destroyForcibly();
+    }
+}
@@ -0,0 +1,50 @@
+package com.test.devices.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+
+/**
+ * JSON report of a run. Latencies are in milliseconds and only cover the recorded period.
+ */
+record LoadReport(
+        String startedAt,
+        String target,
+        int seededDevices,
+        int clients,
+        long warmupSeconds,
+        long durationSeconds,
+        long requests,
+        long errors,
+        double throughput,
+        Map<String, OperationResult> operations) {
+
+    record OperationResult(
+            String endpoint,
+            long requests,
+            long errors,
+            double throughput,
+            Latency latencyMillis) {
+    }
+
+    record Latency(double min, double mean, double p50, double p90, double p99, double p999, double max) {
+
+        /**
+         * Summarizes a histogram recorded in microseconds.
+         */
+        static Latency of(Histogram micros) {
+            return new Latency(
+                    millis(micros.getMinValue()),
+                    Math.round(micros.getMean()) / 1000.0,
+                    millis(micros.getValueAtPercentile(50)),
+                    millis(micros.getValueAtPercentile(90)),
+                    millis(micros.getValueAtPercentile(99)),
+                    millis(micros.getValueAtPercentile(99.9)),
+                    millis(micros.getMaxValue()));
+        }
+
+        private static double millis(long micros) {
+            return micros / 1000.0;
+        }
+    }
+}
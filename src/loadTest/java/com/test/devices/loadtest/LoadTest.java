@@ -0,0 +1,278 @@
+package com.test.devices.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * End-to-end HTTP load test of the device API. Boots the packaged application (unless
+ * {@code loadtest.base-url} points at a running one), seeds devices, then runs closed-loop clients
+ * that each pick the next operation from the weighted mix. Latency per operation is recorded in
+ * HdrHistograms after the warm-up and written to a JSON report. Exits with status 1 when the error
+ * rate or any p99 exceeds the configured limits.
+ *
+ * <p>Reads and updates target the seeded devices; deletes take devices created during the run (or
+ * the spare ones seeded for that purpose), so the read working set stays stable.
+ */
+public final class LoadTest {
+
+    private static final String DEVICES_PATH = "/api/v1/devices";
+    private static final int SEED_BATCH_SIZE = 1000;
+    private static final int BRANDS = 20;
+    private static final int PAGE_SIZE = 50;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final long HIGHEST_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(2);
+    private static final HttpResponse.BodyHandler<String> DISCARD = info -> HttpResponse.BodySubscribers.replacing(null);
+
+    private final LoadTestConfig config;
+    private final HttpClient http;
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final ConcurrentLinkedQueue<Long> deletable = new ConcurrentLinkedQueue<>();
+    private final Operation[] weightedOperations;
+    private long[] seededIds;
+    private volatile boolean recording;
+
+    private LoadTest(LoadTestConfig config, HttpClient http) {
+        this.config = config;
+        this.http = http;
+        List<Operation> weighted = new ArrayList<>();
+        config.mix().forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weighted.add(operation);
+            }
+        });
+        this.weightedOperations = weighted.toArray(Operation[]::new);
+        for (Operation operation : Operation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(HIGHEST_LATENCY_MICROS, 3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        try (ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(clientThreads)
+                    .build();
+            LoadReport report;
+            if (config.baseUrl() != null) {
+                report = new LoadTest(config, http).run();
+            } else {
+                System.out.println("Booting " + config.appJar() + " on port " + config.port());
+                try (ApplicationProcess ignored = ApplicationProcess.start(config, http)) {
+                    report = new LoadTest(config, http).run();
+                }
+            }
+            if (!withinLimits(config, report)) {
+                System.exit(1);
+            }
+        }
+    }
+
+    private LoadReport run() throws IOException, InterruptedException {
+        String startedAt = Instant.now().toString();
+        seed();
+
+        System.out.printf("Running %d clients: %ds warm-up, %ds recorded, mix %s%n", config.clients(),
+                config.warmup().toSeconds(), config.duration().toSeconds(), config.mix());
+        long start = System.nanoTime();
+        long recordFrom = start + config.warmup().toNanos();
+        long end = recordFrom + config.duration().toNanos();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < config.clients(); i++) {
+                clients.submit(() -> drive(end));
+            }
+            Thread.sleep(Duration.ofNanos(recordFrom - System.nanoTime()));
+            recording = true;
+        }
+
+        LoadReport report = report(startedAt);
+        Files.createDirectories(config.report().toAbsolutePath().getParent());
+        objectMapper.writeValue(config.report().toFile(), report);
+        print(report);
+        return report;
+    }
+
+    private void seed() throws IOException, InterruptedException {
+        int spare = Math.max(config.devices() / 10, 1);
+        int total = config.devices() + spare;
+        System.out.printf("Seeding %d devices%n", total);
+        List<Long> ids = new ArrayList<>(total);
+        for (int from = 0; from < total; from += SEED_BATCH_SIZE) {
+            StringBuilder body = new StringBuilder("[");
+            for (int i = from; i < Math.min(from + SEED_BATCH_SIZE, total); i++) {
+                body.append(i > from ? "," : "").append(deviceJson(i));
+            }
+            HttpResponse<String> response = http.send(json(URI.create(config.targetUrl() + "/api/v1/devices:batch"))
+                    .POST(HttpRequest.BodyPublishers.ofString(body.append(']').toString()))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding failed with status " + response.statusCode() + ": " + response.body());
+            }
+            for (JsonNode item : objectMapper.readTree(response.body()).path("results")) {
+                ids.add(item.path("device").path("id").asLong());
+            }
+        }
+        seededIds = ids.subList(0, config.devices()).stream().mapToLong(Long::longValue).toArray();
+        deletable.addAll(ids.subList(config.devices(), ids.size()));
+    }
+
+    private void drive(long end) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < end) {
+            Operation operation = weightedOperations[random.nextInt(weightedOperations.length)];
+            Long deleteId = null;
+            if (operation == Operation.DELETE) {
+                deleteId = deletable.poll();
+                if (deleteId == null) {
+                    operation = Operation.CREATE;
+                }
+            }
+            HttpRequest request = request(operation, deleteId, random).timeout(REQUEST_TIMEOUT).build();
+
+            long started = System.nanoTime();
+            int status;
+            String body = null;
+            try {
+                HttpResponse<String> response = http.send(request,
+                        operation == Operation.CREATE ? HttpResponse.BodyHandlers.ofString() : DISCARD);
+                status = response.statusCode();
+                body = response.body();
+            } catch (IOException e) {
+                status = -1;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - started);
+
+            boolean ok = (status >= 200 && status < 300) || status == 304;
+            if (recording) {
+                latencies.get(operation).recordValue(Math.min(micros, HIGHEST_LATENCY_MICROS));
+                if (!ok) {
+                    errors.get(operation).increment();
+                }
+            }
+            if (ok && operation == Operation.CREATE) {
+                rememberCreated(body);
+            }
+        }
+    }
+
+    private HttpRequest.Builder request(Operation operation, Long deleteId, ThreadLocalRandom random) {
+        String devices = config.targetUrl() + DEVICES_PATH;
+        long id = seededIds[random.nextInt(seededIds.length)];
+        return switch (operation) {
+            case CREATE -> json(URI.create(devices))
+                    .POST(HttpRequest.BodyPublishers.ofString(deviceJson(random.nextInt(1_000_000))));
+            case GET -> HttpRequest.newBuilder(URI.create(devices + "/" + id));
+            case LIST -> HttpRequest.newBuilder(URI.create(
+                    devices + "?brand=Brand-" + random.nextInt(BRANDS) + "&limit=" + PAGE_SIZE));
+            case UPDATE -> json(URI.create(devices + "/" + id))
+                    .PUT(HttpRequest.BodyPublishers.ofString(
+                            "{\"state\":\"" + (random.nextBoolean() ? "AVAILABLE" : "INACTIVE") + "\"}"));
+            case DELETE -> HttpRequest.newBuilder(URI.create(devices + "/" + deleteId)).DELETE();
+            case EXPORT -> HttpRequest.newBuilder(URI.create(devices + "/export"));
+            // Without Accept the stream (SSE) variant of /changes is selected
+            case CHANGES -> HttpRequest.newBuilder(URI.create(devices + "/changes?timeout=0"))
+                    .header("Accept", "application/json");
+        };
+    }
+
+    private void rememberCreated(String body) {
+        try {
+            deletable.add(objectMapper.readTree(body).path("id").asLong());
+        } catch (IOException e) {
+            // Not deletable later; the run goes on
+        }
+    }
+
+    private LoadReport report(String startedAt) {
+        double seconds = config.duration().toMillis() / 1000.0;
+        Map<String, LoadReport.OperationResult> operations = new LinkedHashMap<>();
+        long requests = 0;
+        long failed = 0;
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = latencies.get(operation);
+            long count = histogram.getTotalCount();
+            if (count == 0) {
+                continue;
+            }
+            long operationErrors = errors.get(operation).sum();
+            operations.put(operation.key(), new LoadReport.OperationResult(operation.endpoint(), count, operationErrors,
+                    round(count / seconds), LoadReport.Latency.of(histogram)));
+            requests += count;
+            failed += operationErrors;
+        }
+        return new LoadReport(startedAt, config.targetUrl(), config.devices(), config.clients(),
+                config.warmup().toSeconds(), config.duration().toSeconds(), requests, failed,
+                round(requests / seconds), operations);
+    }
+
+    private void print(LoadReport report) {
+        System.out.printf("%n%-8s %10s %8s %10s %10s %10s %10s %10s%n",
+                "op", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        report.operations().forEach((key, result) -> System.out.printf("%-8s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                key, result.requests(), result.errors(), result.throughput(), result.latencyMillis().p50(),
+                result.latencyMillis().p99(), result.latencyMillis().p999(), result.latencyMillis().max()));
+        System.out.printf("%-8s %10d %8d %10.1f%n%nReport written to %s%n", "total", report.requests(), report.errors(),
+                report.throughput(), config.report().toAbsolutePath());
+    }
+
+    private static boolean withinLimits(LoadTestConfig config, LoadReport report) {
+        boolean ok = true;
+        double errorRate = report.requests() == 0 ? 1 : (double) report.errors() / report.requests();
+        if (errorRate > config.maxErrorRate()) {
+            System.err.printf("Error rate %.4f exceeds %.4f%n", errorRate, config.maxErrorRate());
+            ok = false;
+        }
+        if (config.maxP99Millis() > 0) {
+            for (Map.Entry<String, LoadReport.OperationResult> entry : report.operations().entrySet()) {
+                double p99 = entry.getValue().latencyMillis().p99();
+                if (p99 > config.maxP99Millis()) {
+                    System.err.printf("p99 of %s is %.2f ms, above %d ms%n", entry.getKey(), p99, config.maxP99Millis());
+                    ok = false;
+                }
+            }
+        }
+        return ok;
+    }
+
+    private static HttpRequest.Builder json(URI uri) {
+        return HttpRequest.newBuilder(uri).header("Content-Type", "application/json");
+    }
+
+    private static String deviceJson(int n) {
+        return "{\"name\":\"Device-" + n + "\",\"brand\":\"Brand-" + (n % BRANDS) + "\",\"state\":\"AVAILABLE\"}";
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+}
@@ -0,0 +1,86 @@
+package com.test.devices.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Load test settings, read from {@code loadtest.*} system properties (the Gradle task maps its
+ * {@code -Ploadtest.*} project properties onto them).
+ *
+ * @param appJar      Quarkus runner jar to boot; ignored when {@code baseUrl} is set
+ * @param appArgs     extra JVM options for the booted application, e.g. {@code -Ddevices.execution.mode=virtual}
+ * @param baseUrl     URL of an already running application, or null to boot {@code appJar}
+ * @param port        HTTP port of the booted application
+ * @param devices     devices seeded before the run
+ * @param clients     concurrent closed-loop clients
+ * @param warmup      load applied before recording starts
+ * @param duration    recorded load
+ * @param mix         relative weight of each operation
+ * @param report      JSON report written at the end
+ * @param maxErrorRate fraction of failed requests above which the run fails
+ * @param maxP99Millis p99 latency of any operation above which the run fails, 0 for no limit
+ */
+record LoadTestConfig(
+        Path appJar,
+        String appArgs,
+        String baseUrl,
+        int port,
+        int devices,
+        int clients,
+        Duration warmup,
+        Duration duration,
+        Map<Operation, Integer> mix,
+        Path report,
+        double maxErrorRate,
+        long maxP99Millis) {
+
+    static final String DEFAULT_MIX = "get=60,list=15,create=8,update=10,delete=5,export=1,changes=1";
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                Path.of(property("app-jar", "build/quarkus-app/quarkus-run.jar")),
+                property("app-args", ""),
+                System.getProperty("loadtest.base-url"),
+                Integer.parseInt(property("port", "8089")),
+                Integer.parseInt(property("devices", "1000")),
+                Integer.parseInt(property("clients", "32")),
+                Duration.ofSeconds(Long.parseLong(property("warmup", "10"))),
+                Duration.ofSeconds(Long.parseLong(property("duration", "30"))),
+                parseMix(property("mix", DEFAULT_MIX)),
+                Path.of(property("report", "build/reports/loadtest/results.json")),
+                Double.parseDouble(property("max-error-rate", "0.01")),
+                Long.parseLong(property("max-p99-ms", "0")));
+    }
+
+    String targetUrl() {
+        return baseUrl != null ? baseUrl : "http://localhost:" + port;
+    }
+
+    /**
+     * Parses {@code get=60,list=15,...}; operations left out get weight 0.
+     */
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry '" + entry + "', expected operation=weight");
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weight of " + parts[0] + " must not be negative");
+            }
+            weights.put(Operation.fromKey(parts[0].trim()), weight);
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("Mix must give at least one operation a positive weight");
+        }
+        return weights;
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+}
@@ -0,0 +1,40 @@
+package com.test.devices.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * The {@code DeviceResource} endpoints driven by the load test, named as in the mix setting.
+ */
+enum Operation {
+    CREATE("create", "POST /api/v1/devices"),
+    GET("get", "GET /api/v1/devices/{id}"),
+    LIST("list", "GET /api/v1/devices?brand&limit"),
+    UPDATE("update", "PUT /api/v1/devices/{id}"),
+    DELETE("delete", "DELETE /api/v1/devices/{id}"),
+    EXPORT("export", "GET /api/v1/devices/export"),
+    CHANGES("changes", "GET /api/v1/devices/changes?timeout=0");
+
+    private final String key;
+    private final String endpoint;
+
+    Operation(String key, String endpoint) {
+        this.key = key;
+        this.endpoint = endpoint;
+    }
+
+    String key() {
+        return key;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    static Operation fromKey(String key) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation '" + key + "', expected one of "
+                        + Arrays.stream(values()).map(Operation::key).toList()));
+    }
+}
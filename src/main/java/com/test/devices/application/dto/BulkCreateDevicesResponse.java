@@ -0,0 +1,17 @@
+package com.test.devices.application.dto;
+
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Result of a bulk create request")
+public record BulkCreateDevicesResponse(
+    @Schema(description = "Number of devices created", example = "2")
+    int created,
+
+    @Schema(description = "Number of items rejected by validation", example = "1")
+    int rejected,
+
+    @Schema(description = "Per-item outcomes in request order")
+    List<BulkCreateItemResult> results
+) {}
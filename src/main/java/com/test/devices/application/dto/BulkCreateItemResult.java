@@ -0,0 +1,26 @@
+package com.test.devices.application.dto;
+
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+@Schema(description = "Outcome of one item of a bulk create request")
+public record BulkCreateItemResult(
+    @Schema(description = "Zero-based position of the item in the request", example = "0")
+    int index,
+
+    @Schema(description = "Whether the item was created", example = "true")
+    boolean created,
+
+    @Schema(description = "The created device, absent when the item was rejected")
+    DeviceResponse device,
+
+    @Schema(description = "Why the item was rejected, absent when it was created", example = "Name cannot be blank")
+    String error
+) {
+    public static BulkCreateItemResult created(int index, DeviceResponse device) {
+        return new BulkCreateItemResult(index, true, device, null);
+    }
+
+    public static BulkCreateItemResult rejected(int index, String error) {
+        return new BulkCreateItemResult(index, false, null, error);
+    }
+}
@@ -0,0 +1,23 @@
+package com.test.devices.application.dto;
+
+import com.test.devices.domain.model.DeviceState;
+import jakarta.validation.constraints.NotNull;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Request to move many devices to one state, selected by ids or by a filter")
+public record BulkStateChangeRequest(
+    @Schema(description = "Ids of the devices to change; when present the filter fields are ignored", example = "[1, 2, 3]")
+    List<Long> ids,
+
+    @Schema(description = "Select devices of this brand", example = "Apple")
+    String brand,
+
+    @Schema(description = "Select devices currently in this state", example = "AVAILABLE")
+    DeviceState currentState,
+
+    @Schema(description = "State to move the selected devices to", example = "IN_USE", required = true)
+    @NotNull(message = "State is required")
+    DeviceState state
+) {}
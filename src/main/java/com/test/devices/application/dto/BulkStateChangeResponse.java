@@ -0,0 +1,19 @@
+package com.test.devices.application.dto;
+
+import com.test.devices.domain.model.DeviceState;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Result of a bulk state change")
+public record BulkStateChangeResponse(
+    @Schema(description = "State the devices were moved to", example = "IN_USE")
+    DeviceState state,
+
+    @Schema(description = "Ids of the devices whose state changed", example = "[1, 3]")
+    List<Long> changed,
+
+    @Schema(description = "Requested ids left untouched because they were already in the state or do not exist",
+        example = "[2]")
+    List<Long> unchanged
+) {}
@@ -0,0 +1,25 @@
+package com.test.devices.application.dto;
+
+import com.test.devices.application.event.DeviceChangeType;
+import com.test.devices.domain.model.DeviceState;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "A committed change to a device, as published on the change feed")
+public record DeviceChangeResponse(
+    @Schema(description = "Position in the feed; pass the last one seen as 'after' or Last-Event-ID to resume", example = "42")
+    long sequence,
+
+    @Schema(description = "Kind of change", example = "UPDATED")
+    DeviceChangeType type,
+
+    @Schema(description = "Identifier of the changed device", example = "1")
+    Long deviceId,
+
+    @Schema(description = "State of the device after the change, absent for deletions", example = "IN_USE")
+    DeviceState state,
+
+    @Schema(description = "Time the change was published", example = "2025-12-07T10:30:00")
+    LocalDateTime occurredAt
+) {}
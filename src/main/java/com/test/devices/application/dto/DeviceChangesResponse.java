@@ -0,0 +1,14 @@
+package com.test.devices.application.dto;
+
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Changes returned by one long-poll request")
+public record DeviceChangesResponse(
+    @Schema(description = "Changes after the requested offset, oldest first; empty when the poll timed out")
+    List<DeviceChangeResponse> changes,
+
+    @Schema(description = "Offset to pass as 'after' in the next poll", example = "42")
+    long next
+) {}
@@ -0,0 +1,34 @@
+package com.test.devices.application.dto;
+
+import com.test.devices.application.exception.DeviceValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for device listings. Clients must treat the value as a token;
+ * internally it is the URL-safe Base64 encoding of the last id of the previous page
+ * (of the offset of the next page for ranked search results).
+ */
+public final class DeviceCursor {
+
+    private DeviceCursor() {
+    }
+
+    public static String encode(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            return Long.valueOf(raw);
+        } catch (IllegalArgumentException e) {
+            throw new DeviceValidationException("Invalid pagination cursor", e);
+        }
+    }
+}
@@ -22,7 +22,13 @@ public record DeviceResponse(
     DeviceState state,
 
     @Schema(description = "Timestamp when the device was created", example = "2025-12-07T10:30:00")
-    LocalDateTime creationTime
+    LocalDateTime creationTime,
+
+    @Schema(description = "Optimistic-locking version, also sent as the ETag header", example = "0")
+    Long version,
+
+    @Schema(description = "Timestamp of the last change, also sent as the Last-Modified header", example = "2025-12-07T10:30:00")
+    LocalDateTime lastModified
 ) {
     public static DeviceResponse from(Device device) {
         return new DeviceResponse(
@@ -30,7 +36,9 @@ public record DeviceResponse(
             device.getName(),
             device.getBrand(),
             device.getState(),
-            device.getCreationTime()
+            device.getCreationTime(),
+            device.getVersion(),
+            device.getLastModified()
         );
     }
 }
@@ -0,0 +1,14 @@
+package com.test.devices.application.dto;
+
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "A page of devices matching a search, best match first")
+public record DeviceSearchResponse(
+    @Schema(description = "Matching devices in this page")
+    List<DeviceResponse> items,
+
+    @Schema(description = "Opaque cursor for the next page, absent on the last page", example = "MjA")
+    String next
+) {}
@@ -0,0 +1,28 @@
+package com.test.devices.application.dto;
+
+import com.test.devices.domain.model.DeviceState;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Schema(description = "Number of devices in each state, overall and per brand")
+public record DeviceStatsResponse(
+    @Schema(description = "Total number of devices", example = "120")
+    long total,
+
+    @Schema(description = "Number of devices in each state", example = "{\"AVAILABLE\": 80, \"IN_USE\": 30, \"INACTIVE\": 10}")
+    Map<DeviceState, Long> states,
+
+    @Schema(description = "Number of devices in each state per brand, brands in alphabetical order",
+        example = "{\"Apple\": {\"AVAILABLE\": 50, \"IN_USE\": 20, \"INACTIVE\": 0}}")
+    Map<String, Map<DeviceState, Long>> brands,
+
+    @Schema(description = "Start of the last recount from the database; later writes are counted incrementally",
+        example = "2025-12-07T10:30:00")
+    LocalDateTime reconciledAt,
+
+    @Schema(description = "Whether the last recount failed or none has completed yet, "
+        + "so counts may be off until the next one", example = "false")
+    boolean stale
+) {}
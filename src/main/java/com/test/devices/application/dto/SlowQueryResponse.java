@@ -0,0 +1,28 @@
+package com.test.devices.application.dto;
+
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Schema(description = "Repository operation that exceeded the slow-query threshold")
+public record SlowQueryResponse(
+    @Schema(description = "Repository method", example = "JpaDeviceRepository.findByBrand")
+    String operation,
+
+    @Schema(description = "Number of slow calls", example = "12")
+    long count,
+
+    @Schema(description = "Total time spent in slow calls, in milliseconds", example = "5400")
+    long totalMillis,
+
+    @Schema(description = "Duration of the slowest call, in milliseconds", example = "870")
+    long maxMillis,
+
+    @Schema(description = "When the last slow call finished", example = "2025-12-07T10:30:00")
+    LocalDateTime lastSeen,
+
+    @Schema(description = "SQL run by the slowest call, with its query plan when one was captured")
+    List<SlowQueryStatementResponse> statements
+) {
+}
@@ -0,0 +1,14 @@
+package com.test.devices.application.dto;
+
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+@Schema(description = "SQL statement run by a slow repository call")
+public record SlowQueryStatementResponse(
+    @Schema(description = "SQL as sent to the database", example = "select d1_0.id, ... from devices d1_0 where d1_0.brand=?")
+    String sql,
+
+    @Schema(description = "Query plan, absent until captured and on databases without plan capture",
+        example = "Seq Scan on devices d1_0  (cost=0.00..21.00 rows=4 width=92)\n  Filter: ((brand)::text = $1)")
+    String plan
+) {
+}
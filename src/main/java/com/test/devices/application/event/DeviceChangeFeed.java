@@ -0,0 +1,286 @@
+package com.test.devices.application.event;
+
+import com.test.devices.application.dto.DeviceChangeResponse;
+import com.test.devices.application.exception.DeviceChangesExpiredException;
+import com.test.devices.domain.model.DeviceState;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * In-process feed of committed device changes, numbered by a monotonically increasing sequence.
+ * The most recent changes are retained so subscribers can resume from the last sequence they saw.
+ */
+@ApplicationScoped
+public class DeviceChangeFeed {
+
+    private static final Logger logger = Logger.getLogger(DeviceChangeFeed.class);
+
+    private static final Object PENDING_KEY = new Object();
+
+    @ConfigProperty(name = "devices.changes.buffer-size", defaultValue = "10000")
+    int bufferSize;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    // Completes waiting polls and feeds subscribers off the publishing thread, which is committing a write
+    Executor deliveryExecutor = ForkJoinPool.commonPool();
+
+    private final Object lock = new Object();
+    private final ArrayDeque<DeviceChangeResponse> buffer = new ArrayDeque<>();
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final Set<Poll> polls = new HashSet<>();
+    private long sequence;
+    private long evictedUpTo;
+
+    private record PendingChange(DeviceChangeType type, Long deviceId, DeviceState state) {
+    }
+
+    private record Poll(long after, int limit, CompletableFuture<List<DeviceChangeResponse>> result) {
+    }
+
+    public void publish(DeviceChangeType type, Long deviceId, DeviceState state) {
+        enqueue(List.of(new PendingChange(type, deviceId, state)));
+    }
+
+    public void publishAll(DeviceChangeType type, Collection<Long> deviceIds, DeviceState state) {
+        enqueue(deviceIds.stream().map(id -> new PendingChange(type, id, state)).toList());
+    }
+
+    /**
+     * Returns the sequence of the latest published change, 0 when nothing was published yet.
+     */
+    public long lastSequence() {
+        synchronized (lock) {
+            return sequence;
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} retained changes with a sequence greater than {@code after}.
+     *
+     * @throws DeviceChangesExpiredException when changes after {@code after} were already evicted
+     */
+    public List<DeviceChangeResponse> since(long after, int limit) {
+        synchronized (lock) {
+            checkAvailable(after);
+            List<DeviceChangeResponse> changes = new ArrayList<>();
+            for (DeviceChangeResponse change : buffer) {
+                if (changes.size() == limit) {
+                    break;
+                }
+                if (change.sequence() > after) {
+                    changes.add(change);
+                }
+            }
+            return changes;
+        }
+    }
+
+    /**
+     * Replays the retained changes after {@code after} to {@code listener}, then hands it every new
+     * change in order until it returns false or the returned subscription is closed. The listener
+     * runs on a delivery thread, one change at a time, and never holds up publishers or other
+     * subscribers; one falling behind the retained changes is dropped.
+     *
+     * @throws DeviceChangesExpiredException when changes after {@code after} were already evicted
+     */
+    public Runnable subscribe(long after, Predicate<DeviceChangeResponse> listener) {
+        Subscriber subscriber = new Subscriber(after, listener);
+        synchronized (lock) {
+            checkAvailable(after);
+            subscribers.add(subscriber);
+        }
+        subscriber.signal();
+        return subscriber::close;
+    }
+
+    /**
+     * Completes with up to {@code limit} changes after {@code after} as soon as there are any, on a
+     * thread of its own rather than the publisher's. Callers bound the wait themselves, e.g. with
+     * {@link CompletableFuture#completeOnTimeout}.
+     */
+    public CompletableFuture<List<DeviceChangeResponse>> poll(long after, int limit) {
+        synchronized (lock) {
+            List<DeviceChangeResponse> ready = since(after, limit);
+            if (!ready.isEmpty()) {
+                return CompletableFuture.completedFuture(ready);
+            }
+
+            Poll poll = new Poll(after, limit, new CompletableFuture<>());
+            polls.add(poll);
+            poll.result().whenComplete((changes, failure) -> {
+                // Timed out or cancelled: stop waiting
+                synchronized (lock) {
+                    polls.remove(poll);
+                }
+            });
+            return poll.result();
+        }
+    }
+
+    /**
+     * Inside a transaction, changes are held back and published once it commits, so subscribers
+     * never see a change that was rolled back. Changes made in a transaction already marked for
+     * rollback are dropped.
+     */
+    private void enqueue(List<PendingChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        int status = transactionRegistry != null ? transactionRegistry.getTransactionStatus() : Status.STATUS_NO_TRANSACTION;
+        if (status == Status.STATUS_NO_TRANSACTION || status == Status.STATUS_COMMITTED) {
+            append(changes);
+            return;
+        }
+        if (status != Status.STATUS_ACTIVE) {
+            // Marked for rollback or already completing: the change may never commit
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<PendingChange> pending = (List<PendingChange>) transactionRegistry.getResource(PENDING_KEY);
+        if (pending == null) {
+            List<PendingChange> transactionChanges = new ArrayList<>();
+            transactionRegistry.putResource(PENDING_KEY, transactionChanges);
+            transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == Status.STATUS_COMMITTED) {
+                        append(transactionChanges);
+                    }
+                }
+            });
+            pending = transactionChanges;
+        }
+        pending.addAll(changes);
+    }
+
+    private void append(List<PendingChange> changes) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Poll> ready;
+        synchronized (lock) {
+            for (PendingChange pending : changes) {
+                DeviceChangeResponse change = new DeviceChangeResponse(
+                        ++sequence, pending.type(), pending.deviceId(), pending.state(), now);
+                buffer.addLast(change);
+                if (buffer.size() > bufferSize) {
+                    evictedUpTo = buffer.removeFirst().sequence();
+                }
+            }
+            ready = List.copyOf(polls);
+            polls.clear();
+        }
+        // Outside the lock: each poll and subscriber reads its own batch, and fails if it fell behind the buffer
+        for (Poll poll : ready) {
+            poll.result().completeAsync(() -> since(poll.after(), poll.limit()), deliveryExecutor);
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.signal();
+        }
+    }
+
+    /**
+     * Hands the changes after the last one it saw to a listener, from at most one delivery thread at
+     * a time. Signals arriving while it delivers make it read the buffer again before stopping.
+     */
+    private final class Subscriber {
+
+        private static final int BATCH_SIZE = 100;
+
+        private final Predicate<DeviceChangeResponse> listener;
+        private final AtomicInteger signals = new AtomicInteger();
+        private volatile boolean closed;
+        // Only read and written by the delivering thread
+        private long after;
+
+        Subscriber(long after, Predicate<DeviceChangeResponse> listener) {
+            this.after = after;
+            this.listener = listener;
+        }
+
+        void signal() {
+            if (!closed && signals.getAndIncrement() == 0) {
+                deliveryExecutor.execute(this::deliver);
+            }
+        }
+
+        void close() {
+            closed = true;
+            subscribers.remove(this);
+        }
+
+        private void deliver() {
+            int missed = signals.get();
+            while (true) {
+                deliverAvailable();
+                missed = signals.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private void deliverAvailable() {
+            while (!closed) {
+                List<DeviceChangeResponse> changes;
+                try {
+                    changes = since(after, BATCH_SIZE);
+                } catch (DeviceChangesExpiredException e) {
+                    logger.warnf("Dropping change feed subscriber that fell behind sequence %d", after);
+                    close();
+                    return;
+                }
+                if (changes.isEmpty()) {
+                    return;
+                }
+                for (DeviceChangeResponse change : changes) {
+                    if (closed || !accepts(change)) {
+                        close();
+                        return;
+                    }
+                    after = change.sequence();
+                }
+            }
+        }
+
+        private boolean accepts(DeviceChangeResponse change) {
+            try {
+                return listener.test(change);
+            } catch (RuntimeException e) {
+                logger.warnf(e, "Dropping change feed subscriber after failure at sequence %d", change.sequence());
+                return false;
+            }
+        }
+    }
+
+    // An offset ahead of the feed comes from before a restart; it cannot be resumed either
+    private void checkAvailable(long after) {
+        if (after < evictedUpTo || after > sequence) {
+            throw new DeviceChangesExpiredException(after);
+        }
+    }
+}
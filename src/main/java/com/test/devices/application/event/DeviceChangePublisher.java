@@ -0,0 +1,34 @@
+package com.test.devices.application.event;
+
+import com.test.devices.domain.model.DeviceState;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Single entry point use cases report device changes to: the change is written to the outbox in
+ * the caller's transaction and pushed to live {@link DeviceChangeFeed} subscribers once it commits.
+ */
+@ApplicationScoped
+public class DeviceChangePublisher {
+
+    @Inject
+    DeviceOutbox outbox;
+
+    @Inject
+    DeviceChangeFeed changeFeed;
+
+    public void publish(DeviceChangeType type, Long deviceId, DeviceState state) {
+        publishAll(type, List.of(deviceId), state);
+    }
+
+    public void publishAll(DeviceChangeType type, Collection<Long> deviceIds, DeviceState state) {
+        if (deviceIds.isEmpty()) {
+            return;
+        }
+        outbox.append(type, deviceIds, state);
+        changeFeed.publishAll(type, deviceIds, state);
+    }
+}
@@ -0,0 +1,7 @@
+package com.test.devices.application.event;
+
+public enum DeviceChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,15 @@
+package com.test.devices.application.event;
+
+import java.util.List;
+
+/**
+ * Downstream destination of outbox events. Delivery is at-least-once: a batch is redelivered
+ * when the relay fails after the sink accepted it, so consumers should de-duplicate by event id.
+ */
+public interface DeviceEventSink {
+
+    /**
+     * Delivers {@code events} in order, throwing if any of them could not be delivered.
+     */
+    void deliver(List<DeviceOutboxEvent> events);
+}
@@ -0,0 +1,37 @@
+package com.test.devices.application.event;
+
+import com.test.devices.domain.model.DeviceState;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Durable record of device changes, written in the same transaction as the change itself and
+ * drained asynchronously by a relay.
+ */
+public interface DeviceOutbox {
+
+    /**
+     * Records one event per device id. Must run inside the transaction that makes the change.
+     */
+    void append(DeviceChangeType type, Collection<Long> deviceIds, DeviceState state);
+
+    /**
+     * Locks and returns up to {@code limit} of the oldest undelivered events, skipping events
+     * already locked by another relay, so several instances can drain the outbox concurrently.
+     * The locks are held until the caller's transaction ends.
+     */
+    List<DeviceOutboxEvent> lockNextBatch(int limit);
+
+    /**
+     * Removes delivered events.
+     */
+    void remove(Collection<Long> eventIds);
+
+    /**
+     * Creation time of the oldest undelivered event, empty when the outbox is drained.
+     */
+    Optional<LocalDateTime> oldestPending();
+}
@@ -0,0 +1,12 @@
+package com.test.devices.application.event;
+
+import com.test.devices.domain.model.DeviceState;
+
+import java.time.LocalDateTime;
+
+/**
+ * A device change recorded in the outbox, awaiting delivery to the {@link DeviceEventSink}.
+ */
+public record DeviceOutboxEvent(Long id, DeviceChangeType type, Long deviceId, DeviceState state,
+                                LocalDateTime createdAt) {
+}
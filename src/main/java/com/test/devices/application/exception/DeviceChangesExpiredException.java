@@ -0,0 +1,7 @@
+package com.test.devices.application.exception;
+
+public class DeviceChangesExpiredException extends RuntimeException {
+    public DeviceChangesExpiredException(long after) {
+        super("Changes after sequence " + after + " are no longer available; reload the devices and resume from the latest sequence");
+    }
+}
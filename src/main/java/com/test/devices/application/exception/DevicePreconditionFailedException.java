@@ -0,0 +1,11 @@
+package com.test.devices.application.exception;
+
+public class DevicePreconditionFailedException extends RuntimeException {
+    public DevicePreconditionFailedException(Long id) {
+        super("Device " + id + " does not match the expected version");
+    }
+
+    public DevicePreconditionFailedException(Long id, Throwable cause) {
+        super("Device " + id + " does not match the expected version", cause);
+    }
+}
@@ -0,0 +1,27 @@
+package com.test.devices.application.metrics;
+
+import jakarta.enterprise.util.Nonbinding;
+import jakarta.interceptor.InterceptorBinding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Records a latency timer, tagged with class, method and outcome, and a trace span for every call to
+ * the annotated bean's methods; methods returning a collection also record how many rows they returned.
+ */
+@Inherited
+@InterceptorBinding
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface Measured {
+
+    /**
+     * Metric name, e.g. {@code devices.usecase}.
+     */
+    @Nonbinding
+    String value();
+}
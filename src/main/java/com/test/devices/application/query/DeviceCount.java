@@ -0,0 +1,9 @@
+package com.test.devices.application.query;
+
+import com.test.devices.domain.model.DeviceState;
+
+/**
+ * Number of devices of one brand in one state.
+ */
+public record DeviceCount(String brand, DeviceState state, long count) {
+}
@@ -0,0 +1,213 @@
+package com.test.devices.application.query;
+
+import com.test.devices.application.dto.DeviceStatsResponse;
+import com.test.devices.domain.model.DeviceState;
+import com.test.devices.domain.repository.DeviceStateChange;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Device counts by brand and state held in memory, so statistics are read without touching the
+ * database. Writes add their deltas once their transaction commits; only the periodic
+ * reconciliation counts the devices in the database.
+ *
+ * <p>A count is the baseline from the last reconciliation plus the deltas added since it started.
+ * Deltas are never reset, so writes committing while the database is being counted are not lost.
+ */
+@ApplicationScoped
+public class DeviceCounters {
+
+    private static final Object PENDING_KEY = new Object();
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    private final Object reconcileLock = new Object();
+    private final Map<Key, LongAdder> deltas = new ConcurrentHashMap<>();
+    private volatile Map<Key, Long> baseline = Map.of();
+    private volatile LocalDateTime reconciledAt;
+    private volatile boolean stale;
+
+    private record Key(String brand, DeviceState state) {
+    }
+
+    private record Delta(Key key, long amount) {
+    }
+
+    public void created(String brand, DeviceState state) {
+        enqueue(List.of(new Delta(new Key(brand, state), 1)));
+    }
+
+    public void changed(String previousBrand, DeviceState previousState, String brand, DeviceState state) {
+        Key previous = new Key(previousBrand, previousState);
+        Key current = new Key(brand, state);
+        if (previous.equals(current)) {
+            return;
+        }
+        enqueue(List.of(new Delta(previous, -1), new Delta(current, 1)));
+    }
+
+    /**
+     * Moves the devices of a set-based state change to {@code state}, with one pair of deltas per
+     * brand and state they left.
+     */
+    public void stateChanged(Collection<DeviceStateChange> changes, DeviceState state) {
+        Map<Key, Long> moved = new HashMap<>();
+        for (DeviceStateChange change : changes) {
+            moved.merge(new Key(change.brand(), change.previousState()), 1L, Long::sum);
+        }
+        List<Delta> deltas = new ArrayList<>();
+        moved.forEach((previous, count) -> {
+            if (previous.state() != state) {
+                deltas.add(new Delta(previous, -count));
+                deltas.add(new Delta(new Key(previous.brand(), state), count));
+            }
+        });
+        enqueue(deltas);
+    }
+
+    public void deleted(String brand, DeviceState state) {
+        enqueue(List.of(new Delta(new Key(brand, state), -1)));
+    }
+
+    /**
+     * Whether counts may be off until the next reconciliation: before the first one and after a
+     * failed one.
+     */
+    public boolean isStale() {
+        return stale || reconciledAt == null;
+    }
+
+    /**
+     * Start of the last reconciliation, null before the first one.
+     */
+    public LocalDateTime reconciledAt() {
+        return reconciledAt;
+    }
+
+    /**
+     * Replaces the baseline with the counts returned by {@code counter}, which must read every
+     * write committed before it is called. Deltas added before the call are replaced by the count
+     * and those added after it are kept on top. A write is counted twice, until the following
+     * reconciliation, only when the counter sees it but its delta is added after the call started:
+     * it committed just before the call and its after-commit step had not run yet.
+     */
+    public void reconcile(Supplier<List<DeviceCount>> counter) {
+        synchronized (reconcileLock) {
+            LocalDateTime startedAt = LocalDateTime.now();
+            Map<Key, Long> mark = new HashMap<>();
+            deltas.forEach((key, delta) -> mark.put(key, delta.sum()));
+
+            List<DeviceCount> counts;
+            try {
+                counts = counter.get();
+            } catch (RuntimeException e) {
+                stale = true;
+                throw e;
+            }
+
+            // baseline + deltas = counted + deltas added after the mark
+            Map<Key, Long> next = new HashMap<>();
+            for (DeviceCount count : counts) {
+                next.merge(new Key(count.brand(), count.state()), count.count(), Long::sum);
+            }
+            mark.forEach((key, sum) -> next.merge(key, -sum, Long::sum));
+            baseline = Map.copyOf(next);
+            reconciledAt = startedAt;
+            stale = false;
+        }
+    }
+
+    /**
+     * Current counts; costs one pass over the brand and state pairs, whatever the number of devices.
+     */
+    public DeviceStatsResponse snapshot() {
+        Map<Key, Long> base = baseline;
+        Set<Key> keys = new HashSet<>(base.keySet());
+        keys.addAll(deltas.keySet());
+
+        long total = 0;
+        Map<DeviceState, Long> states = zeroByState();
+        Map<String, Map<DeviceState, Long>> brands = new TreeMap<>();
+        for (Key key : keys) {
+            LongAdder delta = deltas.get(key);
+            long count = base.getOrDefault(key, 0L) + (delta != null ? delta.sum() : 0);
+            if (count == 0) {
+                continue;
+            }
+            total += count;
+            states.merge(key.state(), count, Long::sum);
+            brands.computeIfAbsent(key.brand(), brand -> zeroByState()).merge(key.state(), count, Long::sum);
+        }
+        return new DeviceStatsResponse(total, states, brands, reconciledAt, isStale());
+    }
+
+    private static Map<DeviceState, Long> zeroByState() {
+        Map<DeviceState, Long> counts = new EnumMap<>(DeviceState.class);
+        for (DeviceState state : DeviceState.values()) {
+            counts.put(state, 0L);
+        }
+        return counts;
+    }
+
+    /**
+     * Inside a transaction, changes are held back and applied once it commits, so a rolled back
+     * write is never counted. Changes made in a transaction already marked for rollback are
+     * dropped.
+     */
+    private void enqueue(List<Delta> changes) {
+        int status = transactionRegistry != null ? transactionRegistry.getTransactionStatus() : Status.STATUS_NO_TRANSACTION;
+        if (status == Status.STATUS_NO_TRANSACTION || status == Status.STATUS_COMMITTED) {
+            apply(changes);
+            return;
+        }
+        if (status != Status.STATUS_ACTIVE) {
+            // Marked for rollback or already completing: the change may never commit
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Delta> pending = (List<Delta>) transactionRegistry.getResource(PENDING_KEY);
+        if (pending == null) {
+            List<Delta> transactionChanges = new ArrayList<>();
+            transactionRegistry.putResource(PENDING_KEY, transactionChanges);
+            transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == Status.STATUS_COMMITTED) {
+                        apply(transactionChanges);
+                    }
+                }
+            });
+            pending = transactionChanges;
+        }
+        pending.addAll(changes);
+    }
+
+    private void apply(List<Delta> changes) {
+        for (Delta delta : changes) {
+            deltas.computeIfAbsent(delta.key(), key -> new LongAdder()).add(delta.amount());
+        }
+    }
+}
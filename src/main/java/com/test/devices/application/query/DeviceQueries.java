@@ -0,0 +1,31 @@
+package com.test.devices.application.query;
+
+import com.test.devices.application.dto.DeviceResponse;
+import com.test.devices.domain.repository.DeviceCriteria;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Read side of device listings: rows are selected straight into {@link DeviceResponse}, without
+ * loading entities or domain objects that would only be copied and thrown away.
+ */
+public interface DeviceQueries {
+
+    /**
+     * Up to {@code limit} devices matching the criteria with an id greater than {@code afterId}
+     * (from the start when {@code null}), ordered by id.
+     */
+    List<DeviceResponse> findPage(DeviceCriteria criteria, Long afterId, int limit);
+
+    /**
+     * The devices with the given ids that still exist, ordered by id.
+     */
+    List<DeviceResponse> findByIds(Collection<Long> ids);
+
+    /**
+     * Device counts grouped by brand and state, from one aggregate query over the whole table.
+     * Always reads the primary database.
+     */
+    List<DeviceCount> countByBrandAndState();
+}
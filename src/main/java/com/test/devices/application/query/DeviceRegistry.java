@@ -0,0 +1,32 @@
+package com.test.devices.application.query;
+
+import com.test.devices.application.dto.DeviceResponse;
+import com.test.devices.domain.repository.DeviceVersion;
+
+import java.util.Optional;
+
+/**
+ * In-process copy of every device, for lookups by id without a database round trip. Optional:
+ * when disabled, lookups find nothing and writes are ignored. A device missing from the registry
+ * (not loaded yet, or written by another instance) is looked up in the database instead.
+ */
+public interface DeviceRegistry {
+
+    boolean isEnabled();
+
+    Optional<DeviceResponse> find(Long id);
+
+    Optional<DeviceVersion> findVersion(Long id);
+
+    /**
+     * Registers the device as written by the current transaction, once it commits. An older
+     * version than the registered one, or a device already removed, is ignored, so writes
+     * committing out of order cannot bring back stale values.
+     */
+    void put(DeviceResponse device);
+
+    /**
+     * Removes the device once the current transaction commits.
+     */
+    void remove(Long id);
+}
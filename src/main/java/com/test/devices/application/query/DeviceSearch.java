@@ -0,0 +1,30 @@
+package com.test.devices.application.query;
+
+import com.test.devices.domain.model.Device;
+
+import java.util.List;
+
+/**
+ * Text search over device name and brand. A query matches a device when each of its words is a
+ * prefix of a word in the device's name or brand, case-insensitively; matches are ranked by
+ * relevance, name matches above brand matches and whole words above prefixes.
+ */
+public interface DeviceSearch {
+
+    /**
+     * Ids of the devices matching {@code text}, best match first and ties broken by id, skipping
+     * the first {@code offset} matches and returning at most {@code limit}.
+     */
+    List<Long> search(String text, int offset, int limit);
+
+    /**
+     * Makes the device findable by its current name and brand once the caller's transaction
+     * commits, replacing what was indexed for it before.
+     */
+    void index(Device device);
+
+    /**
+     * Drops the device from the results once the caller's transaction commits.
+     */
+    void remove(Long id);
+}
@@ -0,0 +1,117 @@
+package com.test.devices.application.usecase;
+
+import com.test.devices.application.dto.BulkCreateDevicesResponse;
+import com.test.devices.application.dto.BulkCreateItemResult;
+import com.test.devices.application.dto.CreateDeviceRequest;
+import com.test.devices.application.dto.DeviceResponse;
+import com.test.devices.application.event.DeviceChangePublisher;
+import com.test.devices.application.event.DeviceChangeType;
+import com.test.devices.application.exception.DeviceValidationException;
+import com.test.devices.application.metrics.Measured;
+import com.test.devices.application.query.DeviceCounters;
+import com.test.devices.application.query.DeviceRegistry;
+import com.test.devices.application.query.DeviceSearch;
+import com.test.devices.domain.model.Device;
+import com.test.devices.domain.model.DeviceState;
+import com.test.devices.domain.repository.DeviceRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@ApplicationScoped
+@Measured("devices.usecase")
+public class BulkCreateDevicesUseCase {
+
+    public static final int MAX_ITEMS = 10_000;
+
+    @Inject
+    DeviceRepository deviceRepository;
+
+    @Inject
+    DeviceChangePublisher changePublisher;
+
+    @Inject
+    DeviceSearch deviceSearch;
+
+    @Inject
+    DeviceCounters deviceCounters;
+
+    @Inject
+    DeviceRegistry deviceRegistry;
+
+    /**
+     * Validates every item through {@link Device#create}, inserts the valid ones in one
+     * transaction and reports the outcome of each item in request order.
+     */
+    @Transactional
+    public BulkCreateDevicesResponse execute(List<CreateDeviceRequest> requests) {
+        Objects.requireNonNull(requests, "Requests cannot be null");
+        if (requests.isEmpty() || requests.size() > MAX_ITEMS) {
+            throw new DeviceValidationException("Bulk create accepts between 1 and " + MAX_ITEMS + " devices");
+        }
+
+        BulkCreateItemResult[] results = new BulkCreateItemResult[requests.size()];
+        List<Integer> validIndexes = new ArrayList<>(requests.size());
+        List<Device> devices = new ArrayList<>(requests.size());
+
+        for (int i = 0; i < requests.size(); i++) {
+            CreateDeviceRequest request = requests.get(i);
+            String missing = missingField(request);
+            if (missing != null) {
+                results[i] = BulkCreateItemResult.rejected(i, missing + " cannot be null");
+                continue;
+            }
+            try {
+                devices.add(Device.create(request.name(), request.brand(), request.state()));
+                validIndexes.add(i);
+            } catch (IllegalArgumentException e) {
+                results[i] = BulkCreateItemResult.rejected(i, e.getMessage());
+            }
+        }
+
+        if (!devices.isEmpty()) {
+            Iterator<Integer> indexes = validIndexes.iterator();
+            // One outbox append per state, so its inserts are flushed in chunks rather than held until commit
+            Map<DeviceState, List<Long>> createdByState = new EnumMap<>(DeviceState.class);
+            for (Device saved : deviceRepository.saveAll(devices)) {
+                int index = indexes.next();
+                DeviceResponse response = DeviceResponse.from(saved);
+                results[index] = BulkCreateItemResult.created(index, response);
+                createdByState.computeIfAbsent(saved.getState(), state -> new ArrayList<>()).add(saved.getId());
+                deviceSearch.index(saved);
+                deviceCounters.created(saved.getBrand(), saved.getState());
+                deviceRegistry.put(response);
+            }
+            createdByState.forEach((state, ids) -> changePublisher.publishAll(DeviceChangeType.CREATED, ids, state));
+        }
+
+        return new BulkCreateDevicesResponse(devices.size(), requests.size() - devices.size(), List.of(results));
+    }
+
+    /**
+     * The first missing value of the item, checked here so that a {@link NullPointerException}
+     * from anywhere else stays a server error rather than a rejected item.
+     */
+    private static String missingField(CreateDeviceRequest request) {
+        if (request == null) {
+            return "Device";
+        }
+        if (request.name() == null) {
+            return "Name";
+        }
+        if (request.brand() == null) {
+            return "Brand";
+        }
+        if (request.state() == null) {
+            return "State";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,103 @@
+package com.test.devices.application.usecase;
+
+import com.test.devices.application.dto.BulkStateChangeRequest;
+import com.test.devices.application.dto.BulkStateChangeResponse;
+import com.test.devices.application.event.DeviceChangePublisher;
+import com.test.devices.application.event.DeviceChangeType;
+import com.test.devices.application.exception.DeviceValidationException;
+import com.test.devices.application.metrics.Measured;
+import com.test.devices.application.query.DeviceCounters;
+import com.test.devices.application.query.DeviceQueries;
+import com.test.devices.application.query.DeviceRegistry;
+import com.test.devices.domain.model.Device;
+import com.test.devices.domain.model.DeviceState;
+import com.test.devices.domain.repository.DeviceCriteria;
+import com.test.devices.domain.repository.DeviceRepository;
+import com.test.devices.domain.repository.DeviceStateChange;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+@ApplicationScoped
+@Measured("devices.usecase")
+public class BulkUpdateDeviceStateUseCase {
+
+    public static final int MAX_IDS = 10_000;
+    private static final int REGISTRY_READ_CHUNK_SIZE = 1000;
+
+    @Inject
+    DeviceRepository deviceRepository;
+
+    @Inject
+    DeviceChangePublisher changePublisher;
+
+    @Inject
+    DeviceCounters deviceCounters;
+
+    @Inject
+    DeviceRegistry deviceRegistry;
+
+    @Inject
+    DeviceQueries deviceQueries;
+
+    @Transactional
+    public BulkStateChangeResponse execute(BulkStateChangeRequest request) {
+        Objects.requireNonNull(request, "Request cannot be null");
+        Device.validateStateChange(request.state());
+
+        if (request.ids() != null && !request.ids().isEmpty()) {
+            if (request.ids().size() > MAX_IDS) {
+                throw new DeviceValidationException("Bulk state change accepts at most " + MAX_IDS + " ids");
+            }
+            List<Long> changed = recordChanges(deviceRepository.updateState(request.ids(), request.state()), request.state());
+            Set<Long> changedIds = new HashSet<>(changed);
+            List<Long> unchanged = request.ids().stream()
+                    .distinct()
+                    .filter(id -> !changedIds.contains(id))
+                    .toList();
+            return new BulkStateChangeResponse(request.state(), changed, unchanged);
+        }
+
+        DeviceCriteria criteria = DeviceCriteria.none()
+                .withBrand(request.brand())
+                .withState(request.currentState());
+        if (criteria.isEmpty()) {
+            throw new DeviceValidationException("Either ids or a brand/currentState filter is required");
+        }
+
+        // Never lock more than an id list may name; one over the cap is enough to tell
+        List<Long> matching = deviceRepository.findIdsToChange(criteria, request.state(), MAX_IDS + 1);
+        if (matching.size() > MAX_IDS) {
+            throw new DeviceValidationException("Filter matches more than " + MAX_IDS
+                    + " devices; narrow it or change them by ids");
+        }
+        List<Long> changed = recordChanges(deviceRepository.updateState(matching, request.state()), request.state());
+        return new BulkStateChangeResponse(request.state(), changed, List.of());
+    }
+
+    /**
+     * Publishes the changes and applies them to the counters and the registry; returns the ids of
+     * the changed devices.
+     */
+    private List<Long> recordChanges(List<DeviceStateChange> changes, DeviceState state) {
+        List<Long> changed = changes.stream().map(DeviceStateChange::id).toList();
+        changePublisher.publishAll(DeviceChangeType.UPDATED, changed, state);
+        if (changed.isEmpty()) {
+            return changed;
+        }
+        deviceCounters.stateChanged(changes, state);
+        if (deviceRegistry.isEnabled()) {
+            // Versions and timestamps were assigned by the database; read them back
+            for (int from = 0; from < changed.size(); from += REGISTRY_READ_CHUNK_SIZE) {
+                List<Long> chunk = changed.subList(from, Math.min(from + REGISTRY_READ_CHUNK_SIZE, changed.size()));
+                deviceQueries.findByIds(chunk).forEach(deviceRegistry::put);
+            }
+        }
+        return changed;
+    }
+}
@@ -2,6 +2,12 @@ package com.test.devices.application.usecase;
 
 import com.test.devices.application.dto.CreateDeviceRequest;
 import com.test.devices.application.dto.DeviceResponse;
+import com.test.devices.application.event.DeviceChangePublisher;
+import com.test.devices.application.event.DeviceChangeType;
+import com.test.devices.application.metrics.Measured;
+import com.test.devices.application.query.DeviceCounters;
+import com.test.devices.application.query.DeviceRegistry;
+import com.test.devices.application.query.DeviceSearch;
 import com.test.devices.domain.model.Device;
 import com.test.devices.domain.repository.DeviceRepository;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -11,18 +17,36 @@ import jakarta.transaction.Transactional;
 import java.util.Objects;
 
 @ApplicationScoped
+@Measured("devices.usecase")
 public class CreateDeviceUseCase {
 
     @Inject
     DeviceRepository deviceRepository;
 
+    @Inject
+    DeviceChangePublisher changePublisher;
+
+    @Inject
+    DeviceSearch deviceSearch;
+
+    @Inject
+    DeviceCounters deviceCounters;
+
+    @Inject
+    DeviceRegistry deviceRegistry;
+
     @Transactional
     public DeviceResponse execute(CreateDeviceRequest request) {
         Objects.requireNonNull(request, "Request cannot be null");
 
         Device device = Device.create(request.name(), request.brand(), request.state());
         Device savedDevice = deviceRepository.save(device);
+        changePublisher.publish(DeviceChangeType.CREATED, savedDevice.getId(), savedDevice.getState());
+        deviceSearch.index(savedDevice);
+        deviceCounters.created(savedDevice.getBrand(), savedDevice.getState());
 
-        return DeviceResponse.from(savedDevice);
+        DeviceResponse response = DeviceResponse.from(savedDevice);
+        deviceRegistry.put(response);
+        return response;
     }
 }
@@ -1,8 +1,15 @@
 package com.test.devices.application.usecase;
 
+import com.test.devices.application.event.DeviceChangePublisher;
+import com.test.devices.application.event.DeviceChangeType;
 import com.test.devices.application.exception.DeviceNotFoundException;
+import com.test.devices.application.exception.DevicePreconditionFailedException;
 import com.test.devices.application.exception.DeviceValidationException;
-import com.test.devices.domain.model.Device;
+import com.test.devices.application.metrics.Measured;
+import com.test.devices.application.query.DeviceCounters;
+import com.test.devices.application.query.DeviceRegistry;
+import com.test.devices.application.query.DeviceSearch;
+import com.test.devices.domain.repository.DeleteOutcome;
 import com.test.devices.domain.repository.DeviceRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -11,22 +18,55 @@ import jakarta.transaction.Transactional;
 import java.util.Objects;
 
 @ApplicationScoped
+@Measured("devices.usecase")
 public class DeleteDeviceUseCase {
 
     @Inject
     DeviceRepository deviceRepository;
 
+    @Inject
+    DeviceChangePublisher changePublisher;
+
+    @Inject
+    DeviceSearch deviceSearch;
+
+    @Inject
+    DeviceCounters deviceCounters;
+
+    @Inject
+    DeviceRegistry deviceRegistry;
+
     @Transactional
     public void execute(Long id) {
+        execute(id, null);
+    }
+
+    /**
+     * Deletes the device only if it is still at {@code expectedVersion};
+     * a null {@code expectedVersion} skips the check.
+     */
+    @Transactional
+    public void execute(Long id, Long expectedVersion) {
         Objects.requireNonNull(id, "Device ID cannot be null");
 
-        Device device = deviceRepository.findById(id)
-                .orElseThrow(() -> new DeviceNotFoundException(id));
+        // Deletes without loading the device; the outcome tells which brand and state it had
+        DeleteOutcome outcome = deviceRepository.deleteIfDeletable(id, expectedVersion);
+
+        if (outcome.status() == DeleteOutcome.Status.NOT_FOUND) {
+            throw new DeviceNotFoundException(id);
+        }
+
+        if (outcome.status() == DeleteOutcome.Status.VERSION_MISMATCH) {
+            throw new DevicePreconditionFailedException(id);
+        }
 
-        if (!device.canBeDeleted()) {
+        if (outcome.status() == DeleteOutcome.Status.IN_USE) {
             throw new DeviceValidationException("Cannot delete device that is in use");
         }
 
-        deviceRepository.delete(device);
+        changePublisher.publish(DeviceChangeType.DELETED, id, null);
+        deviceSearch.remove(id);
+        deviceCounters.deleted(outcome.brand(), outcome.state());
+        deviceRegistry.remove(id);
     }
 }
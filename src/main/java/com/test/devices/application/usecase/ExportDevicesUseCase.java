@@ -0,0 +1,42 @@
+package com.test.devices.application.usecase;
+
+import com.test.devices.application.dto.DeviceResponse;
+import com.test.devices.application.metrics.Measured;
+import com.test.devices.application.transaction.ReadOnly;
+import com.test.devices.domain.model.Device;
+import com.test.devices.domain.repository.DeviceRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@ApplicationScoped
+@Measured("devices.usecase")
+@ReadOnly
+public class ExportDevicesUseCase {
+
+    @Inject
+    DeviceRepository deviceRepository;
+
+    /**
+     * Hands every device to {@code sink} as it is read, without collecting the inventory in memory.
+     *
+     * @return the number of exported devices
+     */
+    @Transactional
+    public long execute(Consumer<DeviceResponse> sink) {
+        Objects.requireNonNull(sink, "Sink cannot be null");
+
+        long count = 0;
+        try (Stream<Device> devices = deviceRepository.streamAll()) {
+            for (Device device : (Iterable<Device>) devices::iterator) {
+                sink.accept(DeviceResponse.from(device));
+                count++;
+            }
+        }
+        return count;
+    }
+}
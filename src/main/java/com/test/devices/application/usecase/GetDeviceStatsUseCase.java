@@ -0,0 +1,23 @@
+package com.test.devices.application.usecase;
+
+import com.test.devices.application.dto.DeviceStatsResponse;
+import com.test.devices.application.metrics.Measured;
+import com.test.devices.application.query.DeviceCounters;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+@ApplicationScoped
+@Measured("devices.usecase")
+public class GetDeviceStatsUseCase {
+
+    @Inject
+    DeviceCounters deviceCounters;
+
+    /**
+     * Returns the device counts by state and brand from the in-memory counters; the database is
+     * not queried.
+     */
+    public DeviceStatsResponse execute() {
+        return deviceCounters.snapshot();
+    }
+}
@@ -2,8 +2,11 @@ package com.test.devices.application.usecase;
 
 import com.test.devices.application.dto.DeviceResponse;
 import com.test.devices.application.exception.DeviceNotFoundException;
+import com.test.devices.application.metrics.Measured;
+import com.test.devices.application.transaction.ReadOnly;
 import com.test.devices.domain.model.Device;
 import com.test.devices.domain.repository.DeviceRepository;
+import com.test.devices.domain.repository.DeviceVersion;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
@@ -11,6 +14,8 @@ import jakarta.transaction.Transactional;
 import java.util.Objects;
 
 @ApplicationScoped
+@Measured("devices.usecase")
+@ReadOnly
 public class GetDeviceUseCase {
 
     @Inject
@@ -25,4 +30,16 @@ public class GetDeviceUseCase {
 
         return DeviceResponse.from(device);
     }
+
+    /**
+     * Returns just the version and last-modified time of a device, so conditional requests can be
+     * answered without loading or serializing it.
+     */
+    @Transactional
+    public DeviceVersion executeVersion(Long id) {
+        Objects.requireNonNull(id, "Device ID cannot be null");
+
+        return deviceRepository.findVersion(id)
+            .orElseThrow(() -> new DeviceNotFoundException(id));
+    }
 }
@@ -1,38 +1,49 @@
 package com.test.devices.application.usecase;
 
+import com.test.devices.application.dto.DeviceCursor;
+import com.test.devices.application.dto.DevicePageResponse;
 import com.test.devices.application.dto.DeviceResponse;
-import com.test.devices.domain.model.Device;
-import com.test.devices.domain.model.DeviceState;
-import com.test.devices.domain.repository.DeviceRepository;
+import com.test.devices.application.exception.DeviceValidationException;
+import com.test.devices.application.metrics.Measured;
+import com.test.devices.application.query.DeviceQueries;
+import com.test.devices.application.transaction.ReadOnly;
+import com.test.devices.domain.repository.DeviceCriteria;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Objects;
 
 @ApplicationScoped
+@Measured("devices.usecase")
+@ReadOnly
 public class ListDevicesUseCase {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
 
     @Inject
-    DeviceRepository deviceRepository;
+    DeviceQueries deviceQueries;
 
     @Transactional
-    public List<DeviceResponse> execute(String brand, DeviceState state) {
+    public DevicePageResponse executePage(DeviceCriteria criteria, String after, Integer limit) {
+        Objects.requireNonNull(criteria, "Criteria cannot be null");
 
-        List<Device> devices;
-
-        if (brand != null && !brand.isBlank()) {
-            devices = deviceRepository.findByBrand(brand);
-        } else if (state != null) {
-            devices = deviceRepository.findByState(state);
-        } else {
-            devices = deviceRepository.findAll();
+        int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new DeviceValidationException("Limit must be between 1 and " + MAX_PAGE_SIZE);
         }
 
-        return devices.stream()
-                .map(DeviceResponse::from)
-                .collect(Collectors.toList());
+        Long afterId = DeviceCursor.decode(after);
+
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        List<DeviceResponse> devices = deviceQueries.findPage(criteria, afterId, pageSize + 1);
+
+        boolean hasMore = devices.size() > pageSize;
+        List<DeviceResponse> items = hasMore ? devices.subList(0, pageSize) : devices;
+
+        String next = hasMore ? DeviceCursor.encode(items.get(items.size() - 1).id()) : null;
+        return new DevicePageResponse(items, next);
     }
 }
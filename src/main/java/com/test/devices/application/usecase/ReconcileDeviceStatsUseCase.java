@@ -0,0 +1,28 @@
+package com.test.devices.application.usecase;
+
+import com.test.devices.application.metrics.Measured;
+import com.test.devices.application.query.DeviceCounters;
+import com.test.devices.application.query.DeviceQueries;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+
+@ApplicationScoped
+@Measured("devices.usecase")
+public class ReconcileDeviceStatsUseCase {
+
+    @Inject
+    DeviceQueries deviceQueries;
+
+    @Inject
+    DeviceCounters deviceCounters;
+
+    /**
+     * Recounts the devices by brand and state in the database and rebases the in-memory counters
+     * on the result; see {@link DeviceCounters#reconcile} for the writes committing meanwhile.
+     */
+    @Transactional
+    public void execute() {
+        deviceCounters.reconcile(deviceQueries::countByBrandAndState);
+    }
+}
@@ -0,0 +1,39 @@
+package com.test.devices.application.usecase;
+
+import com.test.devices.application.event.DeviceEventSink;
+import com.test.devices.application.event.DeviceOutbox;
+import com.test.devices.application.event.DeviceOutboxEvent;
+import com.test.devices.application.metrics.Measured;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+
+import java.util.List;
+
+@ApplicationScoped
+@Measured("devices.usecase")
+public class RelayDeviceEventsUseCase {
+
+    @Inject
+    DeviceOutbox outbox;
+
+    @Inject
+    DeviceEventSink sink;
+
+    /**
+     * Delivers the next batch of at most {@code batchSize} outbox events and removes them, all in
+     * one transaction: if delivery fails the events stay in the outbox and are retried later.
+     * Returns the delivered events.
+     */
+    @Transactional
+    public List<DeviceOutboxEvent> execute(int batchSize) {
+        List<DeviceOutboxEvent> events = outbox.lockNextBatch(batchSize);
+        if (events.isEmpty()) {
+            return events;
+        }
+
+        sink.deliver(events);
+        outbox.remove(events.stream().map(DeviceOutboxEvent::id).toList());
+        return events;
+    }
+}
@@ -0,0 +1,81 @@
+package com.test.devices.application.usecase;
+
+import com.test.devices.application.dto.DeviceCursor;
+import com.test.devices.application.dto.DeviceResponse;
+import com.test.devices.application.dto.DeviceSearchResponse;
+import com.test.devices.application.exception.DeviceValidationException;
+import com.test.devices.application.metrics.Measured;
+import com.test.devices.application.query.DeviceQueries;
+import com.test.devices.application.query.DeviceSearch;
+import com.test.devices.application.transaction.ReadOnly;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@ApplicationScoped
+@Measured("devices.usecase")
+@ReadOnly
+public class SearchDevicesUseCase {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_QUERY_LENGTH = 100;
+    // Ranking has to consider every match up to the requested page, so deep pages are refused
+    public static final int MAX_RESULTS = 1000;
+
+    @Inject
+    DeviceSearch deviceSearch;
+
+    @Inject
+    DeviceQueries deviceQueries;
+
+    /**
+     * Returns one page of the devices whose name or brand match {@code query}, best match first.
+     * Ranked results have no stable key to resume from, so the cursor carries the offset of the
+     * next page.
+     */
+    @Transactional
+    public DeviceSearchResponse execute(String query, String after, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new DeviceValidationException("Search query is required");
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new DeviceValidationException("Search query must be at most " + MAX_QUERY_LENGTH + " characters");
+        }
+
+        int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new DeviceValidationException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        Long offset = DeviceCursor.decode(after);
+        int from = offset != null ? offset.intValue() : 0;
+        if (offset != null && (offset < 0 || offset >= MAX_RESULTS)) {
+            throw new DeviceValidationException("Search results are limited to the first " + MAX_RESULTS + " matches");
+        }
+
+        // Fetch one extra id to learn whether another page exists
+        int wanted = Math.min(pageSize, MAX_RESULTS - from);
+        List<Long> ids = deviceSearch.search(query, from, wanted + 1);
+
+        boolean hasMore = ids.size() > wanted && from + wanted < MAX_RESULTS;
+        List<Long> pageIds = ids.size() > wanted ? ids.subList(0, wanted) : ids;
+
+        Map<Long, DeviceResponse> devices = deviceQueries.findByIds(pageIds).stream()
+            .collect(Collectors.toMap(DeviceResponse::id, Function.identity()));
+        // Back in ranking order; a device deleted since it was matched is left out
+        List<DeviceResponse> items = pageIds.stream()
+            .map(devices::get)
+            .filter(Objects::nonNull)
+            .toList();
+
+        String next = hasMore ? DeviceCursor.encode((long) from + wanted) : null;
+        return new DeviceSearchResponse(items, next);
+    }
+}
@@ -2,10 +2,19 @@ package com.test.devices.application.usecase;
 
 import com.test.devices.application.dto.DeviceResponse;
 import com.test.devices.application.dto.UpdateDeviceRequest;
+import com.test.devices.application.event.DeviceChangePublisher;
+import com.test.devices.application.event.DeviceChangeType;
 import com.test.devices.application.exception.DeviceNotFoundException;
+import com.test.devices.application.exception.DevicePreconditionFailedException;
 import com.test.devices.application.exception.DeviceValidationException;
+import com.test.devices.application.metrics.Measured;
+import com.test.devices.application.query.DeviceCounters;
+import com.test.devices.application.query.DeviceRegistry;
+import com.test.devices.application.query.DeviceSearch;
 import com.test.devices.domain.model.Device;
+import com.test.devices.domain.model.DeviceState;
 import com.test.devices.domain.repository.DeviceRepository;
+import com.test.devices.domain.repository.StaleDeviceException;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
@@ -13,19 +22,48 @@ import jakarta.transaction.Transactional;
 import java.util.Objects;
 
 @ApplicationScoped
+@Measured("devices.usecase")
 public class UpdateDeviceUseCase {
 
     @Inject
     DeviceRepository deviceRepository;
 
+    @Inject
+    DeviceChangePublisher changePublisher;
+
+    @Inject
+    DeviceSearch deviceSearch;
+
+    @Inject
+    DeviceCounters deviceCounters;
+
+    @Inject
+    DeviceRegistry deviceRegistry;
+
     @Transactional
     public DeviceResponse execute(Long id, UpdateDeviceRequest request) {
+        return execute(id, request, null);
+    }
+
+    /**
+     * Applies the update only if the device is still at {@code expectedVersion};
+     * a null {@code expectedVersion} skips the check.
+     */
+    @Transactional
+    public DeviceResponse execute(Long id, UpdateDeviceRequest request, Long expectedVersion) {
         Objects.requireNonNull(id, "Device ID cannot be null");
         Objects.requireNonNull(request, "Request cannot be null");
 
-        Device device = deviceRepository.findById(id)
+        Device device = deviceRepository.findByIdForWrite(id)
             .orElseThrow(() -> new DeviceNotFoundException(id));
 
+        if (expectedVersion != null && !expectedVersion.equals(device.getVersion())) {
+            throw new DevicePreconditionFailedException(id);
+        }
+
+        String previousBrand = device.getBrand();
+        DeviceState previousState = device.getState();
+
         try {
             if (request.name() != null || request.brand() != null) {
                 device.updateDetails(request.name(), request.brand());
@@ -36,9 +74,16 @@ public class UpdateDeviceUseCase {
             }
 
             Device updatedDevice = deviceRepository.save(device);
+            changePublisher.publish(DeviceChangeType.UPDATED, updatedDevice.getId(), updatedDevice.getState());
+            deviceSearch.index(updatedDevice);
+            deviceCounters.changed(previousBrand, previousState, updatedDevice.getBrand(), updatedDevice.getState());
 
-            return DeviceResponse.from(updatedDevice);
+            DeviceResponse response = DeviceResponse.from(updatedDevice);
+            deviceRegistry.put(response);
+            return response;
 
+        } catch (StaleDeviceException e) {
+            throw new DevicePreconditionFailedException(id, e);
         } catch (IllegalStateException | IllegalArgumentException e) {
             throw new DeviceValidationException(e.getMessage(), e);
         }
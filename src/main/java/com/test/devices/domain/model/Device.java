@@ -10,13 +10,18 @@ public class Device {
     private String brand;
     private DeviceState state;
     private final LocalDateTime creationTime;
+    private final Long version;
+    private final LocalDateTime lastModified;
 
-    private Device(Long id, String name, String brand, DeviceState state, LocalDateTime creationTime) {
+    private Device(Long id, String name, String brand, DeviceState state, LocalDateTime creationTime, Long version,
+                   LocalDateTime lastModified) {
         this.id = id;
         this.name = name;
         this.brand = brand;
         this.state = state;
         this.creationTime = creationTime;
+        this.version = version;
+        this.lastModified = lastModified;
     }
 
     public static Device create(String name, String brand, DeviceState state) {
@@ -24,18 +29,31 @@ public class Device {
         validateBrand(brand);
         validateState(state);
 
-        return new Device(null, name, brand, state, LocalDateTime.now());
+        LocalDateTime now = LocalDateTime.now();
+        return new Device(null, name, brand, state, now, null, now);
     }
 
-    public static Device reconstitute(Long id, String name, String brand, DeviceState state, LocalDateTime creationTime) {
-        return new Device(id, name, brand, state, creationTime);
+    /**
+     * Rebuilds a persisted device. {@code version} is the optimistic-locking version it was read at;
+     * saving it fails if the device has changed since. {@code lastModified} is when it was last written.
+     */
+    public static Device reconstitute(Long id, String name, String brand, DeviceState state,
+                                      LocalDateTime creationTime, Long version, LocalDateTime lastModified) {
+        return new Device(id, name, brand, state, creationTime, version, lastModified);
     }
 
     public void updateState(DeviceState newState) {
-        validateState(newState);
+        validateStateChange(newState);
         this.state = newState;
     }
 
+    /**
+     * Rules every state change must satisfy; set-based bulk updates apply them without loading devices.
+     */
+    public static void validateStateChange(DeviceState newState) {
+        validateState(newState);
+    }
+
     public void updateDetails(String newName, String newBrand) {
         validateNotInUse();
 
@@ -79,6 +97,14 @@ public class Device {
         return creationTime;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getLastModified() {
+        return lastModified;
+    }
+
     // Private validation methods
     private static void validateName(String name) {
         Objects.requireNonNull(name, "Name cannot be null");
@@ -129,6 +155,8 @@ public class Device {
                 ", brand='" + brand + '\'' +
                 ", state=" + state +
                 ", creationTime=" + creationTime +
+                ", version=" + version +
+                ", lastModified=" + lastModified +
                 '}';
     }
 }
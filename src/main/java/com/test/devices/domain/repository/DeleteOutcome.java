@@ -0,0 +1,29 @@
+package com.test.devices.domain.repository;
+
+import com.test.devices.domain.model.DeviceState;
+
+/**
+ * Result of a conditional delete issued without loading the device first. A deleted device comes
+ * with the brand and state it had, the others with neither.
+ */
+public record DeleteOutcome(Status status, String brand, DeviceState state) {
+
+    public static final DeleteOutcome NOT_FOUND = new DeleteOutcome(Status.NOT_FOUND, null, null);
+    public static final DeleteOutcome IN_USE = new DeleteOutcome(Status.IN_USE, null, null);
+    public static final DeleteOutcome VERSION_MISMATCH = new DeleteOutcome(Status.VERSION_MISMATCH, null, null);
+
+    public enum Status {
+        DELETED,
+        NOT_FOUND,
+        IN_USE,
+        VERSION_MISMATCH
+    }
+
+    public static DeleteOutcome deleted(String brand, DeviceState state) {
+        return new DeleteOutcome(Status.DELETED, brand, state);
+    }
+
+    public boolean isDeleted() {
+        return status == Status.DELETED;
+    }
+}
@@ -0,0 +1,59 @@
+package com.test.devices.domain.repository;
+
+import com.test.devices.domain.model.DeviceState;
+
+import java.time.LocalDateTime;
+
+/**
+ * Composable filter for device queries. Every criterion is optional and all present criteria
+ * must match; repositories translate the whole criteria into a single query.
+ *
+ * @param brand         exact brand match
+ * @param state         exact state match
+ * @param createdFrom   inclusive lower bound on creation time
+ * @param createdTo     exclusive upper bound on creation time
+ * @param namePrefix    case-sensitive prefix of the device name
+ */
+public record DeviceCriteria(
+    String brand,
+    DeviceState state,
+    LocalDateTime createdFrom,
+    LocalDateTime createdTo,
+    String namePrefix
+) {
+
+    private static final DeviceCriteria NONE = new DeviceCriteria(null, null, null, null, null);
+
+    public DeviceCriteria {
+        brand = blankToNull(brand);
+        namePrefix = blankToNull(namePrefix);
+    }
+
+    public static DeviceCriteria none() {
+        return NONE;
+    }
+
+    public DeviceCriteria withBrand(String brand) {
+        return new DeviceCriteria(brand, state, createdFrom, createdTo, namePrefix);
+    }
+
+    public DeviceCriteria withState(DeviceState state) {
+        return new DeviceCriteria(brand, state, createdFrom, createdTo, namePrefix);
+    }
+
+    public DeviceCriteria withCreatedBetween(LocalDateTime from, LocalDateTime to) {
+        return new DeviceCriteria(brand, state, from, to, namePrefix);
+    }
+
+    public DeviceCriteria withNamePrefix(String namePrefix) {
+        return new DeviceCriteria(brand, state, createdFrom, createdTo, namePrefix);
+    }
+
+    public boolean isEmpty() {
+        return brand == null && state == null && createdFrom == null && createdTo == null && namePrefix == null;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
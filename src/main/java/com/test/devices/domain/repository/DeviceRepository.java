@@ -4,21 +4,63 @@ package com.test.devices.domain.repository;
 import com.test.devices.domain.model.Device;
 import com.test.devices.domain.model.DeviceState;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface DeviceRepository {
 
+    /**
+     * Inserts a new device or updates an existing one. Updates fail with {@link StaleDeviceException}
+     * when the device's version is no longer the stored one.
+     */
     Device save(Device device);
 
+    /**
+     * Inserts new devices in chunked batches and returns them with their generated ids,
+     * in the same order as given.
+     */
+    List<Device> saveAll(List<Device> devices);
+
     Optional<Device> findById(Long id);
 
-    List<Device> findAll();
+    /**
+     * Like {@link #findById(Long)} but always reads the stored row, bypassing any cache,
+     * so the returned version is current. Use before modifying a device.
+     */
+    Optional<Device> findByIdForWrite(Long id);
+
+    /**
+     * Returns only the version and last-modified time of a device, selected without materializing it.
+     */
+    Optional<DeviceVersion> findVersion(Long id);
+
+    /**
+     * Lazily streams every device ordered by id. The stream holds an open cursor and must be
+     * consumed and closed inside the caller's transaction.
+     */
+    Stream<Device> streamAll();
 
-    List<Device> findByBrand(String brand);
+    /**
+     * Moves every listed device that is not already in {@code state} to {@code state} using
+     * set-based updates, and returns the devices that actually changed with the state they left.
+     * Unknown ids are ignored.
+     */
+    List<DeviceStateChange> updateState(Collection<Long> ids, DeviceState state);
 
-    List<Device> findByState(DeviceState state);
+    /**
+     * Ids of at most {@code limit} devices matching {@code criteria} that are not already in
+     * {@code state}, in id order.
+     */
+    List<Long> findIdsToChange(DeviceCriteria criteria, DeviceState state, int limit);
 
-    void delete(Device device);
+    /**
+     * Deletes the device in a single statement unless it is in use (the rule of
+     * {@link Device#canBeDeleted()}) or, when {@code expectedVersion} is not null, its version differs.
+     * A deleted device's outcome carries the brand and state it had. Probes only when nothing was
+     * deleted to tell why.
+     */
+    DeleteOutcome deleteIfDeletable(Long id, Long expectedVersion);
 
 }
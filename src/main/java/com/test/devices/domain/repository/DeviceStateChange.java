@@ -0,0 +1,9 @@
+package com.test.devices.domain.repository;
+
+import com.test.devices.domain.model.DeviceState;
+
+/**
+ * A device moved by a set-based state change, with the brand and the state it had before.
+ */
+public record DeviceStateChange(Long id, String brand, DeviceState previousState) {
+}
@@ -0,0 +1,9 @@
+package com.test.devices.domain.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * The validators of a stored device: enough to answer a conditional read without loading the device.
+ */
+public record DeviceVersion(Long id, Long version, LocalDateTime lastModified) {
+}
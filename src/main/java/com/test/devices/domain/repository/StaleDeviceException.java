@@ -0,0 +1,15 @@
+package com.test.devices.domain.repository;
+
+/**
+ * Thrown when a device is saved from a version that is no longer current, i.e. another
+ * writer changed or deleted it after it was read.
+ */
+public class StaleDeviceException extends RuntimeException {
+    public StaleDeviceException(Long id) {
+        super("Device " + id + " was modified or deleted concurrently");
+    }
+
+    public StaleDeviceException(Long id, Throwable cause) {
+        super("Device " + id + " was modified or deleted concurrently", cause);
+    }
+}
@@ -0,0 +1,113 @@
+package com.test.devices.infrastructure.cache;
+
+import com.test.devices.domain.model.Device;
+import com.test.devices.domain.model.DeviceState;
+import com.test.devices.domain.repository.DeleteOutcome;
+import com.test.devices.domain.repository.DeviceCriteria;
+import com.test.devices.domain.repository.DeviceRepository;
+import com.test.devices.domain.repository.DeviceStateChange;
+import com.test.devices.domain.repository.DeviceVersion;
+import com.test.devices.infrastructure.persistance.ReadOnlyTransactionInterceptor;
+import jakarta.annotation.Priority;
+import jakarta.decorator.Decorator;
+import jakarta.decorator.Delegate;
+import jakarta.inject.Inject;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Read-through cache in front of the {@link DeviceRepository} for lookups by id.
+ * Every write going through the repository invalidates the affected id. Only rows read from the
+ * primary are cached.
+ */
+@Decorator
+@Priority(10)
+public class CachingDeviceRepository implements DeviceRepository {
+
+    @Inject
+    @Delegate
+    DeviceRepository delegate;
+
+    @Inject
+    DeviceCache cache;
+
+    @Override
+    public Device save(Device device) {
+        if (device.getId() != null) {
+            cache.invalidate(device.getId());
+        }
+        return delegate.save(device);
+    }
+
+    @Override
+    public List<Device> saveAll(List<Device> devices) {
+        return delegate.saveAll(devices);
+    }
+
+    @Override
+    public Optional<Device> findById(Long id) {
+        if (!cache.isEnabled()) {
+            return delegate.findById(id);
+        }
+
+        Optional<Device> cached = cache.get(id);
+        if (cached.isPresent()) {
+            return cached;
+        }
+
+        long generation = cache.generation(id);
+        Optional<Device> device = delegate.findById(id);
+        // A replica row may predate a write that already evicted the id; cached, it would be served
+        // for the whole TTL instead of at most the replica lag
+        if (!ReadOnlyTransactionInterceptor.readsFromReplica()) {
+            device.ifPresent(found -> cache.putIfUnchanged(found, generation));
+        }
+        return device;
+    }
+
+    @Override
+    public Optional<Device> findByIdForWrite(Long id) {
+        return delegate.findByIdForWrite(id);
+    }
+
+    @Override
+    public Optional<DeviceVersion> findVersion(Long id) {
+        if (cache.isEnabled()) {
+            Optional<Device> cached = cache.get(id);
+            if (cached.isPresent()) {
+                Device device = cached.get();
+                return Optional.of(new DeviceVersion(device.getId(), device.getVersion(), device.getLastModified()));
+            }
+        }
+        return delegate.findVersion(id);
+    }
+
+    @Override
+    public Stream<Device> streamAll() {
+        return delegate.streamAll();
+    }
+
+    @Override
+    public List<DeviceStateChange> updateState(Collection<Long> ids, DeviceState state) {
+        List<DeviceStateChange> changed = delegate.updateState(ids, state);
+        changed.forEach(change -> cache.invalidate(change.id()));
+        return changed;
+    }
+
+    @Override
+    public List<Long> findIdsToChange(DeviceCriteria criteria, DeviceState state, int limit) {
+        return delegate.findIdsToChange(criteria, state, limit);
+    }
+
+    @Override
+    public DeleteOutcome deleteIfDeletable(Long id, Long expectedVersion) {
+        DeleteOutcome outcome = delegate.deleteIfDeletable(id, expectedVersion);
+        if (outcome.isDeleted()) {
+            cache.invalidate(id);
+        }
+        return outcome;
+    }
+}
@@ -0,0 +1,140 @@
+package com.test.devices.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.test.devices.domain.model.Device;
+import com.test.devices.domain.model.DeviceState;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded, TTL-evicting in-process cache of devices by id.
+ * Entries are immutable snapshots, so callers always receive their own {@link Device} instance.
+ */
+@ApplicationScoped
+public class DeviceCache {
+
+    @ConfigProperty(name = "devices.cache.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "devices.cache.maximum-size", defaultValue = "10000")
+    long maximumSize;
+
+    @ConfigProperty(name = "devices.cache.ttl", defaultValue = "PT30S")
+    Duration ttl;
+
+    // Invalidation count per stripe of ids: a fill is dropped when its stripe moved during the lookup
+    private static final int GENERATION_STRIPES = 4096;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    private Cache<Long, Snapshot> cache;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Optional<Device> get(Long id) {
+        return Optional.ofNullable(cache.getIfPresent(id)).map(Snapshot::toDomain);
+    }
+
+    /**
+     * To be read before looking up a device that may then be cached; see {@link #putIfUnchanged}.
+     */
+    public long generation(Long id) {
+        return generations.get(stripe(id));
+    }
+
+    /**
+     * Caches the device unless its id may have been invalidated since {@code generation} was read:
+     * the device could then be the row as it was before a write committed, and would be served
+     * until the TTL expires.
+     */
+    public void putIfUnchanged(Device device, long generation) {
+        int stripe = stripe(device.getId());
+        Snapshot snapshot = Snapshot.of(device);
+        // Atomic with invalidate() for the same id, which bumps the stripe before evicting
+        cache.asMap().compute(device.getId(),
+                (id, current) -> generations.get(stripe) == generation ? snapshot : current);
+    }
+
+    /**
+     * Evicts the entry now and, when called inside a transaction, once more after it completes,
+     * so a concurrent reader cannot re-populate the cache with the pre-commit row.
+     */
+    public void invalidate(Long id) {
+        evict(id);
+        if (transactionRegistry != null && transactionRegistry.getTransactionStatus() == Status.STATUS_ACTIVE) {
+            transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    evict(id);
+                }
+            });
+        }
+    }
+
+    public void invalidateAll() {
+        for (int stripe = 0; stripe < GENERATION_STRIPES; stripe++) {
+            generations.incrementAndGet(stripe);
+        }
+        cache.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private void evict(Long id) {
+        generations.incrementAndGet(stripe(id));
+        cache.invalidate(id);
+    }
+
+    private static int stripe(Long id) {
+        return Long.hashCode(id) & (GENERATION_STRIPES - 1);
+    }
+
+    private record Snapshot(Long id, String name, String brand, DeviceState state, LocalDateTime creationTime,
+                            Long version, LocalDateTime lastModified) {
+
+        static Snapshot of(Device device) {
+            return new Snapshot(device.getId(), device.getName(), device.getBrand(), device.getState(),
+                    device.getCreationTime(), device.getVersion(), device.getLastModified());
+        }
+
+        Device toDomain() {
+            return Device.reconstitute(id, name, brand, state, creationTime, version, lastModified);
+        }
+    }
+}
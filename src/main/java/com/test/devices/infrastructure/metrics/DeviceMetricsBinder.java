@@ -0,0 +1,70 @@
+package com.test.devices.infrastructure.metrics;
+
+import com.test.devices.infrastructure.cache.DeviceCache;
+import com.test.devices.infrastructure.outbox.DeviceOutboxRelay;
+import com.test.devices.infrastructure.registry.OffHeapDeviceRegistry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+/**
+ * Publishes the device cache statistics, the outbox relay counters and the device registry size,
+ * which are kept by the components themselves and only read at scrape time.
+ */
+@Singleton
+public class DeviceMetricsBinder implements MeterBinder {
+
+    @Inject
+    DeviceCache deviceCache;
+
+    @Inject
+    DeviceOutboxRelay outboxRelay;
+
+    @Inject
+    OffHeapDeviceRegistry deviceRegistry;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("devices.cache.requests", deviceCache, cache -> cache.stats().hitCount())
+                .description("Device cache lookups")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("devices.cache.requests", deviceCache, cache -> cache.stats().missCount())
+                .description("Device cache lookups")
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("devices.cache.evictions", deviceCache, cache -> cache.stats().evictionCount())
+                .description("Device cache entries evicted for size or age")
+                .register(registry);
+        Gauge.builder("devices.cache.size", deviceCache, DeviceCache::size)
+                .description("Approximate number of cached devices")
+                .register(registry);
+
+        FunctionCounter.builder("devices.outbox.relay.events", outboxRelay, DeviceOutboxRelay::deliveredEvents)
+                .description("Outbox events delivered to the sink")
+                .register(registry);
+        FunctionCounter.builder("devices.outbox.relay.batches", outboxRelay, DeviceOutboxRelay::deliveredBatches)
+                .description("Outbox batches delivered to the sink")
+                .tag("result", "delivered")
+                .register(registry);
+        FunctionCounter.builder("devices.outbox.relay.batches", outboxRelay, DeviceOutboxRelay::failedBatches)
+                .description("Outbox batches delivered to the sink")
+                .tag("result", "failed")
+                .register(registry);
+        Gauge.builder("devices.outbox.relay.lag", outboxRelay, DeviceOutboxRelay::lastDeliveryLagMillis)
+                .description("Time the oldest event of the last delivered batch spent in the outbox")
+                .baseUnit("milliseconds")
+                .register(registry);
+
+        Gauge.builder("devices.registry.size", deviceRegistry, OffHeapDeviceRegistry::size)
+                .description("Devices held by the off-heap device registry")
+                .register(registry);
+        Gauge.builder("devices.registry.memory", deviceRegistry, OffHeapDeviceRegistry::offHeapBytes)
+                .description("Direct memory used by the off-heap device registry")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+}
@@ -0,0 +1,153 @@
+package com.test.devices.infrastructure.metrics;
+
+import com.test.devices.application.exception.DeviceNotFoundException;
+import com.test.devices.application.exception.DevicePreconditionFailedException;
+import com.test.devices.application.exception.DeviceValidationException;
+import com.test.devices.application.metrics.Measured;
+import com.test.devices.domain.repository.StaleDeviceException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.validation.ConstraintViolationException;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times and traces {@link Measured} beans. Each call gets a span named {@code Class.method}, child of
+ * the current one, and a timer sample; both end when a returned {@link CompletionStage} completes.
+ * Runs outside {@code @Transactional}, so both include the commit and failures raised on flush are
+ * classified too. The timer count per outcome doubles as the outcome counter
+ * ({@code <name>_seconds_count{outcome="not_found"}} in Prometheus).
+ */
+@Measured("")
+@Interceptor
+@Priority(Interceptor.Priority.PLATFORM_BEFORE + 100)
+public class MeasuredInterceptor {
+
+    static final String SUCCESS = "success";
+    static final String NOT_FOUND = "not_found";
+    static final String VALIDATION_FAILURE = "validation_failure";
+    static final String CONFLICT = "conflict";
+    static final String ERROR = "error";
+
+    static final AttributeKey<String> CODE_NAMESPACE = AttributeKey.stringKey("code.namespace");
+    static final AttributeKey<String> CODE_FUNCTION = AttributeKey.stringKey("code.function");
+    static final AttributeKey<String> OUTCOME = AttributeKey.stringKey("devices.outcome");
+    static final AttributeKey<Long> ROWS = AttributeKey.longKey("devices.rows");
+
+    @Inject
+    MeterRegistry registry;
+
+    @Inject
+    Tracer tracer;
+
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<Method, DistributionSummary> rowSummaries = new ConcurrentHashMap<>();
+
+    private record TimerKey(Method method, String outcome) {
+    }
+
+    @AroundInvoke
+    Object measure(InvocationContext context) throws Exception {
+        Method method = context.getMethod();
+        long start = System.nanoTime();
+        Span span = tracer.spanBuilder(method.getDeclaringClass().getSimpleName() + "." + method.getName())
+                .setAttribute(CODE_NAMESPACE, method.getDeclaringClass().getName())
+                .setAttribute(CODE_FUNCTION, method.getName())
+                .startSpan();
+        Object result;
+        try (Scope ignored = span.makeCurrent()) {
+            result = context.proceed();
+        } catch (Throwable e) {
+            finish(method, span, start, null, e);
+            throw e;
+        }
+        if (result instanceof CompletionStage<?> stage) {
+            stage.whenComplete((value, failure) -> finish(method, span, start, value, failure));
+        } else {
+            finish(method, span, start, result, null);
+        }
+        return result;
+    }
+
+    private void finish(Method method, Span span, long start, Object result, Throwable failure) {
+        String outcome = failure == null ? SUCCESS : outcome(failure);
+        timer(method, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        span.setAttribute(OUTCOME, outcome);
+        if (result instanceof Collection<?> rows) {
+            rowSummary(method).record(rows.size());
+            span.setAttribute(ROWS, (long) rows.size());
+        }
+        if (failure != null) {
+            span.recordException(failure);
+            if (ERROR.equals(outcome)) {
+                span.setStatus(StatusCode.ERROR);
+            }
+        }
+        span.end();
+    }
+
+    static String outcome(Throwable failure) {
+        if (failure instanceof CompletionException && failure.getCause() != null) {
+            failure = failure.getCause();
+        }
+        if (failure instanceof DeviceNotFoundException) {
+            return NOT_FOUND;
+        }
+        if (failure instanceof DeviceValidationException
+                || failure instanceof ConstraintViolationException
+                || failure instanceof IllegalArgumentException) {
+            return VALIDATION_FAILURE;
+        }
+        if (failure instanceof DevicePreconditionFailedException
+                || failure instanceof StaleDeviceException
+                || failure instanceof OptimisticLockException) {
+            return CONFLICT;
+        }
+        return ERROR;
+    }
+
+    private Timer timer(Method method, String outcome) {
+        return timers.computeIfAbsent(new TimerKey(method, outcome), key -> Timer.builder(name(method))
+                .description("Latency of " + method.getDeclaringClass().getSimpleName() + " calls")
+                .tag("class", method.getDeclaringClass().getSimpleName())
+                .tag("method", method.getName())
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+
+    private DistributionSummary rowSummary(Method method) {
+        return rowSummaries.computeIfAbsent(method, key -> DistributionSummary.builder(name(method) + ".rows")
+                .description("Rows returned by " + method.getDeclaringClass().getSimpleName() + " calls")
+                .tag("class", method.getDeclaringClass().getSimpleName())
+                .tag("method", method.getName())
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+
+    private static String name(Method method) {
+        Measured measured = method.getAnnotation(Measured.class);
+        if (measured == null) {
+            measured = method.getDeclaringClass().getAnnotation(Measured.class);
+        }
+        return measured.value();
+    }
+}
@@ -0,0 +1,107 @@
+package com.test.devices.infrastructure.outbox;
+
+import com.test.devices.application.event.DeviceOutbox;
+import com.test.devices.application.event.DeviceOutboxEvent;
+import com.test.devices.application.usecase.RelayDeviceEventsUseCase;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background job draining the device outbox into the configured sink, off the request path.
+ * Every instance may run it: batches are claimed with SKIP LOCKED, so relays never block each other.
+ */
+@ApplicationScoped
+public class DeviceOutboxRelay {
+
+    private static final Logger logger = Logger.getLogger(DeviceOutboxRelay.class);
+
+    @ConfigProperty(name = "devices.outbox.relay.batch-size", defaultValue = "500")
+    int batchSize;
+
+    @Inject
+    RelayDeviceEventsUseCase relayDeviceEventsUseCase;
+
+    @Inject
+    DeviceOutbox outbox;
+
+    private final AtomicLong deliveredEvents = new AtomicLong();
+    private final AtomicLong deliveredBatches = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+    private volatile long lastDeliveryLagMillis;
+    private volatile LocalDateTime oldestPending;
+
+    /**
+     * Relays batches until the outbox is drained or a batch fails; a failed batch stays in the
+     * outbox and is retried on the next run. Each run ends by recording what is left behind.
+     */
+    @Scheduled(every = "${devices.outbox.relay.interval:1s}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    public void drain() {
+        try {
+            relayBatches();
+        } finally {
+            recordBacklog();
+        }
+    }
+
+    private void relayBatches() {
+        List<DeviceOutboxEvent> delivered;
+        do {
+            try {
+                delivered = relayDeviceEventsUseCase.execute(batchSize);
+            } catch (RuntimeException e) {
+                failedBatches.incrementAndGet();
+                logger.warn("Device outbox relay failed, will retry", e);
+                return;
+            }
+            if (!delivered.isEmpty()) {
+                deliveredEvents.addAndGet(delivered.size());
+                deliveredBatches.incrementAndGet();
+                lastDeliveryLagMillis = Duration.between(delivered.get(0).createdAt(), LocalDateTime.now()).toMillis();
+            }
+        } while (delivered.size() == batchSize);
+    }
+
+    private void recordBacklog() {
+        try {
+            oldestPending = outbox.oldestPending().orElse(null);
+        } catch (RuntimeException e) {
+            logger.warn("Could not read the device outbox backlog", e);
+        }
+    }
+
+    public long deliveredEvents() {
+        return deliveredEvents.get();
+    }
+
+    public long deliveredBatches() {
+        return deliveredBatches.get();
+    }
+
+    public long failedBatches() {
+        return failedBatches.get();
+    }
+
+    /**
+     * Time the oldest event of the last delivered batch spent in the outbox.
+     */
+    public long lastDeliveryLagMillis() {
+        return lastDeliveryLagMillis;
+    }
+
+    /**
+     * Creation time of the oldest event still in the outbox when the last run ended, empty when
+     * it was drained. Lets readiness probes report the backlog without querying the table.
+     */
+    public Optional<LocalDateTime> oldestPending() {
+        return Optional.ofNullable(oldestPending);
+    }
+}
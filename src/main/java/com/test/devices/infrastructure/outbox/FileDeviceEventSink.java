@@ -0,0 +1,45 @@
+package com.test.devices.infrastructure.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.devices.application.event.DeviceEventSink;
+import com.test.devices.application.event.DeviceOutboxEvent;
+import io.quarkus.arc.properties.IfBuildProperty;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends events to a newline-delimited JSON file. Enabled with {@code devices.outbox.sink=file}.
+ */
+@ApplicationScoped
+@IfBuildProperty(name = "devices.outbox.sink", stringValue = "file")
+public class FileDeviceEventSink implements DeviceEventSink {
+
+    @ConfigProperty(name = "devices.outbox.file-sink.path", defaultValue = "device-events.ndjson")
+    Path path;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Override
+    public synchronized void deliver(List<DeviceOutboxEvent> events) {
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (DeviceOutboxEvent event : events) {
+                writer.write(objectMapper.writeValueAsString(event));
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append device events to " + path, e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.test.devices.infrastructure.outbox;
+
+import com.test.devices.application.event.DeviceEventSink;
+import com.test.devices.application.event.DeviceOutboxEvent;
+import io.quarkus.arc.properties.IfBuildProperty;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps delivered events in memory, for tests. Enabled with {@code devices.outbox.sink=memory}.
+ */
+@ApplicationScoped
+@IfBuildProperty(name = "devices.outbox.sink", stringValue = "memory")
+public class InMemoryDeviceEventSink implements DeviceEventSink {
+
+    private final List<DeviceOutboxEvent> delivered = new ArrayList<>();
+
+    @Override
+    public synchronized void deliver(List<DeviceOutboxEvent> events) {
+        delivered.addAll(events);
+    }
+
+    public synchronized List<DeviceOutboxEvent> delivered() {
+        return List.copyOf(delivered);
+    }
+
+    public synchronized void clear() {
+        delivered.clear();
+    }
+}
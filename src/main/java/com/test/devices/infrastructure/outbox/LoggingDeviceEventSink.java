@@ -0,0 +1,26 @@
+package com.test.devices.infrastructure.outbox;
+
+import com.test.devices.application.event.DeviceEventSink;
+import com.test.devices.application.event.DeviceOutboxEvent;
+import io.quarkus.arc.DefaultBean;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.jboss.logging.Logger;
+
+import java.util.List;
+
+/**
+ * Sink used when no other one is configured: logs each event at DEBUG.
+ */
+@DefaultBean
+@ApplicationScoped
+public class LoggingDeviceEventSink implements DeviceEventSink {
+
+    private static final Logger logger = Logger.getLogger(LoggingDeviceEventSink.class);
+
+    @Override
+    public void deliver(List<DeviceOutboxEvent> events) {
+        if (logger.isDebugEnabled()) {
+            events.forEach(event -> logger.debugf("Device event %s", event));
+        }
+    }
+}
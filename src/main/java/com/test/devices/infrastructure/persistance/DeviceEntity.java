@@ -3,15 +3,25 @@ package com.test.devices.infrastructure.persistance;
 import com.test.devices.domain.model.Device;
 import com.test.devices.domain.model.DeviceState;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "devices")
+@DynamicUpdate
+@Table(
+    name = "devices",
+    indexes = {
+        @Index(name = "idx_devices_brand_state", columnList = "brand, state"),
+        @Index(name = "idx_devices_state_creation_time", columnList = "state, creation_time")
+    }
+)
 public class DeviceEntity {
     
+    // Pooled sequence ids (unlike IDENTITY) let Hibernate batch INSERTs
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "devices_id_gen")
+    @SequenceGenerator(name = "devices_id_gen", sequenceName = "devices_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -27,6 +37,13 @@ public class DeviceEntity {
     @Column(name = "creation_time", nullable = false, updatable = false)
     private LocalDateTime creationTime;
     
+    @Version
+    @Column(nullable = false)
+    private Long version;
+    
+    @Column(name = "last_modified", nullable = false)
+    private LocalDateTime lastModified;
+    
     public DeviceEntity() {}
     
     public static DeviceEntity fromDomain(Device device) {
@@ -36,11 +53,23 @@ public class DeviceEntity {
         entity.brand = device.getBrand();
         entity.state = device.getState();
         entity.creationTime = device.getCreationTime();
+        entity.version = device.getVersion();
+        entity.lastModified = device.getLastModified();
         return entity;
     }
     
+    /**
+     * Copies the mutable fields of {@code device} onto this (managed) entity so dirty checking
+     * writes only the columns that actually changed.
+     */
+    public void applyChanges(Device device) {
+        this.name = device.getName();
+        this.brand = device.getBrand();
+        this.state = device.getState();
+    }
+    
     public Device toDomain() {
-        return Device.reconstitute(id, name, brand, state, creationTime);
+        return Device.reconstitute(id, name, brand, state, creationTime, version, lastModified);
     }
     
     public Long getId() {
@@ -83,10 +112,34 @@ public class DeviceEntity {
         this.creationTime = creationTime;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
+    public LocalDateTime getLastModified() {
+        return lastModified;
+    }
+    
+    public void setLastModified(LocalDateTime lastModified) {
+        this.lastModified = lastModified;
+    }
+    
     @PrePersist
     protected void onCreate() {
         if (creationTime == null) {
             creationTime = LocalDateTime.now();
         }
+        if (lastModified == null) {
+            lastModified = creationTime;
+        }
+    }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        lastModified = LocalDateTime.now();
     }
 }
@@ -0,0 +1,65 @@
+package com.test.devices.infrastructure.persistance;
+
+import com.test.devices.application.event.DeviceChangeType;
+import com.test.devices.application.event.DeviceOutboxEvent;
+import com.test.devices.domain.model.DeviceState;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "device_outbox", indexes = @Index(name = "idx_device_outbox_created_at", columnList = "created_at"))
+public class DeviceOutboxEntity {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "device_outbox_id_gen")
+    @SequenceGenerator(name = "device_outbox_id_gen", sequenceName = "device_outbox_seq", allocationSize = 50)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, updatable = false)
+    private DeviceChangeType type;
+    
+    @Column(name = "device_id", nullable = false, updatable = false)
+    private Long deviceId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(updatable = false)
+    private DeviceState state;
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    public DeviceOutboxEntity() {}
+    
+    public DeviceOutboxEntity(DeviceChangeType type, Long deviceId, DeviceState state, LocalDateTime createdAt) {
+        this.type = type;
+        this.deviceId = deviceId;
+        this.state = state;
+        this.createdAt = createdAt;
+    }
+    
+    public DeviceOutboxEvent toEvent() {
+        return new DeviceOutboxEvent(id, type, deviceId, state, createdAt);
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public DeviceChangeType getType() {
+        return type;
+    }
+    
+    public Long getDeviceId() {
+        return deviceId;
+    }
+    
+    public DeviceState getState() {
+        return state;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,87 @@
+package com.test.devices.infrastructure.persistance;
+
+import com.test.devices.application.event.DeviceChangeType;
+import com.test.devices.application.event.DeviceOutbox;
+import com.test.devices.application.event.DeviceOutboxEvent;
+import com.test.devices.domain.model.DeviceState;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@ApplicationScoped
+public class JpaDeviceOutbox implements DeviceOutbox {
+
+    private static final int INSERT_CHUNK_SIZE = 50;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Override
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void append(DeviceChangeType type, Collection<Long> deviceIds, DeviceState state) {
+        LocalDateTime now = LocalDateTime.now();
+        List<DeviceOutboxEntity> chunk = new ArrayList<>(INSERT_CHUNK_SIZE);
+        for (Long deviceId : deviceIds) {
+            DeviceOutboxEntity entity = new DeviceOutboxEntity(type, deviceId, state, now);
+            entityManager.persist(entity);
+            chunk.add(entity);
+
+            if (chunk.size() == INSERT_CHUNK_SIZE) {
+                flushAndDetach(chunk);
+            }
+        }
+        // Small appends stay managed and are inserted with the rest of the transaction
+        if (!chunk.isEmpty() && deviceIds.size() > INSERT_CHUNK_SIZE) {
+            flushAndDetach(chunk);
+        }
+    }
+
+    /**
+     * Flushes the chunk as one JDBC batch and detaches only the outbox rows, leaving the caller's
+     * devices managed.
+     */
+    private void flushAndDetach(List<DeviceOutboxEntity> chunk) {
+        entityManager.flush();
+        chunk.forEach(entityManager::detach);
+        chunk.clear();
+    }
+
+    @Override
+    public List<DeviceOutboxEvent> lockNextBatch(int limit) {
+        // Native SQL because not every Hibernate dialect renders SKIP LOCKED (H2's drops it); both
+        // PostgreSQL and H2 accept this statement. Concurrent relays take disjoint batches instead of waiting
+        @SuppressWarnings("unchecked")
+        List<DeviceOutboxEntity> batch = entityManager.createNativeQuery(
+                "SELECT * FROM device_outbox ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", DeviceOutboxEntity.class)
+            .setParameter("limit", limit)
+            .getResultList();
+        return batch.stream().map(DeviceOutboxEntity::toEvent).toList();
+    }
+
+    @Override
+    public void remove(Collection<Long> eventIds) {
+        if (eventIds.isEmpty()) {
+            return;
+        }
+        entityManager.createQuery("DELETE FROM DeviceOutboxEntity e WHERE e.id IN :ids")
+            .setParameter("ids", eventIds)
+            .executeUpdate();
+    }
+
+    @Override
+    public Optional<LocalDateTime> oldestPending() {
+        // One row off the created_at index rather than an aggregate over the whole backlog
+        return entityManager.createQuery(
+                "SELECT e.createdAt FROM DeviceOutboxEntity e ORDER BY e.createdAt", LocalDateTime.class)
+            .setMaxResults(1)
+            .getResultStream()
+            .findFirst();
+    }
+}
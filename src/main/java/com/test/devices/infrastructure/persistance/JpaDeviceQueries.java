@@ -0,0 +1,100 @@
+package com.test.devices.infrastructure.persistance;
+
+import com.test.devices.application.dto.DeviceResponse;
+import com.test.devices.application.metrics.Measured;
+import com.test.devices.application.query.DeviceCount;
+import com.test.devices.application.query.DeviceQueries;
+import com.test.devices.domain.repository.DeviceCriteria;
+import io.quarkus.hibernate.orm.PersistenceUnit;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Listing queries as constructor expressions: each row becomes one {@link DeviceResponse} and
+ * nothing enters the persistence context, so there are no entity instances, snapshots or
+ * dirty checks to pay for.
+ */
+@ApplicationScoped
+@Measured("devices.repository")
+@SlowQueryMonitored
+public class JpaDeviceQueries implements DeviceQueries {
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Inject
+    @PersistenceUnit("replica")
+    EntityManager replicaEntityManager;
+
+    @Override
+    public List<DeviceResponse> findPage(DeviceCriteria criteria, Long afterId, int limit) {
+        return select(criteria, afterId)
+            .setMaxResults(limit)
+            .getResultList();
+    }
+
+    @Override
+    public List<DeviceResponse> findByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        EntityManager reader = readEntityManager();
+        CriteriaBuilder cb = reader.getCriteriaBuilder();
+        CriteriaQuery<DeviceResponse> query = cb.createQuery(DeviceResponse.class);
+        Root<DeviceEntity> device = query.from(DeviceEntity.class);
+
+        query.select(construct(cb, device))
+            .where(device.get("id").in(ids))
+            .orderBy(cb.asc(device.get("id")));
+        return reader.createQuery(query).getResultList();
+    }
+
+    @Override
+    public List<DeviceCount> countByBrandAndState() {
+        // Reconciles counters kept current from committed writes, so a lagging replica would not do
+        return entityManager.createQuery(
+                "SELECT new com.test.devices.application.query.DeviceCount(d.brand, d.state, COUNT(d)) "
+                    + "FROM DeviceEntity d GROUP BY d.brand, d.state", DeviceCount.class)
+            .getResultList();
+    }
+
+    private TypedQuery<DeviceResponse> select(DeviceCriteria criteria, Long afterId) {
+        EntityManager reader = readEntityManager();
+        CriteriaBuilder cb = reader.getCriteriaBuilder();
+        CriteriaQuery<DeviceResponse> query = cb.createQuery(DeviceResponse.class);
+        Root<DeviceEntity> device = query.from(DeviceEntity.class);
+
+        List<Predicate> predicates = JpaDeviceRepository.predicates(cb, device, criteria, afterId);
+
+        query.select(construct(cb, device))
+            .where(predicates.toArray(Predicate[]::new))
+            .orderBy(cb.asc(device.get("id")));
+        return reader.createQuery(query);
+    }
+
+    private EntityManager readEntityManager() {
+        return ReadOnlyTransactionInterceptor.readEntityManager(entityManager, replicaEntityManager);
+    }
+
+    private static CompoundSelection<DeviceResponse> construct(CriteriaBuilder cb, Root<DeviceEntity> device) {
+        return cb.construct(DeviceResponse.class,
+            device.get("id"),
+            device.get("name"),
+            device.get("brand"),
+            device.get("state"),
+            device.get("creationTime"),
+            device.get("version"),
+            device.get("lastModified"));
+    }
+}
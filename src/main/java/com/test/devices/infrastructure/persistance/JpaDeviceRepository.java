@@ -1,80 +1,284 @@
 package com.test.devices.infrastructure.persistance;
 
+import com.test.devices.application.metrics.Measured;
 import com.test.devices.domain.model.Device;
 import com.test.devices.domain.model.DeviceState;
+import com.test.devices.domain.repository.DeleteOutcome;
+import com.test.devices.domain.repository.DeviceCriteria;
 import com.test.devices.domain.repository.DeviceRepository;
+import com.test.devices.domain.repository.DeviceStateChange;
+import com.test.devices.domain.repository.DeviceVersion;
+import com.test.devices.domain.repository.StaleDeviceException;
+import io.quarkus.hibernate.orm.PersistenceUnit;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.OptimisticLockException;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.jpa.HibernateHints;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @ApplicationScoped
+@Measured("devices.repository")
+@SlowQueryMonitored
 public class JpaDeviceRepository implements DeviceRepository {
 
+    private static final int STREAM_FETCH_SIZE = 500;
+    // Matches quarkus.hibernate-orm.jdbc.statement-batch-size and the id sequence allocation size
+    private static final int INSERT_CHUNK_SIZE = 50;
+    // Keeps IN lists well below driver and database bind-parameter limits
+    private static final int UPDATE_CHUNK_SIZE = 500;
+    private static final char LIKE_ESCAPE = '\\';
+
     @PersistenceContext
     EntityManager entityManager;
 
+    @Inject
+    @PersistenceUnit("replica")
+    EntityManager replicaEntityManager;
+
+    @ConfigProperty(name = "quarkus.datasource.db-kind")
+    String dbKind;
+
     @Override
     public Device save(Device device) {
-        DeviceEntity entity = DeviceEntity.fromDomain(device);
-
-        if (entity.getId() == null) {
+        if (device.getId() == null) {
+            DeviceEntity entity = DeviceEntity.fromDomain(device);
             entityManager.persist(entity);
-        } else {
-            entity = entityManager.merge(entity);
+            return entity.toDomain();
+        }
+
+        // Reuses the entity already loaded in this transaction (no extra SELECT) and lets dirty
+        // checking issue an UPDATE of only the changed columns instead of merging a detached copy
+        DeviceEntity entity = entityManager.find(DeviceEntity.class, device.getId());
+        if (entity == null || !Objects.equals(device.getVersion(), entity.getVersion())) {
+            throw new StaleDeviceException(device.getId());
         }
+        entity.applyChanges(device);
 
+        try {
+            // Flush now so a concurrent write surfaces here and the returned version is the new one
+            entityManager.flush();
+        } catch (OptimisticLockException e) {
+            throw new StaleDeviceException(device.getId(), e);
+        }
         return entity.toDomain();
     }
 
+    @Override
+    public List<Device> saveAll(List<Device> devices) {
+        List<Device> saved = new ArrayList<>(devices.size());
+        for (int i = 0; i < devices.size(); i++) {
+            DeviceEntity entity = DeviceEntity.fromDomain(devices.get(i));
+            entityManager.persist(entity);
+            saved.add(entity.toDomain());
+
+            if ((i + 1) % INSERT_CHUNK_SIZE == 0) {
+                // Send the chunk as one JDBC batch and keep the persistence context small
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return saved;
+    }
+
     @Override
     public Optional<Device> findById(Long id) {
-        DeviceEntity entity = entityManager.find(DeviceEntity.class, id);
+        DeviceEntity entity = readEntityManager().find(DeviceEntity.class, id);
         return Optional.ofNullable(entity).map(DeviceEntity::toDomain);
     }
 
     @Override
-    public List<Device> findAll() {
-        return entityManager.createQuery("SELECT d FROM DeviceEntity d", DeviceEntity.class)
-            .getResultList()
-            .stream()
-            .map(DeviceEntity::toDomain)
-            .collect(Collectors.toList());
+    public Optional<Device> findByIdForWrite(Long id) {
+        return findById(id);
     }
 
     @Override
-    public List<Device> findByBrand(String brand) {
-        return entityManager.createQuery(
-                "SELECT d FROM DeviceEntity d WHERE d.brand = :brand",
-                DeviceEntity.class)
-            .setParameter("brand", brand)
-            .getResultList()
-            .stream()
-            .map(DeviceEntity::toDomain)
-            .collect(Collectors.toList());
+    public Optional<DeviceVersion> findVersion(Long id) {
+        return readEntityManager().createQuery(
+                "SELECT new com.test.devices.domain.repository.DeviceVersion(d.id, d.version, d.lastModified) "
+                    + "FROM DeviceEntity d WHERE d.id = :id", DeviceVersion.class)
+            .setParameter("id", id)
+            .getResultStream()
+            .findFirst();
     }
 
     @Override
-    public List<Device> findByState(DeviceState state) {
-        return entityManager.createQuery(
-                "SELECT d FROM DeviceEntity d WHERE d.state = :state",
-                DeviceEntity.class)
-            .setParameter("state", state)
-            .getResultList()
-            .stream()
-            .map(DeviceEntity::toDomain)
-            .collect(Collectors.toList());
+    public Stream<Device> streamAll() {
+        EntityManager reader = readEntityManager();
+        return reader.createQuery("SELECT d FROM DeviceEntity d ORDER BY d.id", DeviceEntity.class)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+            .setHint(HibernateHints.HINT_READ_ONLY, true)
+            .getResultStream()
+            .map(entity -> {
+                // Detach each row once mapped so the persistence context does not grow with the table
+                Device device = entity.toDomain();
+                reader.detach(entity);
+                return device;
+            });
     }
 
     @Override
-    public void delete(Device device) {
-        DeviceEntity entity = entityManager.find(DeviceEntity.class, device.getId());
-        if (entity != null) {
-            entityManager.remove(entity);
+    public List<DeviceStateChange> updateState(Collection<Long> ids, DeviceState state) {
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<DeviceStateChange> changed = new ArrayList<>();
+
+        for (int from = 0; from < distinctIds.size(); from += UPDATE_CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + UPDATE_CHUNK_SIZE, distinctIds.size()));
+
+            // Lock the rows that will change so the reported devices, and the brand and state they
+            // leave, match what the UPDATE touches
+            List<DeviceStateChange> toChange = entityManager.createQuery(
+                    "SELECT new com.test.devices.domain.repository.DeviceStateChange(d.id, d.brand, d.state) "
+                        + "FROM DeviceEntity d WHERE d.id IN :ids AND d.state <> :state ORDER BY d.id",
+                    DeviceStateChange.class)
+                .setParameter("ids", chunk)
+                .setParameter("state", state)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+
+            if (!toChange.isEmpty()) {
+                entityManager.createQuery(
+                        "UPDATE DeviceEntity d SET d.state = :state, d.version = d.version + 1, "
+                            + "d.lastModified = :now WHERE d.id IN :ids")
+                    .setParameter("state", state)
+                    .setParameter("now", LocalDateTime.now())
+                    .setParameter("ids", toChange.stream().map(DeviceStateChange::id).toList())
+                    .executeUpdate();
+                changed.addAll(toChange);
+            }
+        }
+
+        if (!changed.isEmpty()) {
+            // Bulk updates bypass the persistence context; drop entities that may now be stale.
+            // Pending changes were already flushed by Hibernate before the UPDATE ran.
+            entityManager.clear();
+        }
+        return changed;
+    }
+
+    @Override
+    public List<Long> findIdsToChange(DeviceCriteria criteria, DeviceState state, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<DeviceEntity> device = query.from(DeviceEntity.class);
+
+        List<Predicate> predicates = predicates(cb, device, criteria, null);
+        predicates.add(cb.notEqual(device.get("state"), state));
+        query.select(device.get("id"))
+            .where(predicates.toArray(Predicate[]::new))
+            .orderBy(cb.asc(device.get("id")));
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public DeleteOutcome deleteIfDeletable(Long id, Long expectedVersion) {
+        if (!"postgresql".equals(dbKind)) {
+            // No DELETE ... RETURNING here: read the row locked, so it is deleted as it was read
+            List<Object[]> rows = probe(id).setLockMode(LockModeType.PESSIMISTIC_WRITE).getResultList();
+            DeleteOutcome refusal = refusal(rows, expectedVersion);
+            if (refusal != null) {
+                return refusal;
+            }
+            entityManager.createQuery("DELETE FROM DeviceEntity d WHERE d.id = :id")
+                .setParameter("id", id)
+                .executeUpdate();
+            return DeleteOutcome.deleted((String) rows.get(0)[0], (DeviceState) rows.get(0)[1]);
+        }
+
+        // One statement in the common case, returning the brand and state the device had
+        String versionCondition = expectedVersion != null ? " AND version = :version" : "";
+        Query delete = entityManager.createNativeQuery(
+                "DELETE FROM devices WHERE id = :id AND state <> :inUse" + versionCondition + " RETURNING brand, state")
+            .setParameter("id", id)
+            .setParameter("inUse", DeviceState.IN_USE.name());
+        if (expectedVersion != null) {
+            delete.setParameter("version", expectedVersion);
+        }
+        @SuppressWarnings("unchecked")
+        List<Object[]> deleted = delete.getResultList();
+        if (!deleted.isEmpty()) {
+            return DeleteOutcome.deleted((String) deleted.get(0)[0], DeviceState.valueOf((String) deleted.get(0)[1]));
         }
+
+        DeleteOutcome refusal = refusal(probe(id).getResultList(), expectedVersion);
+        // Deletable again by now: it was in use when the DELETE ran
+        return refusal != null ? refusal : DeleteOutcome.IN_USE;
+    }
+
+    private TypedQuery<Object[]> probe(Long id) {
+        return entityManager.createQuery(
+                "SELECT d.brand, d.state, d.version FROM DeviceEntity d WHERE d.id = :id", Object[].class)
+            .setParameter("id", id);
     }
 
+    /**
+     * Why the probed device cannot be deleted, null when it can.
+     */
+    private static DeleteOutcome refusal(List<Object[]> rows, Long expectedVersion) {
+        if (rows.isEmpty()) {
+            return DeleteOutcome.NOT_FOUND;
+        }
+        // A failed precondition takes priority over the in-use rule, as in HTTP conditional requests
+        if (expectedVersion != null && !expectedVersion.equals(rows.get(0)[2])) {
+            return DeleteOutcome.VERSION_MISMATCH;
+        }
+        if (rows.get(0)[1] == DeviceState.IN_USE) {
+            return DeleteOutcome.IN_USE;
+        }
+        return null;
+    }
+
+    private EntityManager readEntityManager() {
+        return ReadOnlyTransactionInterceptor.readEntityManager(entityManager, replicaEntityManager);
+    }
+
+    static List<Predicate> predicates(CriteriaBuilder cb, Root<DeviceEntity> device,
+                                              DeviceCriteria criteria, Long afterId) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (criteria.brand() != null) {
+            predicates.add(cb.equal(device.get("brand"), criteria.brand()));
+        }
+        if (criteria.state() != null) {
+            predicates.add(cb.equal(device.get("state"), criteria.state()));
+        }
+        if (criteria.createdFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(device.get("creationTime"), criteria.createdFrom()));
+        }
+        if (criteria.createdTo() != null) {
+            predicates.add(cb.lessThan(device.get("creationTime"), criteria.createdTo()));
+        }
+        if (criteria.namePrefix() != null) {
+            predicates.add(cb.like(device.get("name"), escapeLike(criteria.namePrefix()) + "%", LIKE_ESCAPE));
+        }
+        if (afterId != null) {
+            predicates.add(cb.greaterThan(device.get("id"), afterId));
+        }
+        return predicates;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+            .replace("%", "\\%")
+            .replace("_", "\\_");
+    }
 }
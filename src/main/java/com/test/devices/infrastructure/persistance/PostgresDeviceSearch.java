@@ -0,0 +1,71 @@
+package com.test.devices.infrastructure.persistance;
+
+import com.test.devices.application.metrics.Measured;
+import com.test.devices.application.query.DeviceSearch;
+import com.test.devices.domain.model.Device;
+import com.test.devices.infrastructure.search.SearchTerms;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.quarkus.hibernate.orm.PersistenceUnit;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Full-text search in PostgreSQL: the query words become prefix lexemes of a {@code tsquery}
+ * matched against the stored {@code search_vector} column through its GIN index
+ * {@code idx_devices_search_vector} (both created by {@code search-postgresql.sql}). The column
+ * weights name words above brand words, so every match is ranked from the stored vector without
+ * re-parsing its name and brand, and only the best {@code offset + limit} are kept while sorting.
+ * The database keeps the column and the index current, so there is nothing to do on writes.
+ * Enabled with {@code devices.search.engine=postgres}.
+ */
+@ApplicationScoped
+@IfBuildProperty(name = "devices.search.engine", stringValue = "postgres")
+@Measured("devices.repository")
+@SlowQueryMonitored
+public class PostgresDeviceSearch implements DeviceSearch {
+
+    private static final String SEARCH = """
+        SELECT d.id FROM devices d, to_tsquery('simple', :query) q
+        WHERE d.search_vector @@ q
+        ORDER BY ts_rank(d.search_vector, q) DESC, d.id
+        OFFSET :offset LIMIT :limit
+        """;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Inject
+    @PersistenceUnit("replica")
+    EntityManager replicaEntityManager;
+
+    @Override
+    public List<Long> search(String text, int offset, int limit) {
+        List<String> terms = SearchTerms.of(text);
+        if (terms.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        // Words hold only letters and digits, so they need no tsquery escaping
+        String query = terms.stream().map(term -> term + ":*").collect(Collectors.joining(" & "));
+
+        List<?> ids = ReadOnlyTransactionInterceptor.readEntityManager(entityManager, replicaEntityManager)
+            .createNativeQuery(SEARCH, Long.class)
+            .setParameter("query", query)
+            .setParameter("offset", offset)
+            .setParameter("limit", limit)
+            .getResultList();
+        return ids.stream().map(id -> ((Number) id).longValue()).toList();
+    }
+
+    @Override
+    public void index(Device device) {
+    }
+
+    @Override
+    public void remove(Long id) {
+    }
+}
@@ -0,0 +1,77 @@
+package com.test.devices.infrastructure.persistance;
+
+import com.test.devices.application.transaction.ReadOnly;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Status;
+import jakarta.transaction.TransactionManager;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+
+/**
+ * Picks the datasource for a {@link ReadOnly} call before {@code @Transactional} starts its
+ * transaction. A call joining a transaction that is already running (a write) is left alone, so
+ * it sees that transaction's changes and does not turn its entities read-only.
+ */
+@ReadOnly
+@Interceptor
+@Priority(Interceptor.Priority.PLATFORM_BEFORE + 150)
+public class ReadOnlyTransactionInterceptor {
+
+    private static final ThreadLocal<ReadRoute> CURRENT = new ThreadLocal<>();
+
+    @Inject
+    TransactionManager transactionManager;
+
+    @Inject
+    ReplicaRouter replicaRouter;
+
+    /**
+     * The entity manager for queries. Inside a read-only transaction it is the one of the routed
+     * datasource, switched to read-only on first use: loaded entities get no snapshot and are never
+     * flushed, and replica connections are marked read-only for the driver.
+     */
+    static EntityManager readEntityManager(EntityManager primary, EntityManager replica) {
+        ReadRoute route = CURRENT.get();
+        if (route == null) {
+            return primary;
+        }
+        EntityManager routed = route == ReadRoute.REPLICA ? replica : primary;
+        Session session = routed.unwrap(Session.class);
+        if (!session.isDefaultReadOnly()) {
+            session.setDefaultReadOnly(true);
+            session.setHibernateFlushMode(FlushMode.MANUAL);
+            if (route == ReadRoute.REPLICA) {
+                // Before the first statement, as drivers refuse the change mid-transaction. Primary
+                // connections are shared with writers, so they keep the default
+                session.doWork(connection -> connection.setReadOnly(true));
+            }
+        }
+        return routed;
+    }
+
+    /**
+     * Whether the current call reads from the replica, whose rows may predate writes already
+     * committed on the primary.
+     */
+    public static boolean readsFromReplica() {
+        return CURRENT.get() == ReadRoute.REPLICA;
+    }
+
+    @AroundInvoke
+    Object route(InvocationContext context) throws Exception {
+        if (CURRENT.get() != null || transactionManager.getStatus() != Status.STATUS_NO_TRANSACTION) {
+            return context.proceed();
+        }
+        CURRENT.set(replicaRouter.useReplica() ? ReadRoute.REPLICA : ReadRoute.PRIMARY);
+        try {
+            return context.proceed();
+        } finally {
+            CURRENT.remove();
+        }
+    }
+}
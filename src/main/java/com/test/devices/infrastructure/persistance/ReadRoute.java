@@ -0,0 +1,9 @@
+package com.test.devices.infrastructure.persistance;
+
+/**
+ * Datasource the queries of a read-only transaction run on.
+ */
+public enum ReadRoute {
+    PRIMARY,
+    REPLICA
+}
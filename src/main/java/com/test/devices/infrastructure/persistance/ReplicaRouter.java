@@ -0,0 +1,94 @@
+package com.test.devices.infrastructure.persistance;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.agroal.DataSource;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Decides whether read-only transactions may use the {@code replica} datasource. The replica's
+ * replay lag is checked every {@code devices.replica.lag-check-interval}; reads fall back to the
+ * primary while it exceeds {@code devices.replica.max-lag} or the replica cannot be reached, and
+ * until the first check succeeds.
+ */
+@ApplicationScoped
+public class ReplicaRouter {
+
+    private static final Logger LOG = Logger.getLogger(ReplicaRouter.class);
+
+    // Zero while the replica has replayed everything it received, so an idle primary is not mistaken for lag
+    static final String POSTGRES_LAG_QUERY = "SELECT CASE "
+            + "WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+    static final String REACHABLE_QUERY = "SELECT 0";
+
+    @ConfigProperty(name = "devices.replica.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "devices.replica.max-lag", defaultValue = "PT1S")
+    Duration maxLag;
+
+    @ConfigProperty(name = "quarkus.datasource.\"replica\".db-kind")
+    String dbKind;
+
+    @Inject
+    @DataSource("replica")
+    AgroalDataSource replica;
+
+    private volatile boolean usable;
+    private volatile long lagMillis = -1;
+
+    public boolean useReplica() {
+        return enabled && usable;
+    }
+
+    /**
+     * Last measured replay lag in milliseconds, or -1 when the replica could not be reached.
+     */
+    public long lagMillis() {
+        return lagMillis;
+    }
+
+    @Scheduled(every = "${devices.replica.lag-check-interval:5s}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    public void checkLag() {
+        if (!enabled) {
+            return;
+        }
+        boolean wasUsable = usable;
+        try {
+            lagMillis = measureLag();
+            usable = lagMillis <= maxLag.toMillis();
+        } catch (SQLException e) {
+            LOG.debugf(e, "Could not measure the replica lag");
+            lagMillis = -1;
+            usable = false;
+        }
+        if (wasUsable != usable) {
+            if (usable) {
+                LOG.infof("Routing reads to the replica (lag %d ms)", lagMillis);
+            } else {
+                LOG.warnf("Routing reads to the primary: replica lag %d ms exceeds %d ms or replica unreachable",
+                        lagMillis, maxLag.toMillis());
+            }
+        }
+    }
+
+    private long measureLag() throws SQLException {
+        String query = "postgresql".equals(dbKind) ? POSTGRES_LAG_QUERY : REACHABLE_QUERY;
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(query)) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+}
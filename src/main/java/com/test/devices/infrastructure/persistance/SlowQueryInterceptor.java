@@ -0,0 +1,41 @@
+package com.test.devices.infrastructure.persistance;
+
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+
+import java.util.List;
+
+/**
+ * Times each repository call and records the SQL it ran, so calls over the threshold reach the
+ * {@link SlowQueryLog} with their statements.
+ */
+@SlowQueryMonitored
+@Interceptor
+@Priority(Interceptor.Priority.PLATFORM_BEFORE + 200)
+public class SlowQueryInterceptor {
+
+    @Inject
+    SlowQueryLog slowQueryLog;
+
+    @AroundInvoke
+    Object monitor(InvocationContext context) throws Exception {
+        if (!slowQueryLog.isEnabled()) {
+            return context.proceed();
+        }
+        List<String> previous = StatementRecorder.start();
+        long start = System.nanoTime();
+        try {
+            return context.proceed();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            List<String> statements = StatementRecorder.stop(previous);
+            if (slowQueryLog.isSlow(elapsed)) {
+                String operation = context.getMethod().getDeclaringClass().getSimpleName() + "." + context.getMethod().getName();
+                slowQueryLog.record(operation, elapsed, statements);
+            }
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.test.devices.infrastructure.persistance;
+
+import com.test.devices.application.dto.SlowQueryResponse;
+import com.test.devices.application.dto.SlowQueryStatementResponse;
+import io.agroal.api.AgroalDataSource;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregates repository calls slower than {@code devices.slow-query.threshold} by operation.
+ * On PostgreSQL the plan of each SELECT they ran is captured once, in the background, with
+ * {@code EXPLAIN (GENERIC_PLAN)}; other databases get no plans.
+ */
+@ApplicationScoped
+public class SlowQueryLog {
+
+    private static final Logger LOG = Logger.getLogger(SlowQueryLog.class);
+
+    // Bounds memory when statements vary, e.g. IN lists of different lengths
+    static final int MAX_PLANS = 1000;
+
+    @ConfigProperty(name = "devices.slow-query.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "devices.slow-query.threshold", defaultValue = "PT0.2S")
+    Duration threshold;
+
+    @ConfigProperty(name = "quarkus.datasource.db-kind")
+    String dbKind;
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, String> plans = new ConcurrentHashMap<>();
+    private ExecutorService planner;
+
+    @PostConstruct
+    void init() {
+        if (capturesPlans()) {
+            planner = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "devices-slow-query-plan");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (planner != null) {
+            planner.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isSlow(long durationNanos) {
+        return durationNanos >= threshold.toNanos();
+    }
+
+    public void record(String operation, long durationNanos, List<String> statements) {
+        LOG.warnf("Slow repository call %s took %d ms: %s",
+                operation, TimeUnit.NANOSECONDS.toMillis(durationNanos), statements);
+        entries.computeIfAbsent(operation, Entry::new).record(durationNanos, statements);
+        if (planner != null) {
+            statements.stream().filter(SlowQueryLog::isSelect).forEach(this::capturePlan);
+        }
+    }
+
+    /**
+     * Slow operations by total time spent in slow calls, worst first.
+     */
+    public List<SlowQueryResponse> top(int limit) {
+        return entries.values().stream()
+                .map(Entry::toResponse)
+                .sorted(Comparator.comparingLong(SlowQueryResponse::totalMillis).reversed()
+                        .thenComparing(SlowQueryResponse::operation))
+                .limit(limit)
+                .toList();
+    }
+
+    public void clear() {
+        entries.clear();
+        plans.clear();
+    }
+
+    private boolean capturesPlans() {
+        return enabled && "postgresql".equals(dbKind);
+    }
+
+    private void capturePlan(String sql) {
+        if (plans.containsKey(sql) || plans.size() >= MAX_PLANS) {
+            return;
+        }
+        try {
+            planner.execute(() -> {
+                if (!plans.containsKey(sql)) {
+                    plans.put(sql, explain(sql));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+        }
+    }
+
+    private String explain(String sql) {
+        // Runs on a connection of its own, outside the caller's transaction
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(explainStatement(sql))) {
+            StringJoiner plan = new StringJoiner("\n");
+            while (rows.next()) {
+                plan.add(rows.getString(1));
+            }
+            return plan.toString();
+        } catch (SQLException e) {
+            LOG.debugf(e, "Could not capture the plan of %s", sql);
+            return "Plan unavailable: " + e.getMessage();
+        }
+    }
+
+    /**
+     * GENERIC_PLAN (PostgreSQL 16+) plans the statement with its parameters unbound, so the call's
+     * values are not needed and nothing is executed again. JDBC {@code ?} markers become {@code $n}.
+     */
+    static String explainStatement(String sql) {
+        StringBuilder explain = new StringBuilder("EXPLAIN (GENERIC_PLAN) ");
+        int parameter = 0;
+        boolean quoted = false;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            }
+            if (c == '?' && !quoted) {
+                explain.append('$').append(++parameter);
+            } else {
+                explain.append(c);
+            }
+        }
+        return explain.toString();
+    }
+
+    static boolean isSelect(String sql) {
+        return sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select");
+    }
+
+    private final class Entry {
+
+        private final String operation;
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+        private LocalDateTime lastSeen;
+        private List<String> slowestStatements = List.of();
+
+        Entry(String operation) {
+            this.operation = operation;
+        }
+
+        synchronized void record(long durationNanos, List<String> statements) {
+            count++;
+            totalNanos += durationNanos;
+            lastSeen = LocalDateTime.now();
+            if (durationNanos >= maxNanos) {
+                maxNanos = durationNanos;
+                slowestStatements = List.copyOf(statements);
+            }
+        }
+
+        synchronized SlowQueryResponse toResponse() {
+            return new SlowQueryResponse(
+                    operation,
+                    count,
+                    TimeUnit.NANOSECONDS.toMillis(totalNanos),
+                    TimeUnit.NANOSECONDS.toMillis(maxNanos),
+                    lastSeen,
+                    slowestStatements.stream()
+                            .map(sql -> new SlowQueryStatementResponse(sql, plans.get(sql)))
+                            .toList());
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.test.devices.infrastructure.persistance;
+
+import jakarta.interceptor.InterceptorBinding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Reports calls to the annotated repository that take longer than {@code devices.slow-query.threshold}
+ * to the {@link SlowQueryLog}, together with the SQL they ran.
+ */
+@InterceptorBinding
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SlowQueryMonitored {
+}
@@ -0,0 +1,55 @@
+package com.test.devices.infrastructure.persistance;
+
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the SQL Hibernate prepares on the current thread while a recording is open.
+ * Statements outside a recording pass through untouched.
+ */
+@PersistenceUnitExtension
+@ApplicationScoped
+public class StatementRecorder implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> RECORDING = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = RECORDING.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Starts recording on this thread and returns the recording it replaces, to be handed back
+     * to {@link #stop(List)} so nested recordings restore the outer one.
+     */
+    static List<String> start() {
+        List<String> previous = RECORDING.get();
+        RECORDING.set(new ArrayList<>());
+        return previous;
+    }
+
+    static List<String> stop(List<String> previous) {
+        List<String> statements = RECORDING.get();
+        if (previous == null) {
+            RECORDING.remove();
+        } else {
+            previous.addAll(statements);
+            RECORDING.set(previous);
+        }
+        return statements;
+    }
+
+    // The same recorder for the replica persistence unit; ArC does not match a repeated qualifier
+    @PersistenceUnitExtension("replica")
+    @ApplicationScoped
+    public static class Replica extends StatementRecorder {
+    }
+}
@@ -0,0 +1,596 @@
+package com.test.devices.infrastructure.registry;
+
+import com.test.devices.application.dto.DeviceResponse;
+import com.test.devices.application.query.DeviceQueries;
+import com.test.devices.application.query.DeviceRegistry;
+import com.test.devices.domain.model.DeviceState;
+import com.test.devices.domain.repository.DeviceCriteria;
+import com.test.devices.domain.repository.DeviceVersion;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.locks.StampedLock;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Device registry kept outside the Java heap, so millions of devices leave the garbage collector
+ * nothing to trace. Devices are fixed-size slots of an open-addressing hash table keyed by id,
+ * spread over direct buffers; names are UTF-8 bytes in an append-only arena and brands are
+ * interned into small ids. Lookups take no lock: they read optimistically and retry under the
+ * read lock only when a write got in between. The registry is loaded from the database at
+ * startup and kept current by the write use cases. Enabled with {@code devices.registry.enabled}.
+ *
+ * <p>Removed devices stay behind as tombstones, so a write committed before the removal but
+ * applied after it is ignored. Each transaction queuing changes takes the next generation, and a
+ * tombstone is only dropped once every transaction of its generation or older has been applied.
+ */
+@ApplicationScoped
+public class OffHeapDeviceRegistry implements DeviceRegistry {
+
+    private static final Logger logger = Logger.getLogger(OffHeapDeviceRegistry.class);
+
+    private static final Object PENDING_KEY = new Object();
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    // Slot layout; an id of 0 marks a free slot and times are nanoseconds since the epoch in UTC
+    private static final int ID = 0;
+    private static final int VERSION = 8;
+    private static final int CREATION_TIME = 16;
+    private static final int LAST_MODIFIED = 24;
+    private static final int NAME_OFFSET = 32;
+    private static final int NAME_LENGTH = 40;
+    private static final int BRAND = 44;
+    private static final int STATE = 48;
+    private static final int SLOT_SIZE = 56;
+
+    private static final int SEGMENT_SLOTS_SHIFT = 20;
+    private static final int ARENA_SEGMENT_SHIFT = 24;
+    private static final int ARENA_SEGMENT_SIZE = 1 << ARENA_SEGMENT_SHIFT;
+    private static final int MIN_CAPACITY = 16;
+
+    // Version of a removed device: above any write for it that may still be on its way. Its last
+    // modified field holds the generation of the removal instead
+    private static final long REMOVED = Long.MAX_VALUE;
+    // Version of a slot claimed for a device that is not written yet
+    private static final long UNWRITTEN = -1;
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final DeviceState[] STATES = DeviceState.values();
+
+    @ConfigProperty(name = "devices.registry.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "devices.registry.initial-capacity", defaultValue = "65536")
+    int initialCapacity;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    @Inject
+    DeviceQueries deviceQueries;
+
+    private final StampedLock lock = new StampedLock();
+    private final Map<String, Integer> brandIds = new HashMap<>();
+    // Replaced and written under the write lock, read optimistically
+    private Table table;
+    private String[] brands = new String[16];
+    private boolean loading;
+    // Generations of the transactions whose changes are not applied yet; guards generation too
+    private final TreeSet<Long> pendingGenerations = new TreeSet<>();
+    private long generation;
+
+    private record PendingChange(Long id, DeviceResponse device) {
+    }
+
+    @FunctionalInterface
+    private interface SlotReader<T> {
+        T read(Table table, String[] brands, int slot);
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        if (enabled) {
+            load();
+        }
+    }
+
+    /**
+     * Loads every device from the database, one page per transaction. Writes committing meanwhile
+     * are applied as usual, and their versions keep a page read before them from undoing them.
+     */
+    public void load() {
+        setLoading(true);
+        int loaded = 0;
+        try {
+            Long afterId = null;
+            while (true) {
+                Long from = afterId;
+                List<DeviceResponse> page = QuarkusTransaction.requiringNew()
+                    .call(() -> deviceQueries.findPage(DeviceCriteria.none(), from, LOAD_BATCH_SIZE));
+                apply(page.stream().map(device -> new PendingChange(device.id(), device)).toList());
+                loaded += page.size();
+                if (page.size() < LOAD_BATCH_SIZE) {
+                    break;
+                }
+                afterId = page.get(page.size() - 1).id();
+            }
+        } finally {
+            setLoading(false);
+        }
+        logger.infof("Device registry loaded with %d devices in %d MB off the heap", loaded, offHeapBytes() >> 20);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public Optional<DeviceResponse> find(Long id) {
+        return id != null ? Optional.ofNullable(read(id, OffHeapDeviceRegistry::response)) : Optional.empty();
+    }
+
+    @Override
+    public Optional<DeviceVersion> findVersion(Long id) {
+        return id != null ? Optional.ofNullable(read(id, OffHeapDeviceRegistry::version)) : Optional.empty();
+    }
+
+    /**
+     * State of a registered device, null when it is not registered. Allocates nothing, for
+     * callers in the same process that only need the state.
+     */
+    public DeviceState state(long id) {
+        return read(id, (table, brands, slot) -> STATES[table.getByte(slot, STATE)]);
+    }
+
+    @Override
+    public void put(DeviceResponse device) {
+        if (enabled) {
+            enqueue(new PendingChange(device.id(), device));
+        }
+    }
+
+    @Override
+    public void remove(Long id) {
+        if (enabled) {
+            enqueue(new PendingChange(id, null));
+        }
+    }
+
+    /**
+     * Number of registered devices.
+     */
+    public long size() {
+        long stamp = lock.readLock();
+        try {
+            return table != null ? table.live : 0;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Direct memory held by the slot table and the name arena.
+     */
+    public long offHeapBytes() {
+        long stamp = lock.readLock();
+        try {
+            return table != null ? (long) table.capacity * SLOT_SIZE + (long) table.arena.length * ARENA_SEGMENT_SIZE : 0;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private <T> T read(long id, SlotReader<T> reader) {
+        if (!enabled) {
+            return null;
+        }
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                T value = lookup(id, reader);
+                if (lock.validate(stamp)) {
+                    return value;
+                }
+            } catch (RuntimeException e) {
+                // Fields torn by a concurrent write; read again under the lock
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return lookup(id, reader);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private <T> T lookup(long id, SlotReader<T> reader) {
+        Table current = table;
+        if (current == null) {
+            return null;
+        }
+        int slot = current.locate(id);
+        if (slot < 0 || current.getLong(slot, VERSION) == REMOVED) {
+            return null;
+        }
+        return reader.read(current, brands, slot);
+    }
+
+    private static DeviceResponse response(Table table, String[] brands, int slot) {
+        return new DeviceResponse(
+            table.getLong(slot, ID),
+            new String(table.name(slot), UTF_8),
+            brands[table.getInt(slot, BRAND)],
+            STATES[table.getByte(slot, STATE)],
+            time(table.getLong(slot, CREATION_TIME)),
+            table.getLong(slot, VERSION),
+            time(table.getLong(slot, LAST_MODIFIED)));
+    }
+
+    private static DeviceVersion version(Table table, String[] brands, int slot) {
+        return new DeviceVersion(table.getLong(slot, ID), table.getLong(slot, VERSION), time(table.getLong(slot, LAST_MODIFIED)));
+    }
+
+    /**
+     * Inside a transaction, changes are held back and applied once it commits, so a rolled back
+     * write never reaches the registry. Changes made in a transaction already marked for rollback
+     * are dropped.
+     */
+    private void enqueue(PendingChange change) {
+        int status = transactionRegistry != null ? transactionRegistry.getTransactionStatus() : Status.STATUS_NO_TRANSACTION;
+        if (status == Status.STATUS_NO_TRANSACTION || status == Status.STATUS_COMMITTED) {
+            apply(List.of(change));
+            return;
+        }
+        if (status != Status.STATUS_ACTIVE) {
+            // Marked for rollback or already completing: the change may never commit
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<PendingChange> pending = (List<PendingChange>) transactionRegistry.getResource(PENDING_KEY);
+        if (pending == null) {
+            List<PendingChange> transactionChanges = new ArrayList<>();
+            long transactionGeneration = beginGeneration();
+            transactionRegistry.putResource(PENDING_KEY, transactionChanges);
+            transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    try {
+                        if (status == Status.STATUS_COMMITTED) {
+                            apply(transactionChanges);
+                        }
+                    } finally {
+                        endGeneration(transactionGeneration);
+                    }
+                }
+            });
+            pending = transactionChanges;
+        }
+        pending.add(change);
+    }
+
+    private void apply(List<PendingChange> changes) {
+        long stamp = lock.writeLock();
+        try {
+            if (table == null) {
+                table = new Table(capacityFor(initialCapacity));
+            }
+            for (PendingChange change : changes) {
+                if (change.device() != null) {
+                    store(change.device());
+                } else {
+                    markRemoved(change.id());
+                }
+            }
+            Table current = table;
+            long wasted = current.arenaEnd - current.liveNameBytes;
+            if (wasted > ARENA_SEGMENT_SIZE && wasted > current.liveNameBytes) {
+                rebuild();
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private long beginGeneration() {
+        synchronized (pendingGenerations) {
+            pendingGenerations.add(++generation);
+            return generation;
+        }
+    }
+
+    private void endGeneration(long transactionGeneration) {
+        synchronized (pendingGenerations) {
+            pendingGenerations.remove(transactionGeneration);
+        }
+    }
+
+    private void setLoading(boolean loading) {
+        long stamp = lock.writeLock();
+        try {
+            this.loading = loading;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private void store(DeviceResponse device) {
+        int slot = slotFor(device.id());
+        Table current = table;
+        long registered = current.getLong(slot, VERSION);
+        if (device.version() <= registered) {
+            return;
+        }
+
+        byte[] name = device.name().getBytes(UTF_8);
+        if (registered == UNWRITTEN) {
+            current.live++;
+            current.liveNameBytes += name.length;
+            writeName(current, slot, name);
+        } else if (!Arrays.equals(current.name(slot), name)) {
+            current.liveNameBytes += name.length - current.getInt(slot, NAME_LENGTH);
+            writeName(current, slot, name);
+        }
+        current.putInt(slot, BRAND, brandId(device.brand()));
+        current.putByte(slot, STATE, (byte) device.state().ordinal());
+        current.putLong(slot, CREATION_TIME, nanos(device.creationTime()));
+        current.putLong(slot, LAST_MODIFIED, nanos(device.lastModified()));
+        current.putLong(slot, VERSION, device.version());
+    }
+
+    private void markRemoved(long id) {
+        // A removal arriving first still claims a slot, so the write it overtook is ignored
+        int slot = slotFor(id);
+        Table current = table;
+        long registered = current.getLong(slot, VERSION);
+        if (registered == REMOVED) {
+            return;
+        }
+        if (registered != UNWRITTEN) {
+            current.live--;
+            current.liveNameBytes -= current.getInt(slot, NAME_LENGTH);
+        }
+        current.putLong(slot, VERSION, REMOVED);
+        synchronized (pendingGenerations) {
+            current.putLong(slot, LAST_MODIFIED, generation);
+        }
+    }
+
+    // Slot of the device, claiming a free one at version UNWRITTEN when it is not registered
+    private int slotFor(long id) {
+        int slot = table.locate(id);
+        if (slot >= 0) {
+            return slot;
+        }
+        if (table.used + 1 > table.capacity / 4 * 3) {
+            rebuild();
+            slot = table.locate(id);
+        }
+        slot = -(slot + 1);
+        table.putLong(slot, VERSION, UNWRITTEN);
+        table.putLong(slot, ID, id);
+        table.used++;
+        return slot;
+    }
+
+    private static void writeName(Table table, int slot, byte[] name) {
+        table.putLong(slot, NAME_OFFSET, table.appendName(name));
+        table.putInt(slot, NAME_LENGTH, name.length);
+    }
+
+    /**
+     * Copies the devices into a new table with room for twice their number, leaving behind the
+     * arena bytes of old names and the tombstones no pending write can be older than.
+     */
+    private void rebuild() {
+        Table previous = table;
+        long oldestPending;
+        synchronized (pendingGenerations) {
+            oldestPending = pendingGenerations.isEmpty() ? Long.MAX_VALUE : pendingGenerations.first();
+        }
+        int kept = 0;
+        for (int slot = 0; slot < previous.capacity; slot++) {
+            if (keeps(previous, slot, oldestPending)) {
+                kept++;
+            }
+        }
+        Table next = new Table(capacityFor(Math.max(initialCapacity, kept * 2)));
+        for (int slot = 0; slot < previous.capacity; slot++) {
+            if (!keeps(previous, slot, oldestPending)) {
+                continue;
+            }
+            long id = previous.getLong(slot, ID);
+            long version = previous.getLong(slot, VERSION);
+            int target = -(next.locate(id) + 1);
+            next.copySlot(previous, slot, target);
+            next.used++;
+            if (version != REMOVED && version != UNWRITTEN) {
+                byte[] name = previous.name(slot);
+                writeName(next, target, name);
+                next.live++;
+                next.liveNameBytes += name.length;
+            }
+        }
+        table = next;
+    }
+
+    private boolean keeps(Table table, int slot, long oldestPending) {
+        if (table.getLong(slot, ID) == 0) {
+            return false;
+        }
+        if (table.getLong(slot, VERSION) != REMOVED) {
+            return true;
+        }
+        // Pages being loaded may have been read before any removal
+        return loading || table.getLong(slot, LAST_MODIFIED) >= oldestPending;
+    }
+
+    private int brandId(String brand) {
+        Integer id = brandIds.get(brand);
+        if (id != null) {
+            return id;
+        }
+        int next = brandIds.size();
+        if (next == brands.length) {
+            brands = Arrays.copyOf(brands, next * 2);
+        }
+        brands[next] = brand;
+        brandIds.put(brand, next);
+        return next;
+    }
+
+    private static int capacityFor(int devices) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < devices) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    // Valid until the year 2262
+    private static long nanos(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * NANOS_PER_SECOND + time.getNano();
+    }
+
+    private static LocalDateTime time(long nanos) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, NANOS_PER_SECOND),
+            (int) Math.floorMod(nanos, NANOS_PER_SECOND), ZoneOffset.UTC);
+    }
+
+    /**
+     * One generation of the slot table and name arena, replaced as a whole when it grows or is
+     * compacted.
+     */
+    private static final class Table {
+
+        final int capacity;
+        final int mask;
+        final ByteBuffer[] slots;
+        ByteBuffer[] arena = new ByteBuffer[0];
+        long arenaEnd;
+        // Slots taken, including removed devices
+        int used;
+        int live;
+        long liveNameBytes;
+
+        Table(int capacity) {
+            this.capacity = capacity;
+            this.mask = capacity - 1;
+            int segmentSlots = Math.min(capacity, 1 << SEGMENT_SLOTS_SHIFT);
+            this.slots = new ByteBuffer[capacity / segmentSlots];
+            for (int i = 0; i < slots.length; i++) {
+                slots[i] = ByteBuffer.allocateDirect(segmentSlots * SLOT_SIZE).order(ByteOrder.nativeOrder());
+            }
+        }
+
+        /**
+         * Slot holding {@code id}, or {@code -(slot + 1)} for the free slot where it belongs.
+         */
+        int locate(long id) {
+            int slot = (int) mix(id) & mask;
+            for (int probes = 0; probes < capacity; probes++) {
+                long key = getLong(slot, ID);
+                if (key == id) {
+                    return slot;
+                }
+                if (key == 0) {
+                    return -(slot + 1);
+                }
+                slot = (slot + 1) & mask;
+            }
+            throw new IllegalStateException("Device registry table is full");
+        }
+
+        long getLong(int slot, int field) {
+            return segment(slot).getLong(position(slot) + field);
+        }
+
+        int getInt(int slot, int field) {
+            return segment(slot).getInt(position(slot) + field);
+        }
+
+        byte getByte(int slot, int field) {
+            return segment(slot).get(position(slot) + field);
+        }
+
+        void putLong(int slot, int field, long value) {
+            segment(slot).putLong(position(slot) + field, value);
+        }
+
+        void putInt(int slot, int field, int value) {
+            segment(slot).putInt(position(slot) + field, value);
+        }
+
+        void putByte(int slot, int field, byte value) {
+            segment(slot).put(position(slot) + field, value);
+        }
+
+        void copySlot(Table source, int sourceSlot, int slot) {
+            segment(slot).put(position(slot), source.segment(sourceSlot), source.position(sourceSlot), SLOT_SIZE);
+        }
+
+        byte[] name(int slot) {
+            long offset = getLong(slot, NAME_OFFSET);
+            byte[] name = new byte[getInt(slot, NAME_LENGTH)];
+            arena[(int) (offset >>> ARENA_SEGMENT_SHIFT)].get((int) (offset & (ARENA_SEGMENT_SIZE - 1)), name);
+            return name;
+        }
+
+        // Names never span two arena segments
+        long appendName(byte[] name) {
+            long offset = arenaEnd;
+            if ((offset & (ARENA_SEGMENT_SIZE - 1)) + name.length > ARENA_SEGMENT_SIZE) {
+                offset = ((offset >>> ARENA_SEGMENT_SHIFT) + 1) << ARENA_SEGMENT_SHIFT;
+            }
+            int segment = (int) (offset >>> ARENA_SEGMENT_SHIFT);
+            if (segment == arena.length) {
+                arena = Arrays.copyOf(arena, segment + 1);
+                arena[segment] = ByteBuffer.allocateDirect(ARENA_SEGMENT_SIZE);
+            }
+            arena[segment].put((int) (offset & (ARENA_SEGMENT_SIZE - 1)), name);
+            arenaEnd = offset + name.length;
+            return offset;
+        }
+
+        private ByteBuffer segment(int slot) {
+            return slots[slot >>> SEGMENT_SLOTS_SHIFT];
+        }
+
+        private static int position(int slot) {
+            return (slot & ((1 << SEGMENT_SLOTS_SHIFT) - 1)) * SLOT_SIZE;
+        }
+
+        // Spreads sequential ids over the table (MurmurHash3 finalizer)
+        private static long mix(long id) {
+            long hash = id;
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            hash *= 0xc4ceb9fe1a85ec53L;
+            return hash ^ (hash >>> 33);
+        }
+    }
+}
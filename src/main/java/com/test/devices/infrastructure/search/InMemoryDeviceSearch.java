@@ -0,0 +1,572 @@
+package com.test.devices.infrastructure.search;
+
+import com.test.devices.application.dto.DeviceResponse;
+import com.test.devices.application.query.DeviceQueries;
+import com.test.devices.application.query.DeviceSearch;
+import com.test.devices.domain.model.Device;
+import com.test.devices.domain.repository.DeviceCriteria;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.jboss.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Inverted index held in memory, for databases without text search such as H2. Each word maps to
+ * the devices using it, ordered by id; a query walks the words starting with its most selective
+ * term, checks the other terms against each candidate's own words and stops reading a word's
+ * devices once none of the remaining ones can make it into the requested page. Postings hold each
+ * device's id and words inline, so the walk reads them in order instead of visiting every
+ * candidate's document. The index is rebuilt from the database at startup and kept current by the
+ * write use cases. Enabled with {@code devices.search.engine=memory}.
+ */
+@ApplicationScoped
+@IfBuildProperty(name = "devices.search.engine", stringValue = "memory")
+public class InMemoryDeviceSearch implements DeviceSearch {
+
+    private static final Logger logger = Logger.getLogger(InMemoryDeviceSearch.class);
+
+    private static final Object PENDING_KEY = new Object();
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    // Appended devices a search reads unordered before they are merged into the ordered run
+    private static final int MAX_RECENT = 256;
+
+    private static final int NAME_WORD = 4;
+    private static final int NAME_PREFIX = 2;
+    private static final int BRAND_WORD = 2;
+    private static final int BRAND_PREFIX = 1;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    @Inject
+    DeviceQueries deviceQueries;
+
+    private final Object lock = new Object();
+    private final ConcurrentSkipListMap<String, Postings> postings = new ConcurrentSkipListMap<>();
+    private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+    // Guarded by the lock
+    private final Map<Shape, Shape> shapes = new HashMap<>();
+
+    /**
+     * Words of indexed devices, name words first. Devices with the same name and brand share one
+     * shape, and its strings are the index's own keys, so a model name used across a fleet and a
+     * word shared by many devices (a brand, a model number) are each stored once.
+     */
+    private static final class Shape {
+
+        final String[] words;
+        final int inName;
+        final int hash;
+        // Devices indexed with this shape, changed under the index lock
+        int devices;
+
+        Shape(String[] words, int inName) {
+            this.words = words;
+            this.inName = inName;
+            this.hash = 31 * Arrays.hashCode(words) + inName;
+        }
+
+        int first(String term) {
+            for (int i = 0; i < words.length; i++) {
+                if (words[i].startsWith(term)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        int score(List<String> terms) {
+            int total = 0;
+            for (String term : terms) {
+                int best = 0;
+                for (int i = 0; i < words.length && best < NAME_WORD; i++) {
+                    if (words[i].startsWith(term)) {
+                        boolean whole = words[i].length() == term.length();
+                        int score = i < inName
+                            ? (whole ? NAME_WORD : NAME_PREFIX)
+                            : (whole ? BRAND_WORD : BRAND_PREFIX);
+                        best = Math.max(best, score);
+                    }
+                }
+                if (best == 0) {
+                    return 0;
+                }
+                total += best;
+            }
+            return total;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Shape shape && inName == shape.inName && Arrays.equals(words, shape.words);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * One indexed device. A rename indexes a new document and retires the old one, which postings
+     * skip until their next merge drops it.
+     */
+    private static final class Document {
+
+        final long id;
+        final Shape shape;
+        volatile boolean retired;
+
+        Document(long id, Shape shape) {
+            this.id = id;
+            this.shape = shape;
+        }
+    }
+
+    /**
+     * Postings entries as parallel arrays. A search reads the ids and shapes in order and only
+     * looks at a document to check it is still current once it makes it into the page.
+     */
+    private static final class Entries {
+
+        final long[] ids;
+        final Shape[] shapes;
+        final Document[] documents;
+
+        Entries(int capacity) {
+            ids = new long[capacity];
+            shapes = new Shape[capacity];
+            documents = new Document[capacity];
+        }
+
+        // Writes past the size of the published views, growing the arrays when they are full
+        Entries append(int size, Document document) {
+            Entries target = this;
+            if (size == ids.length) {
+                target = new Entries(Math.max(4, size * 2));
+                System.arraycopy(ids, 0, target.ids, 0, size);
+                System.arraycopy(shapes, 0, target.shapes, 0, size);
+                System.arraycopy(documents, 0, target.documents, 0, size);
+            }
+            target.ids[size] = document.id;
+            target.shapes[size] = document.shape;
+            target.documents[size] = document;
+            return target;
+        }
+    }
+
+    /**
+     * What one search worked out about the shapes it met, so devices sharing a name are scored
+     * once: the score of each shape, zero when it is not counted under the word being read. A
+     * shape is counted under the first of its words starting with the driving term only, so it is
+     * not ranked twice when several of its words share the prefix.
+     */
+    private static final class Scores {
+
+        private final String term;
+        private final List<String> terms;
+        private Shape[] shapes = new Shape[64];
+        private int[] firsts = new int[64];
+        private int[] scores = new int[64];
+        private int size;
+
+        Scores(String term, List<String> terms) {
+            this.term = term;
+            this.terms = terms;
+        }
+
+        int of(Shape shape, String word) {
+            int slot = slot(shapes, shape);
+            if (shapes[slot] == null) {
+                int first = shape.first(term);
+                shapes[slot] = shape;
+                firsts[slot] = first;
+                scores[slot] = first < 0 ? 0 : shape.score(terms);
+                if (++size * 2 > shapes.length) {
+                    grow();
+                    slot = slot(shapes, shape);
+                }
+            }
+            int first = firsts[slot];
+            return first >= 0 && shape.words[first].equals(word) ? scores[slot] : 0;
+        }
+
+        // Open addressing on the shape's own hash, compared by identity
+        private static int slot(Shape[] table, Shape shape) {
+            int mask = table.length - 1;
+            int slot = (shape.hash * 0x9E3779B9) >>> 16 & mask;
+            while (table[slot] != null && table[slot] != shape) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void grow() {
+            Shape[] oldShapes = shapes;
+            int[] oldFirsts = firsts;
+            int[] oldScores = scores;
+            shapes = new Shape[oldShapes.length * 2];
+            firsts = new int[shapes.length];
+            scores = new int[shapes.length];
+            for (int i = 0; i < oldShapes.length; i++) {
+                if (oldShapes[i] != null) {
+                    int slot = slot(shapes, oldShapes[i]);
+                    shapes[slot] = oldShapes[i];
+                    firsts[slot] = oldFirsts[i];
+                    scores[slot] = oldScores[i];
+                }
+            }
+        }
+    }
+
+    private record Hit(long id, int score) {
+
+        boolean outranks(Hit other) {
+            return score > other.score || (score == other.score && id < other.id);
+        }
+    }
+
+    private record PendingChange(Long id, String name, String brand) {
+    }
+
+    /**
+     * What a search reads of one word: devices ordered by id, then those appended out of order
+     * since the last merge. Views are never modified once published, except that appends write
+     * past the sizes of the views already handed out.
+     */
+    private record View(Entries sorted, int sortedSize, Entries recent, int recentSize) {
+
+        static View of(Entries sorted, int sortedSize) {
+            return new View(sorted, sortedSize, new Entries(4), 0);
+        }
+
+        int size() {
+            return sortedSize + recentSize;
+        }
+    }
+
+    /**
+     * Devices using one word, changed under the index lock. New devices usually have the highest
+     * id and extend the ordered run; the others wait in a short unordered tail until
+     * {@link #MAX_RECENT} of them are merged in. Retired documents stay listed until half the list
+     * is retired.
+     */
+    private static final class Postings {
+
+        final String word;
+        volatile View view = View.of(new Entries(0), 0);
+        private int retired;
+
+        Postings(String word) {
+            this.word = word;
+        }
+
+        void add(Document document) {
+            View current = view;
+            Entries sorted = current.sorted();
+            int sortedSize = current.sortedSize();
+            if (current.recentSize() == 0 && (sortedSize == 0 || sorted.ids[sortedSize - 1] < document.id)) {
+                view = new View(sorted.append(sortedSize, document), sortedSize + 1, current.recent(), 0);
+                return;
+            }
+            int recentSize = current.recentSize();
+            view = new View(sorted, sortedSize, current.recent().append(recentSize, document), recentSize + 1);
+            if (recentSize + 1 == MAX_RECENT) {
+                merge();
+            }
+        }
+
+        /**
+         * Counts one listed document as retired; returns false once no live one is left.
+         */
+        boolean retire() {
+            if (++retired * 2 > view.size()) {
+                merge();
+            }
+            return view.size() > 0;
+        }
+
+        // Linear in the list size: only the out of order documents need sorting
+        private void merge() {
+            View current = view;
+            Document[] recent = Arrays.copyOf(current.recent().documents, current.recentSize());
+            Arrays.sort(recent, Comparator.comparingLong(document -> document.id));
+
+            Entries sorted = current.sorted();
+            int sortedSize = current.sortedSize();
+            Entries merged = new Entries(sortedSize + recent.length);
+            int size = 0;
+            int i = 0;
+            int j = 0;
+            while (i < sortedSize || j < recent.length) {
+                Document next = j == recent.length || (i < sortedSize && sorted.ids[i] < recent[j].id)
+                    ? sorted.documents[i++]
+                    : recent[j++];
+                if (!next.retired) {
+                    merged.append(size++, next);
+                }
+            }
+            view = View.of(merged, size);
+            retired = 0;
+        }
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        rebuild();
+    }
+
+    /**
+     * Reloads the index from the database, one page of devices per transaction.
+     */
+    public void rebuild() {
+        synchronized (lock) {
+            postings.clear();
+            documents.clear();
+            shapes.clear();
+        }
+        Long afterId = null;
+        int indexed = 0;
+        while (true) {
+            Long from = afterId;
+            List<DeviceResponse> page = QuarkusTransaction.requiringNew()
+                .call(() -> deviceQueries.findPage(DeviceCriteria.none(), from, REBUILD_BATCH_SIZE));
+            apply(page.stream()
+                .map(device -> new PendingChange(device.id(), device.name(), device.brand()))
+                .toList());
+            indexed += page.size();
+            if (page.size() < REBUILD_BATCH_SIZE) {
+                break;
+            }
+            afterId = page.get(page.size() - 1).id();
+        }
+        logger.infof("Search index built with %d devices and %d words", indexed, postings.size());
+    }
+
+    @Override
+    public List<Long> search(String text, int offset, int limit) {
+        List<String> terms = SearchTerms.of(text);
+        if (terms.isEmpty() || limit < 1) {
+            return List.of();
+        }
+
+        int wanted = offset + limit;
+        String term = driving(terms, wanted);
+        // Head is the worst hit kept so far
+        PriorityQueue<Hit> best = new PriorityQueue<>(wanted + 1, (a, b) -> a.outranks(b) ? 1 : b.outranks(a) ? -1 : 0);
+        Scores scores = new Scores(term, terms);
+
+        for (Postings list : postings.subMap(term, term + Character.MAX_VALUE).values()) {
+            View view = list.view;
+            // The most any device of this word can score: the term matching a name word, and
+            // every other term matching a whole name word
+            int bound = (list.word.length() == term.length() ? NAME_WORD : NAME_PREFIX)
+                + NAME_WORD * (terms.size() - 1);
+
+            Entries sorted = view.sorted();
+            for (int i = 0; i < view.sortedSize(); i++) {
+                if (outOfReach(best, wanted, bound, sorted.ids[i])) {
+                    // So are all the following ones, with higher ids
+                    break;
+                }
+                offer(best, wanted, sorted, i, list.word, scores);
+            }
+            Entries recent = view.recent();
+            for (int i = 0; i < view.recentSize(); i++) {
+                if (!outOfReach(best, wanted, bound, recent.ids[i])) {
+                    offer(best, wanted, recent, i, list.word, scores);
+                }
+            }
+        }
+
+        List<Hit> ranked = new ArrayList<>(best);
+        ranked.sort((a, b) -> a.outranks(b) ? -1 : b.outranks(a) ? 1 : 0);
+        return ranked.stream()
+            .skip(offset)
+            .map(Hit::id)
+            .toList();
+    }
+
+    @Override
+    public void index(Device device) {
+        enqueue(new PendingChange(device.getId(), device.getName(), device.getBrand()));
+    }
+
+    @Override
+    public void remove(Long id) {
+        enqueue(new PendingChange(id, null, null));
+    }
+
+    /**
+     * Whether a device scoring at most {@code bound} can no longer make it into a full page.
+     */
+    private static boolean outOfReach(PriorityQueue<Hit> best, int wanted, int bound, long id) {
+        if (best.size() < wanted) {
+            return false;
+        }
+        Hit worst = best.peek();
+        return worst.score() > bound || (worst.score() == bound && id > worst.id());
+    }
+
+    /**
+     * Offers the device at {@code i} in the postings of {@code word} to the page.
+     */
+    private static void offer(PriorityQueue<Hit> best, int wanted, Entries entries, int i, String word,
+                              Scores scores) {
+        int score = scores.of(entries.shapes[i], word);
+        if (score == 0) {
+            return;
+        }
+        Hit hit = new Hit(entries.ids[i], score);
+        boolean full = best.size() == wanted;
+        if ((full && !hit.outranks(best.peek())) || entries.documents[i].retired) {
+            return;
+        }
+        if (full) {
+            best.poll();
+        }
+        best.add(hit);
+    }
+
+    /**
+     * The query term whose postings are the cheapest to read: the devices using it as a whole word
+     * when they alone can fill the page, as the search usually stops before reaching the lower
+     * ranked prefix matches; otherwise every device using a word starting with it.
+     */
+    private String driving(List<String> terms, int wanted) {
+        String driving = terms.get(0);
+        long cheapest = Long.MAX_VALUE;
+        for (String term : terms) {
+            Postings whole = postings.get(term);
+            long cost = whole != null ? whole.view.size() : 0;
+            if (cost < wanted) {
+                cost = 0;
+                for (Postings list : postings.subMap(term, term + Character.MAX_VALUE).values()) {
+                    cost += list.view.size();
+                    if (cost >= cheapest) {
+                        break;
+                    }
+                }
+            }
+            if (cost < cheapest) {
+                cheapest = cost;
+                driving = term;
+            }
+        }
+        return driving;
+    }
+
+    /**
+     * Inside a transaction, changes are held back and applied once it commits, so searches never
+     * return a device that was rolled back. Changes made in a transaction already marked for
+     * rollback are dropped.
+     */
+    private void enqueue(PendingChange change) {
+        int status = transactionRegistry != null ? transactionRegistry.getTransactionStatus() : Status.STATUS_NO_TRANSACTION;
+        if (status == Status.STATUS_NO_TRANSACTION || status == Status.STATUS_COMMITTED) {
+            apply(List.of(change));
+            return;
+        }
+        if (status != Status.STATUS_ACTIVE) {
+            // Marked for rollback or already completing: the change may never commit
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<PendingChange> pending = (List<PendingChange>) transactionRegistry.getResource(PENDING_KEY);
+        if (pending == null) {
+            List<PendingChange> transactionChanges = new ArrayList<>();
+            transactionRegistry.putResource(PENDING_KEY, transactionChanges);
+            transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == Status.STATUS_COMMITTED) {
+                        apply(transactionChanges);
+                    }
+                }
+            });
+            pending = transactionChanges;
+        }
+        pending.add(change);
+    }
+
+    private void apply(List<PendingChange> changes) {
+        synchronized (lock) {
+            for (PendingChange change : changes) {
+                Document previous = change.name() != null
+                    ? documents.get(change.id())
+                    : documents.remove(change.id());
+                if (change.name() == null) {
+                    if (previous != null) {
+                        retire(previous);
+                    }
+                    continue;
+                }
+
+                Shape shape = shape(change.name(), change.brand());
+                if (previous != null && previous.shape.equals(shape)) {
+                    continue;
+                }
+                // Retire first: a concurrent search may briefly miss the device, but never sees it twice
+                if (previous != null) {
+                    retire(previous);
+                }
+                Shape indexed = shapes.computeIfAbsent(shape, key -> key);
+                indexed.devices++;
+                Document document = new Document(change.id(), indexed);
+                documents.put(change.id(), document);
+                for (String word : indexed.words) {
+                    postings.computeIfAbsent(word, Postings::new).add(document);
+                }
+            }
+        }
+    }
+
+    // Uses the index's own key instances for words it already knows
+    private Shape shape(String name, String brand) {
+        Set<String> words = new LinkedHashSet<>(SearchTerms.of(name));
+        int inName = words.size();
+        words.addAll(SearchTerms.of(brand));
+
+        String[] canonical = new String[words.size()];
+        int i = 0;
+        for (String word : words) {
+            Postings list = postings.get(word);
+            canonical[i++] = list != null ? list.word : word;
+        }
+        return new Shape(canonical, inName);
+    }
+
+    private void retire(Document document) {
+        document.retired = true;
+        if (--document.shape.devices == 0) {
+            shapes.remove(document.shape);
+        }
+        for (String word : document.shape.words) {
+            Postings list = postings.get(word);
+            if (list != null && !list.retire()) {
+                postings.remove(word);
+            }
+        }
+    }
+}
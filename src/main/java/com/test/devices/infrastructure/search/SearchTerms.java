@@ -0,0 +1,36 @@
+package com.test.devices.infrastructure.search;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Splits text into the lower-case words both search engines index and match: runs of letters and
+ * digits, so "iPhone 15-Pro" becomes {@code [iphone, 15, pro]}.
+ */
+public final class SearchTerms {
+
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private SearchTerms() {
+    }
+
+    /**
+     * The distinct words of {@code text} in order of appearance, empty for blank text.
+     */
+    public static List<String> of(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        Set<String> terms = new LinkedHashSet<>();
+        for (String term : SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return new ArrayList<>(terms);
+    }
+}
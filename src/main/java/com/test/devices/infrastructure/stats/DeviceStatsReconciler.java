@@ -0,0 +1,56 @@
+package com.test.devices.infrastructure.stats;
+
+import com.test.devices.application.query.DeviceCounters;
+import com.test.devices.application.usecase.ReconcileDeviceStatsUseCase;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Background job recounting the device statistics from the database: at startup, and every
+ * reconcile interval to correct any drift. Writes keep the counts current in between.
+ */
+@ApplicationScoped
+public class DeviceStatsReconciler {
+
+    private static final Logger logger = Logger.getLogger(DeviceStatsReconciler.class);
+
+    @ConfigProperty(name = "devices.stats.reconcile-interval", defaultValue = "PT5M")
+    Duration reconcileInterval;
+
+    @Inject
+    ReconcileDeviceStatsUseCase reconcileDeviceStatsUseCase;
+
+    @Inject
+    DeviceCounters deviceCounters;
+
+    void onStart(@Observes StartupEvent event) {
+        reconcile();
+    }
+
+    @Scheduled(every = "${devices.stats.check-interval:1s}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    public void reconcileIfDue() {
+        LocalDateTime reconciledAt = deviceCounters.reconciledAt();
+        if (deviceCounters.isStale() || reconciledAt.plus(reconcileInterval).isBefore(LocalDateTime.now())) {
+            reconcile();
+        }
+    }
+
+    /**
+     * A failed reconciliation leaves the counts stale, so it is retried on the next check.
+     */
+    public void reconcile() {
+        try {
+            reconcileDeviceStatsUseCase.execute();
+        } catch (RuntimeException e) {
+            logger.warn("Device statistics reconciliation failed, will retry", e);
+        }
+    }
+}
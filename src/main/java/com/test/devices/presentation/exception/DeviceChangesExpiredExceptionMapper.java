@@ -0,0 +1,27 @@
+package com.test.devices.presentation.exception;
+
+import com.test.devices.application.exception.DeviceChangesExpiredException;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+import org.jboss.logging.Logger;
+
+@Provider
+public class DeviceChangesExpiredExceptionMapper implements ExceptionMapper<DeviceChangesExpiredException> {
+
+    private static final Logger logger = Logger.getLogger(DeviceChangesExpiredExceptionMapper.class);
+
+    @Override
+    public Response toResponse(DeviceChangesExpiredException exception) {
+        logger.warnf("Change feed offset expired: %s", exception.getMessage());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                Response.Status.GONE.getStatusCode(),
+                exception.getMessage()
+        );
+
+        return Response.status(Response.Status.GONE)
+                .entity(errorResponse)
+                .build();
+    }
+}
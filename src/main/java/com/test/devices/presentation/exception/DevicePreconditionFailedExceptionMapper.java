@@ -0,0 +1,27 @@
+package com.test.devices.presentation.exception;
+
+import com.test.devices.application.exception.DevicePreconditionFailedException;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+import org.jboss.logging.Logger;
+
+@Provider
+public class DevicePreconditionFailedExceptionMapper implements ExceptionMapper<DevicePreconditionFailedException> {
+
+    private static final Logger logger = Logger.getLogger(DevicePreconditionFailedExceptionMapper.class);
+
+    @Override
+    public Response toResponse(DevicePreconditionFailedException exception) {
+        logger.warnf("Precondition failed: %s", exception.getMessage());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                Response.Status.PRECONDITION_FAILED.getStatusCode(),
+                exception.getMessage()
+        );
+
+        return Response.status(Response.Status.PRECONDITION_FAILED)
+                .entity(errorResponse)
+                .build();
+    }
+}
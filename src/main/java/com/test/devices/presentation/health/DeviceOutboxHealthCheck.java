@@ -0,0 +1,43 @@
+package com.test.devices.presentation.health;
+
+import com.test.devices.infrastructure.outbox.DeviceOutboxRelay;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Reports the outbox backlog and relay throughput. A backlog does not make the instance unready:
+ * requests are still accepted and events are delivered once the sink recovers. The backlog is the
+ * one the relay saw after its last run, so probes never touch the database.
+ */
+@Readiness
+@ApplicationScoped
+public class DeviceOutboxHealthCheck implements HealthCheck {
+
+    @Inject
+    DeviceOutboxRelay relay;
+
+    @Override
+    public HealthCheckResponse call() {
+        Optional<LocalDateTime> oldestPending = relay.oldestPending();
+        long lagMillis = oldestPending
+                .map(oldest -> Duration.between(oldest, LocalDateTime.now()).toMillis())
+                .orElse(0L);
+
+        return HealthCheckResponse.named("Device outbox")
+                .up()
+                .withData("drained", oldestPending.isEmpty())
+                .withData("lagMillis", lagMillis)
+                .withData("deliveredEvents", relay.deliveredEvents())
+                .withData("deliveredBatches", relay.deliveredBatches())
+                .withData("failedBatches", relay.failedBatches())
+                .withData("lastDeliveryLagMillis", relay.lastDeliveryLagMillis())
+                .build();
+    }
+}
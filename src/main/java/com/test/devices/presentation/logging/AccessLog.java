@@ -0,0 +1,133 @@
+package com.test.devices.presentation.logging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sampled, asynchronous JSON access log. Requests that fail with a 5xx or take longer than
+ * {@code devices.access-log.slow-threshold} are always logged, the others with probability
+ * {@code devices.access-log.sample-rate}. The request thread only enqueues a small record; a single
+ * background thread formats and writes it, and entries are dropped (and counted) rather than
+ * blocking a request when the queue is full.
+ */
+@ApplicationScoped
+public class AccessLog {
+
+    static final String CATEGORY = "com.test.devices.access";
+
+    private static final Logger accessLogger = Logger.getLogger(CATEGORY);
+    private static final Logger logger = Logger.getLogger(AccessLog.class);
+    private static final int DRAIN_BATCH_SIZE = 256;
+
+    @ConfigProperty(name = "devices.access-log.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "devices.access-log.sample-rate", defaultValue = "0.01")
+    double sampleRate;
+
+    @ConfigProperty(name = "devices.access-log.slow-threshold", defaultValue = "PT1S")
+    Duration slowThreshold;
+
+    @ConfigProperty(name = "devices.access-log.queue-size", defaultValue = "10000")
+    int queueSize;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    BlockingQueue<AccessLogEntry> queue;
+    private final AtomicLong dropped = new AtomicLong();
+    private long slowThresholdNanos;
+    private ObjectWriter writer;
+    private Thread writerThread;
+
+    @PostConstruct
+    void init() {
+        slowThresholdNanos = slowThreshold.toNanos();
+        queue = new ArrayBlockingQueue<>(queueSize);
+        if (isEnabled()) {
+            writer = objectMapper.writerFor(AccessLogEntry.class);
+            writerThread = Thread.ofPlatform().name("devices-access-log").daemon().start(this::writeLoop);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (writerThread != null) {
+            writerThread.interrupt();
+        }
+    }
+
+    /**
+     * Cheap check for callers to skip collecting request data when nothing would be logged.
+     */
+    public boolean isEnabled() {
+        return enabled && accessLogger.isInfoEnabled();
+    }
+
+    public void log(String method, String path, String operation, int status, long durationNanos) {
+        boolean alwaysLogged = status >= 500 || durationNanos >= slowThresholdNanos;
+        if (!alwaysLogged && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        AccessLogEntry entry = new AccessLogEntry(Instant.now().toString(), method, path, operation, status,
+                TimeUnit.NANOSECONDS.toMicros(durationNanos), !alwaysLogged);
+        if (!queue.offer(entry)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Entries discarded because the writer could not keep up.
+     */
+    public long dropped() {
+        return dropped.get();
+    }
+
+    private void writeLoop() {
+        List<AccessLogEntry> batch = new ArrayList<>(DRAIN_BATCH_SIZE);
+        long reportedDrops = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            queue.drainTo(batch, DRAIN_BATCH_SIZE - batch.size());
+            for (AccessLogEntry entry : batch) {
+                write(entry);
+            }
+            batch.clear();
+
+            long drops = dropped.get();
+            if (drops != reportedDrops) {
+                logger.warnf("Dropped %d access log entries, the writer cannot keep up", drops - reportedDrops);
+                reportedDrops = drops;
+            }
+        }
+    }
+
+    private void write(AccessLogEntry entry) {
+        try {
+            accessLogger.info(writer.writeValueAsString(entry));
+        } catch (JsonProcessingException e) {
+            logger.warn("Could not write access log entry", e);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.test.devices.presentation.logging;
+
+/**
+ * One access log line, serialized as JSON by the access log writer thread.
+ *
+ * @param sampled true when the request was logged by sampling rather than for being slow or failing
+ */
+record AccessLogEntry(
+        String timestamp,
+        String method,
+        String path,
+        String operation,
+        int status,
+        long durationMicros,
+        boolean sampled) {
+}
@@ -0,0 +1,47 @@
+package com.test.devices.presentation.logging;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.ext.Provider;
+
+import java.lang.reflect.Method;
+
+/**
+ * Feeds every REST request to the {@link AccessLog}. The resource method is resolved on the
+ * request thread, since the response may be completed on another one.
+ */
+@Provider
+public class AccessLogFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    private static final String START = AccessLogFilter.class.getName() + ".start";
+
+    @Inject
+    AccessLog accessLog;
+
+    @Context
+    ResourceInfo resourceInfo;
+
+    private record Start(long nanos, String operation) {
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request) {
+        if (accessLog.isEnabled()) {
+            Method method = resourceInfo.getResourceMethod();
+            request.setProperty(START, new Start(System.nanoTime(), method != null ? method.getName() : null));
+        }
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        if (request.getProperty(START) instanceof Start start) {
+            accessLog.log(request.getMethod(), request.getUriInfo().getPath(), start.operation(), response.getStatus(),
+                    System.nanoTime() - start.nanos());
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.test.devices.presentation.rest;
+
+import com.test.devices.application.dto.BulkCreateDevicesResponse;
+import com.test.devices.application.dto.BulkStateChangeRequest;
+import com.test.devices.application.dto.BulkStateChangeResponse;
+import com.test.devices.application.dto.CreateDeviceRequest;
+import com.test.devices.application.metrics.Measured;
+import com.test.devices.application.usecase.BulkCreateDevicesUseCase;
+import com.test.devices.application.usecase.BulkUpdateDeviceStateUseCase;
+import jakarta.inject.Inject;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+import java.util.List;
+
+/**
+ * Collection-level custom methods ({@code /api/v1/devices:<verb>}) that act on many devices at once.
+ */
+@Path("/api/v1")
+@Produces(MediaType.APPLICATION_JSON)
+@Consumes(MediaType.APPLICATION_JSON)
+@Tag(name = "Devices", description = "Device management operations")
+@Measured("devices.resource")
+public class DeviceBatchResource {
+
+    @Inject
+    BulkCreateDevicesUseCase bulkCreateDevicesUseCase;
+
+    @Inject
+    BulkUpdateDeviceStateUseCase bulkUpdateDeviceStateUseCase;
+
+    @POST
+    @Path("/devices:batch")
+    @Operation(
+        summary = "Create devices in bulk",
+        description = "Validates each device, inserts the valid ones in JDBC batches and reports the outcome per item"
+    )
+    @APIResponses(value = {
+        @APIResponse(
+            responseCode = "200",
+            description = "Per-item results; rejected items do not prevent the others from being created",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON,
+                schema = @Schema(implementation = BulkCreateDevicesResponse.class)
+            )
+        ),
+        @APIResponse(
+            responseCode = "400",
+            description = "Empty or oversized request"
+        )
+    })
+    public Response createDevices(@NotNull(message = "Devices are required") List<CreateDeviceRequest> requests) {
+        BulkCreateDevicesResponse response = bulkCreateDevicesUseCase.execute(requests);
+        return Response.ok(response).build();
+    }
+
+    @POST
+    @Path("/devices:batchUpdateState")
+    @Operation(
+        summary = "Change the state of many devices",
+        description = "Moves the devices selected by ids or by a brand/currentState filter to the target state "
+            + "with set-based updates, and reports which devices changed"
+    )
+    @APIResponses(value = {
+        @APIResponse(
+            responseCode = "200",
+            description = "State change applied",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON,
+                schema = @Schema(implementation = BulkStateChangeResponse.class)
+            )
+        ),
+        @APIResponse(
+            responseCode = "400",
+            description = "Missing target state or selection, more than 10000 ids, or a filter matching more than 10000 devices"
+        )
+    })
+    public Response updateDeviceStates(@NotNull(message = "Request is required") @Valid BulkStateChangeRequest request) {
+        BulkStateChangeResponse response = bulkUpdateDeviceStateUseCase.execute(request);
+        return Response.ok(response).build();
+    }
+}
@@ -0,0 +1,95 @@
+package com.test.devices.presentation.rest;
+
+import com.test.devices.application.dto.DeviceChangeResponse;
+import com.test.devices.application.event.DeviceChangeFeed;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Open server-sent event streams of device changes. Each one is a change feed subscription that
+ * is closed with its sink. A heartbeat comment sent every {@code devices.changes.heartbeat-interval}
+ * finds the clients that went away without a change to write, so their subscriptions do not linger.
+ */
+@ApplicationScoped
+public class DeviceChangeStreams {
+
+    @Inject
+    DeviceChangeFeed changeFeed;
+
+    private final Set<Stream> streams = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Streams the changes after {@code after} to {@code sink} until it is closed.
+     */
+    public void open(long after, SseEventSink sink, Sse sse) {
+        Stream stream = new Stream(sink, sse);
+        stream.subscription = changeFeed.subscribe(after, change -> stream.send(change));
+        streams.add(stream);
+    }
+
+    @Scheduled(every = "${devices.changes.heartbeat-interval:15s}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void heartbeat() {
+        for (Stream stream : streams) {
+            stream.heartbeat();
+        }
+    }
+
+    private final class Stream {
+
+        final SseEventSink sink;
+        final Sse sse;
+        volatile Runnable subscription = () -> { };
+
+        Stream(SseEventSink sink, Sse sse) {
+            this.sink = sink;
+            this.sse = sse;
+        }
+
+        boolean send(DeviceChangeResponse change) {
+            if (sink.isClosed()) {
+                close();
+                return false;
+            }
+            write(sse.newEventBuilder()
+                .id(String.valueOf(change.sequence()))
+                .name("device-change")
+                .mediaType(MediaType.APPLICATION_JSON_TYPE)
+                .data(DeviceChangeResponse.class, change)
+                .build());
+            return true;
+        }
+
+        void heartbeat() {
+            if (sink.isClosed()) {
+                close();
+            } else {
+                write(sse.newEventBuilder().comment("heartbeat").build());
+            }
+        }
+
+        private void write(OutboundSseEvent event) {
+            sink.send(event).whenComplete((ignored, failure) -> {
+                if (failure != null) {
+                    close();
+                }
+            });
+        }
+
+        void close() {
+            if (streams.remove(this)) {
+                subscription.run();
+            }
+            if (!sink.isClosed()) {
+                sink.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.test.devices.presentation.rest;
+
+import com.test.devices.application.dto.DeviceResponse;
+import com.test.devices.application.exception.DevicePreconditionFailedException;
+import jakarta.ws.rs.core.EntityTag;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Maps device versions to strong entity tags and back, and device timestamps to HTTP dates.
+ */
+final class DeviceETags {
+
+    private DeviceETags() {
+    }
+
+    static EntityTag of(DeviceResponse device) {
+        return of(device.version());
+    }
+
+    static EntityTag of(Long version) {
+        return new EntityTag(String.valueOf(version));
+    }
+
+    /**
+     * Weak tag of a list response: a digest of every listed id and version plus the next cursor,
+     * so it changes whenever a listed device changes or the listing itself does.
+     */
+    static EntityTag ofList(List<DeviceResponse> devices, String next) {
+        StringBuilder validators = new StringBuilder(devices.size() * 16);
+        for (DeviceResponse device : devices) {
+            validators.append(device.id()).append(':').append(device.version()).append(';');
+        }
+        validators.append(next);
+
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                .digest(validators.toString().getBytes(StandardCharsets.UTF_8));
+            return new EntityTag(Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 18)), true);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * HTTP dates have one-second precision; truncating keeps {@code If-Modified-Since} comparisons exact.
+     */
+    static Date lastModified(LocalDateTime lastModified) {
+        return Date.from(lastModified.atZone(ZoneId.systemDefault()).toInstant().truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    /**
+     * Whether a GET carrying these {@code If-None-Match} / {@code If-Modified-Since} values (either
+     * may be null) should be answered with 304. As in RFC 9110, If-None-Match uses weak comparison
+     * and, when present, If-Modified-Since is ignored; an unparseable date is ignored too.
+     */
+    static boolean notModified(String ifNoneMatch, String ifModifiedSince, EntityTag etag, Date lastModified) {
+        if (ifNoneMatch != null) {
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.equals("*") || opaque(tag).equals(etag.getValue())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (ifModifiedSince == null || lastModified == null) {
+            return false;
+        }
+        try {
+            Instant since = ZonedDateTime.parse(ifModifiedSince.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+            return !lastModified.toInstant().isAfter(since);
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private static String opaque(String tag) {
+        String value = tag.startsWith("W/") ? tag.substring(2) : tag;
+        return value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")
+            ? value.substring(1, value.length() - 1)
+            : value;
+    }
+
+    /**
+     * Returns the version an {@code If-Match} header requires, or null when the header is absent
+     * or {@code *}. Only a single strong tag is supported; anything else can never match.
+     */
+    static Long expectedVersion(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        String tag = ifMatch.trim();
+        if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new DevicePreconditionFailedException(id);
+        }
+        try {
+            return Long.valueOf(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new DevicePreconditionFailedException(id, e);
+        }
+    }
+}
@@ -1,14 +1,36 @@
 package com.test.devices.presentation.rest;
 
 import com.test.devices.application.dto.CreateDeviceRequest;
+import com.test.devices.application.dto.DeviceChangeResponse;
+import com.test.devices.application.dto.DeviceChangesResponse;
+import com.test.devices.application.dto.DevicePageResponse;
 import com.test.devices.application.dto.DeviceResponse;
+import com.test.devices.application.dto.DeviceSearchResponse;
+import com.test.devices.application.dto.DeviceStatsResponse;
 import com.test.devices.application.dto.UpdateDeviceRequest;
+import com.test.devices.application.event.DeviceChangeFeed;
+import com.test.devices.application.exception.DeviceValidationException;
+import com.test.devices.application.metrics.Measured;
+import com.test.devices.application.query.DeviceRegistry;
 import com.test.devices.application.usecase.*;
+import com.test.devices.domain.model.DeviceState;
+import com.test.devices.domain.repository.DeviceCriteria;
+import com.test.devices.domain.repository.DeviceVersion;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.media.Content;
 import org.eclipse.microprofile.openapi.annotations.media.Schema;
@@ -16,17 +38,32 @@ import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
-import org.jboss.logging.Logger;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
 
 @Path("/api/v1/devices")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
 @Tag(name = "Devices", description = "Device management operations")
+@Measured("devices.resource")
 public class DeviceResource {
 
-    private static final Logger logger = Logger.getLogger(DeviceResource.class);
+    static final String NDJSON = "application/x-ndjson";
+
+    static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+
+    static final int MAX_CHANGES_PER_POLL = 500;
+    static final int DEFAULT_POLL_TIMEOUT_SECONDS = 30;
+    static final int MAX_POLL_TIMEOUT_SECONDS = 60;
 
     @Inject
     CreateDeviceUseCase createDeviceUseCase;
@@ -34,6 +71,9 @@ public class DeviceResource {
     @Inject
     GetDeviceUseCase getDeviceUseCase;
 
+    @Inject
+    DeviceRegistry deviceRegistry;
+
     @Inject
     UpdateDeviceUseCase updateDeviceUseCase;
 
@@ -43,6 +83,27 @@ public class DeviceResource {
     @Inject
     DeleteDeviceUseCase deleteDeviceUseCase;
 
+    @Inject
+    ExportDevicesUseCase exportDevicesUseCase;
+
+    @Inject
+    SearchDevicesUseCase searchDevicesUseCase;
+
+    @Inject
+    GetDeviceStatsUseCase getDeviceStatsUseCase;
+
+    @Inject
+    DeviceChangeFeed changeFeed;
+
+    @Inject
+    DeviceChangeStreams changeStreams;
+
+    @Inject
+    RequestExecutor requestExecutor;
+
+    @Inject
+    ObjectMapper objectMapper;
+
     @POST
     @Operation(
         summary = "Create a new device",
@@ -62,10 +123,14 @@ public class DeviceResource {
             description = "Invalid input data"
         )
     })
-    public Response createDevice(@Valid CreateDeviceRequest request) {
-        logger.info("POST /api/v1/devices - Creating device");
-        DeviceResponse response = createDeviceUseCase.execute(request);
-        return Response.status(Response.Status.CREATED).entity(response).build();
+    public CompletionStage<Response> createDevice(@Valid CreateDeviceRequest request) {
+        return requestExecutor.submit(() -> {
+            DeviceResponse response = createDeviceUseCase.execute(request);
+            return Response.status(Response.Status.CREATED).entity(response)
+                .tag(DeviceETags.of(response))
+                .lastModified(DeviceETags.lastModified(response.lastModified()))
+                .build();
+        });
     }
 
     @GET
@@ -83,17 +148,60 @@ public class DeviceResource {
                 schema = @Schema(implementation = DeviceResponse.class)
             )
         ),
+        @APIResponse(
+            responseCode = "304",
+            description = "Device unchanged since the given If-None-Match or If-Modified-Since"
+        ),
         @APIResponse(
             responseCode = "404",
             description = "Device not found"
         )
     })
-    public Response getDevice(
+    public CompletionStage<Response> getDevice(
         @Parameter(description = "Device ID", required = true)
-        @PathParam("id") Long id) {
-        logger.infof("GET /api/v1/devices/%d - Fetching device", id);
-        DeviceResponse response = getDeviceUseCase.execute(id);
-        return Response.ok(response).build();
+        @PathParam("id") Long id,
+        @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch,
+        @HeaderParam(HttpHeaders.IF_MODIFIED_SINCE) String ifModifiedSince) {
+        // A registered device is answered right here: no transaction, no database, nothing to offload
+        Optional<DeviceResponse> registered = deviceRegistry.find(id);
+        if (registered.isPresent()) {
+            DeviceResponse response = registered.get();
+            return CompletableFuture.completedFuture(
+                notModified(response.version(), response.lastModified(), ifNoneMatch, ifModifiedSince)
+                    .orElseGet(() -> deviceOk(response)));
+        }
+
+        return requestExecutor.submit(() -> {
+            if (ifNoneMatch != null || ifModifiedSince != null) {
+                // Pollers usually already hold the current representation: check its validators first
+                DeviceVersion current = getDeviceUseCase.executeVersion(id);
+                Optional<Response> notModified = notModified(current.version(), current.lastModified(), ifNoneMatch, ifModifiedSince);
+                if (notModified.isPresent()) {
+                    return notModified.get();
+                }
+            }
+
+            return deviceOk(getDeviceUseCase.execute(id));
+        });
+    }
+
+    private static Optional<Response> notModified(Long version, LocalDateTime modified, String ifNoneMatch, String ifModifiedSince) {
+        if (ifNoneMatch == null && ifModifiedSince == null) {
+            return Optional.empty();
+        }
+        EntityTag etag = DeviceETags.of(version);
+        Date lastModified = DeviceETags.lastModified(modified);
+        if (!DeviceETags.notModified(ifNoneMatch, ifModifiedSince, etag, lastModified)) {
+            return Optional.empty();
+        }
+        return Optional.of(Response.notModified(etag).lastModified(lastModified).build());
+    }
+
+    private static Response deviceOk(DeviceResponse response) {
+        return Response.ok(response)
+            .tag(DeviceETags.of(response))
+            .lastModified(DeviceETags.lastModified(response.lastModified()))
+            .build();
     }
 
     @PUT
@@ -118,40 +226,239 @@ public class DeviceResource {
         @APIResponse(
             responseCode = "400",
             description = "Invalid input data"
+        ),
+        @APIResponse(
+            responseCode = "412",
+            description = "Device changed since the ETag given in If-Match"
         )
     })
-    public Response updateDevice(
+    public CompletionStage<Response> updateDevice(
         @Parameter(description = "Device ID", required = true)
         @PathParam("id") Long id,
+        @Parameter(description = "Only update if the device still has this ETag")
+        @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch,
         @Valid UpdateDeviceRequest request) {
-        logger.infof("PUT /api/v1/devices/%d - Updating device", id);
-        DeviceResponse response = updateDeviceUseCase.execute(id, request);
-        return Response.ok(response).build();
+        Long expectedVersion = DeviceETags.expectedVersion(id, ifMatch);
+        return requestExecutor.submit(() -> {
+            DeviceResponse response = updateDeviceUseCase.execute(id, request, expectedVersion);
+            return Response.ok(response)
+                .tag(DeviceETags.of(response))
+                .lastModified(DeviceETags.lastModified(response.lastModified()))
+                .build();
+        });
     }
 
     @GET
     @Operation(
-        summary = "List all devices",
-        description = "Retrieves a list of all devices with optional filtering by brand and state"
+        summary = "List devices",
+        description = "Retrieves a page of devices ordered by id, with optional filtering by brand, state, name prefix and creation time. "
+            + "Pass the returned 'next' cursor as 'after' for the following page; GET /export streams the full inventory"
     )
     @APIResponses(value = {
         @APIResponse(
             responseCode = "200",
-            description = "List of devices retrieved successfully",
+            description = "Page of devices retrieved successfully",
             content = @Content(
                 mediaType = MediaType.APPLICATION_JSON,
-                schema = @Schema(implementation = DeviceResponse.class)
+                schema = @Schema(implementation = DevicePageResponse.class)
             )
+        ),
+        @APIResponse(
+            responseCode = "304",
+            description = "Listing unchanged since the ETag given in If-None-Match"
+        ),
+        @APIResponse(
+            responseCode = "400",
+            description = "Invalid cursor or limit"
         )
     })
-    public Response listDevices(
+    public CompletionStage<Response> listDevices(
             @Parameter(description = "Filter by brand name")
             @QueryParam("brand") String brand,
             @Parameter(description = "Filter by device state (ACTIVE, INACTIVE, MAINTENANCE)")
-            @QueryParam("state") String state) {
-        logger.info("GET /api/v1/devices - Listing devices");
-        List<DeviceResponse> devices = listDevicesUseCase.execute(brand, state != null ? com.test.devices.domain.model.DeviceState.valueOf(state) : null);
-        return Response.ok(devices).build();
+            @QueryParam("state") String state,
+            @Parameter(description = "Filter by device name prefix")
+            @QueryParam("namePrefix") String namePrefix,
+            @Parameter(description = "Only devices created at or after this time (ISO-8601, e.g. 2025-12-07T10:30:00)")
+            @QueryParam("createdFrom") String createdFrom,
+            @Parameter(description = "Only devices created before this time (ISO-8601, e.g. 2025-12-08T00:00:00)")
+            @QueryParam("createdTo") String createdTo,
+            @Parameter(description = "Opaque cursor returned as 'next' by the previous page")
+            @QueryParam("after") String after,
+            @Parameter(description = "Maximum number of devices per page (1-500, default 50)")
+            @QueryParam("limit") Integer limit,
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
+        DeviceCriteria criteria = DeviceCriteria.none()
+            .withBrand(brand)
+            .withState(state != null ? DeviceState.valueOf(state) : null)
+            .withNamePrefix(namePrefix)
+            .withCreatedBetween(parseTimestamp("createdFrom", createdFrom), parseTimestamp("createdTo", createdTo));
+        return requestExecutor.submit(() -> {
+            DevicePageResponse page = listDevicesUseCase.executePage(criteria, after, limit);
+            return conditionalOk(ifNoneMatch, page, DeviceETags.ofList(page.items(), page.next()));
+        });
+    }
+
+    @GET
+    @Path("/export")
+    @Produces(NDJSON)
+    @Operation(
+        summary = "Export all devices",
+        description = "Streams the full device inventory ordered by id as newline-delimited JSON, one device per line"
+    )
+    @APIResponses(value = {
+        @APIResponse(
+            responseCode = "200",
+            description = "Device inventory stream",
+            content = @Content(
+                mediaType = NDJSON,
+                schema = @Schema(implementation = DeviceResponse.class)
+            )
+        )
+    })
+    public Response exportDevices() {
+        // Many values share one response stream: Jackson must neither close nor flush it per line
+        ObjectWriter writer = objectMapper.writerFor(DeviceResponse.class)
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingOutput stream = output -> {
+            try {
+                exportDevicesUseCase.execute(device -> {
+                    try {
+                        writer.writeValue(output, device);
+                        output.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return Response.ok(stream, NDJSON).build();
+    }
+
+    @GET
+    @Path("/search")
+    @Operation(
+        summary = "Search devices",
+        description = "Finds devices whose name or brand contain words starting with each word of the query, "
+            + "case-insensitively, best match first: name matches rank above brand matches and whole words above prefixes"
+    )
+    @APIResponses(value = {
+        @APIResponse(
+            responseCode = "200",
+            description = "A page of matching devices",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON,
+                schema = @Schema(implementation = DeviceSearchResponse.class)
+            )
+        ),
+        @APIResponse(
+            responseCode = "400",
+            description = "Missing or too long query, invalid cursor or limit"
+        )
+    })
+    public CompletionStage<Response> searchDevices(
+            @Parameter(description = "Words to search for, e.g. 'iPhone 15'", required = true)
+            @QueryParam("q") String query,
+            @Parameter(description = "Opaque cursor returned as 'next' by the previous page")
+            @QueryParam("after") String after,
+            @Parameter(description = "Maximum number of devices per page (1-100, default 20)")
+            @QueryParam("limit") Integer limit) {
+        return requestExecutor.submit(() -> Response.ok(searchDevicesUseCase.execute(query, after, limit)).build());
+    }
+
+    @GET
+    @Path("/stats")
+    @Operation(
+        summary = "Get device statistics",
+        description = "Returns the number of devices in each state, overall and per brand, from counters kept in memory. "
+            + "Every committed write is reflected right away; the counters are recounted from the database periodically to correct any drift"
+    )
+    @APIResponses(value = {
+        @APIResponse(
+            responseCode = "200",
+            description = "Device counts",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON,
+                schema = @Schema(implementation = DeviceStatsResponse.class)
+            )
+        )
+    })
+    public DeviceStatsResponse getDeviceStats() {
+        // Served from memory: nothing blocks, so there is no need to go through the request executor
+        return getDeviceStatsUseCase.execute();
+    }
+
+    @GET
+    @Path("/changes")
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    @Operation(
+        summary = "Stream device changes",
+        description = "Pushes every committed create, update and delete as a server-sent event whose id is the change sequence. "
+            + "Reconnecting with Last-Event-ID (or 'after') resumes from that sequence; without either only new changes are sent"
+    )
+    @APIResponses(value = {
+        @APIResponse(
+            responseCode = "200",
+            description = "Stream of 'device-change' events",
+            content = @Content(
+                mediaType = MediaType.SERVER_SENT_EVENTS,
+                schema = @Schema(implementation = DeviceChangeResponse.class)
+            )
+        ),
+        @APIResponse(
+            responseCode = "410",
+            description = "The requested sequence is no longer retained; reload and resume from the latest sequence"
+        )
+    })
+    public void streamChanges(
+            @Parameter(description = "Sequence of the last change seen, sent by SSE clients on reconnect")
+            @HeaderParam(LAST_EVENT_ID_HEADER) Long lastEventId,
+            @Parameter(description = "Sequence of the last change seen")
+            @QueryParam("after") Long after,
+            @Context SseEventSink sink,
+            @Context Sse sse) {
+        long from = lastEventId != null ? lastEventId : after != null ? after : changeFeed.lastSequence();
+        changeStreams.open(from, sink, sse);
+    }
+
+    @GET
+    @Path("/changes")
+    @Operation(
+        summary = "Long-poll device changes",
+        description = "Returns the committed changes after 'after', waiting up to 'timeout' seconds for one when there are none yet. "
+            + "Pass the returned 'next' as 'after' in the following poll"
+    )
+    @APIResponses(value = {
+        @APIResponse(
+            responseCode = "200",
+            description = "Changes after the given sequence, empty when the poll timed out",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON,
+                schema = @Schema(implementation = DeviceChangesResponse.class)
+            )
+        ),
+        @APIResponse(
+            responseCode = "410",
+            description = "The requested sequence is no longer retained; reload and resume from the latest sequence"
+        )
+    })
+    public CompletionStage<DeviceChangesResponse> pollChanges(
+            @Parameter(description = "Sequence of the last change seen; defaults to the latest one")
+            @QueryParam("after") Long after,
+            @Parameter(description = "Seconds to wait for a change (0-60, default 30)")
+            @QueryParam("timeout") Integer timeout) {
+        long from = after != null ? after : changeFeed.lastSequence();
+        int waitSeconds = timeout != null ? timeout : DEFAULT_POLL_TIMEOUT_SECONDS;
+        if (waitSeconds < 0 || waitSeconds > MAX_POLL_TIMEOUT_SECONDS) {
+            throw new DeviceValidationException("timeout must be between 0 and " + MAX_POLL_TIMEOUT_SECONDS + " seconds");
+        }
+        return changeFeed.poll(from, MAX_CHANGES_PER_POLL)
+            .completeOnTimeout(List.of(), waitSeconds, TimeUnit.SECONDS)
+            .thenApply(changes -> new DeviceChangesResponse(
+                changes, changes.isEmpty() ? from : changes.get(changes.size() - 1).sequence()));
     }
 
     @DELETE
@@ -168,13 +475,42 @@ public class DeviceResource {
         @APIResponse(
             responseCode = "404",
             description = "Device not found"
+        ),
+        @APIResponse(
+            responseCode = "412",
+            description = "Device changed since the ETag given in If-Match"
         )
     })
-    public Response deleteDevice(
+    public CompletionStage<Response> deleteDevice(
         @Parameter(description = "Device ID", required = true)
-        @PathParam("id") Long id) {
-        logger.infof("DELETE /api/v1/devices/%d - Deleting device", id);
-        deleteDeviceUseCase.execute(id);
-        return Response.noContent().build();
+        @PathParam("id") Long id,
+        @Parameter(description = "Only delete if the device still has this ETag")
+        @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch) {
+        Long expectedVersion = DeviceETags.expectedVersion(id, ifMatch);
+        return requestExecutor.submit(() -> {
+            deleteDeviceUseCase.execute(id, expectedVersion);
+            return Response.noContent().build();
+        });
+    }
+
+    /**
+     * Answers 304 without serializing {@code entity} when the client already holds {@code etag}.
+     */
+    private static Response conditionalOk(String ifNoneMatch, Object entity, EntityTag etag) {
+        if (DeviceETags.notModified(ifNoneMatch, null, etag, null)) {
+            return Response.notModified(etag).build();
+        }
+        return Response.ok(entity).tag(etag).build();
+    }
+
+    private static LocalDateTime parseTimestamp(String name, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new DeviceValidationException("Invalid " + name + " timestamp: " + value, e);
+        }
     }
 }
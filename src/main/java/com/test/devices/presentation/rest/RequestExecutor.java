@@ -0,0 +1,100 @@
+package com.test.devices.presentation.rest;
+
+import io.opentelemetry.context.Context;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Runs the blocking part of a request (use case, JDBC, serialization inputs) according to
+ * {@code devices.execution.mode}:
+ * <ul>
+ *   <li>{@code worker}: inline on the calling HTTP worker thread, which stays blocked until the call
+ *       returns, so the returned stage is already complete;</li>
+ *   <li>{@code virtual}: on a new virtual thread per request, at most {@code devices.execution.virtual.max-concurrency}
+ *       at a time; the others park cheaply until a permit frees up instead of timing out on the JDBC pool.</li>
+ * </ul>
+ */
+@ApplicationScoped
+public class RequestExecutor {
+
+    public enum Mode {
+        WORKER,
+        VIRTUAL
+    }
+
+    @ConfigProperty(name = "devices.execution.mode", defaultValue = "worker")
+    Mode mode;
+
+    @ConfigProperty(name = "devices.execution.virtual.max-concurrency", defaultValue = "20")
+    int maxVirtualConcurrency;
+
+    private ExecutorService pool;
+    private Semaphore permits;
+
+    @PostConstruct
+    void init() {
+        if (mode == Mode.VIRTUAL) {
+            pool = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("devices-virtual-", 1).factory());
+            permits = new Semaphore(maxVirtualConcurrency);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    public Mode mode() {
+        return mode;
+    }
+
+    /**
+     * Runs {@code call} and completes the stage with its result, or with the exception it threw
+     * (unwrapped, so exception mappers see the original type). Off the caller's thread, {@code call}
+     * runs in the caller's trace context.
+     */
+    public <T> CompletionStage<T> submit(Supplier<T> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        if (pool == null) {
+            complete(result, call);
+        } else {
+            Supplier<T> traced = Context.current().wrapSupplier(call);
+            pool.execute(() -> completeWithPermit(result, traced));
+        }
+        return result;
+    }
+
+    private <T> void completeWithPermit(CompletableFuture<T> result, Supplier<T> call) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.completeExceptionally(e);
+            return;
+        }
+        try {
+            complete(result, call);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static <T> void complete(CompletableFuture<T> result, Supplier<T> call) {
+        try {
+            result.complete(call.get());
+        } catch (RuntimeException | Error e) {
+            result.completeExceptionally(e);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.test.devices.presentation.rest;
+
+import com.test.devices.application.dto.SlowQueryResponse;
+import com.test.devices.infrastructure.persistance.SlowQueryLog;
+import jakarta.inject.Inject;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+import java.util.List;
+
+/**
+ * Repository calls that exceeded {@code devices.slow-query.threshold} since startup or the last reset.
+ */
+@Path("/api/v1/admin/slow-queries")
+@Produces(MediaType.APPLICATION_JSON)
+@Tag(name = "Admin", description = "Operational diagnostics")
+public class SlowQueryResource {
+
+    @Inject
+    SlowQueryLog slowQueryLog;
+
+    @GET
+    @Operation(
+        summary = "List the slowest repository operations",
+        description = "Slow repository calls grouped by operation, worst total time first, with the SQL of the "
+            + "slowest call and, on PostgreSQL, its query plan"
+    )
+    @APIResponses(value = {
+        @APIResponse(
+            responseCode = "200",
+            description = "Slow operations",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON,
+                schema = @Schema(implementation = SlowQueryResponse[].class)
+            )
+        ),
+        @APIResponse(
+            responseCode = "400",
+            description = "Invalid limit"
+        )
+    })
+    public List<SlowQueryResponse> getSlowQueries(
+            @Parameter(description = "Maximum number of operations to return (1-100, default 10)")
+            @QueryParam("limit") @DefaultValue("10") @Min(1) @Max(100) int limit) {
+        return slowQueryLog.top(limit);
+    }
+
+    @DELETE
+    @Operation(
+        summary = "Reset the slow query log",
+        description = "Forgets the recorded slow calls and captured plans"
+    )
+    @APIResponse(responseCode = "204", description = "Slow query log cleared")
+    public Response clearSlowQueries() {
+        slowQueryLog.clear();
+        return Response.noContent().build();
+    }
+}
@@ -0,0 +1,3 @@
+-- Weighted search vector behind PostgresDeviceSearch, kept current by the database, and its GIN index
+ALTER TABLE devices ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (setweight(to_tsvector('simple', name), 'A') || setweight(to_tsvector('simple', brand), 'B')) STORED;
+CREATE INDEX IF NOT EXISTS idx_devices_search_vector ON devices USING gin (search_vector);
@@ -0,0 +1,34 @@
+package com.test.devices.application.event;
+
+import com.test.devices.domain.model.DeviceState;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.narayana.jta.QuarkusTransactionException;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@QuarkusTest
+class DeviceChangeFeedRollbackTest {
+
+    @Inject
+    DeviceChangeFeed feed;
+
+    @Test
+    void shouldNotPublishChangesOfATransactionMarkedForRollback() {
+        // GIVEN - Arrange
+        long before = feed.lastSequence();
+
+        // WHEN - A change is published after the transaction was marked for rollback
+        assertThatThrownBy(() -> QuarkusTransaction.requiringNew().run(() -> {
+            QuarkusTransaction.setRollbackOnly();
+            feed.publish(DeviceChangeType.CREATED, 1L, DeviceState.AVAILABLE);
+            assertThat(feed.lastSequence()).isEqualTo(before);
+        })).isInstanceOf(QuarkusTransactionException.class);
+
+        // THEN - It was neither published then nor after the rollback
+        assertThat(feed.lastSequence()).isEqualTo(before);
+    }
+}
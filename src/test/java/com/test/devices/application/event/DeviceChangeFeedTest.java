@@ -0,0 +1,138 @@
+package com.test.devices.application.event;
+
+import com.test.devices.application.dto.DeviceChangeResponse;
+import com.test.devices.application.exception.DeviceChangesExpiredException;
+import com.test.devices.domain.model.DeviceState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DeviceChangeFeedTest {
+
+    DeviceChangeFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        feed = new DeviceChangeFeed();
+        feed.bufferSize = 3;
+    }
+
+    @Test
+    void shouldNumberChangesInPublishOrder() {
+        // GIVEN - Changes published outside a transaction
+        feed.publish(DeviceChangeType.CREATED, 1L, DeviceState.AVAILABLE);
+        feed.publishAll(DeviceChangeType.UPDATED, List.of(1L, 2L), DeviceState.IN_USE);
+
+        // WHEN - Reading from the start
+        List<DeviceChangeResponse> changes = feed.since(0, 10);
+
+        // THEN - Every change has the next sequence
+        assertThat(changes).extracting(DeviceChangeResponse::sequence).containsExactly(1L, 2L, 3L);
+        assertThat(changes).extracting(DeviceChangeResponse::type)
+                .containsExactly(DeviceChangeType.CREATED, DeviceChangeType.UPDATED, DeviceChangeType.UPDATED);
+        assertThat(feed.lastSequence()).isEqualTo(3L);
+        assertThat(feed.since(2, 10)).extracting(DeviceChangeResponse::deviceId).containsExactly(2L);
+    }
+
+    @Test
+    void shouldReplayThenPushToSubscriber() {
+        // GIVEN - A subscriber resuming after the first change, delivered to on the publishing thread
+        feed.deliveryExecutor = Runnable::run;
+        feed.publish(DeviceChangeType.CREATED, 1L, DeviceState.AVAILABLE);
+        feed.publish(DeviceChangeType.CREATED, 2L, DeviceState.AVAILABLE);
+        List<Long> received = new ArrayList<>();
+        Runnable subscription = feed.subscribe(1, change -> received.add(change.sequence()));
+
+        // WHEN - More changes are published, then the subscription is closed
+        feed.publish(DeviceChangeType.DELETED, 1L, null);
+        subscription.run();
+        feed.publish(DeviceChangeType.DELETED, 2L, null);
+
+        // THEN - It saw the missed change and the live one, and nothing after closing
+        assertThat(received).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void shouldKeepPublishingWhileASubscriberIsStuck() throws Exception {
+        // GIVEN - A subscriber that blocks on the first change it gets
+        CountDownLatch stuck = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Long> received = new CopyOnWriteArrayList<>();
+        feed.subscribe(feed.lastSequence(), change -> {
+            stuck.countDown();
+            awaitQuietly(release);
+            return received.add(change.sequence());
+        });
+        feed.publish(DeviceChangeType.CREATED, 1L, DeviceState.AVAILABLE);
+        assertThat(stuck.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // WHEN - More changes are published while it is blocked
+        feed.publishAll(DeviceChangeType.UPDATED, List.of(1L, 2L), DeviceState.IN_USE);
+
+        // THEN - Publishers and readers are not held up, and it gets every change in order once released
+        assertThat(feed.since(0, 10)).hasSize(3);
+        assertThat(received).isEmpty();
+        release.countDown();
+        for (int i = 0; i < 500 && received.size() < 3; i++) {
+            Thread.sleep(10);
+        }
+        assertThat(received).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void shouldCompletePollOnNextChange() throws Exception {
+        // GIVEN - A poll with nothing new yet
+        CompletableFuture<List<DeviceChangeResponse>> poll = feed.poll(feed.lastSequence(), 10);
+        assertThat(poll).isNotDone();
+
+        // WHEN - A change is published
+        feed.publish(DeviceChangeType.CREATED, 7L, DeviceState.AVAILABLE);
+
+        // THEN - The poll completes with it
+        assertThat(poll.get(5, TimeUnit.SECONDS)).extracting(DeviceChangeResponse::deviceId).containsExactly(7L);
+    }
+
+    @Test
+    void shouldCompletePollWithUpToLimitChangesOffThePublishingThread() throws Exception {
+        // GIVEN - A poll for two changes at most
+        CompletableFuture<List<DeviceChangeResponse>> poll = feed.poll(feed.lastSequence(), 2);
+        AtomicReference<Thread> completedOn = new AtomicReference<>();
+        poll.whenComplete((changes, failure) -> completedOn.set(Thread.currentThread()));
+
+        // WHEN - Three changes are published at once
+        feed.publishAll(DeviceChangeType.UPDATED, List.of(1L, 2L, 3L), DeviceState.INACTIVE);
+
+        // THEN - It gets a batch, not just the first change, and its callbacks left the publisher alone
+        assertThat(poll.get(5, TimeUnit.SECONDS)).extracting(DeviceChangeResponse::sequence).containsExactly(1L, 2L);
+        assertThat(completedOn.get()).isNotNull().isNotEqualTo(Thread.currentThread());
+    }
+
+    @Test
+    void shouldRejectOffsetsNoLongerRetained() {
+        // GIVEN - More changes than the buffer keeps
+        feed.publishAll(DeviceChangeType.CREATED, List.of(1L, 2L, 3L, 4L, 5L), DeviceState.AVAILABLE);
+
+        // WHEN/THEN - Evicted and future offsets cannot be resumed, retained ones can
+        assertThatThrownBy(() -> feed.since(1, 10)).isInstanceOf(DeviceChangesExpiredException.class);
+        assertThatThrownBy(() -> feed.subscribe(6, change -> true)).isInstanceOf(DeviceChangesExpiredException.class);
+        assertThat(feed.since(2, 10)).extracting(DeviceChangeResponse::sequence).containsExactly(3L, 4L, 5L);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
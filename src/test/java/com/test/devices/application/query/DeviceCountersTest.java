@@ -0,0 +1,140 @@
+package com.test.devices.application.query;
+
+import com.test.devices.application.dto.DeviceStatsResponse;
+import com.test.devices.domain.model.DeviceState;
+import com.test.devices.domain.repository.DeviceStateChange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DeviceCountersTest {
+
+    DeviceCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        // Without a transaction registry changes apply immediately
+        counters = new DeviceCounters();
+    }
+
+    @Test
+    void shouldCountCreatesAndChangesByBrandAndState() {
+        // GIVEN - Arrange
+        counters.reconcile(List::of);
+        counters.created("Apple", DeviceState.AVAILABLE);
+        counters.created("Apple", DeviceState.AVAILABLE);
+        counters.created("Google", DeviceState.INACTIVE);
+
+        // WHEN - One Apple device moves to Google and is put in use
+        counters.changed("Apple", DeviceState.AVAILABLE, "Google", DeviceState.IN_USE);
+        DeviceStatsResponse stats = counters.snapshot();
+
+        // THEN - Assert
+        assertThat(stats.total()).isEqualTo(3);
+        assertThat(stats.states()).containsExactly(
+                Map.entry(DeviceState.AVAILABLE, 1L),
+                Map.entry(DeviceState.IN_USE, 1L),
+                Map.entry(DeviceState.INACTIVE, 1L));
+        assertThat(stats.brands()).containsOnlyKeys("Apple", "Google");
+        assertThat(stats.brands().get("Apple")).containsEntry(DeviceState.AVAILABLE, 1L)
+                .containsEntry(DeviceState.IN_USE, 0L);
+        assertThat(stats.brands().get("Google")).containsEntry(DeviceState.IN_USE, 1L)
+                .containsEntry(DeviceState.INACTIVE, 1L);
+        assertThat(stats.stale()).isFalse();
+    }
+
+    @Test
+    void shouldLeaveOutBrandsWithoutDevices() {
+        // GIVEN - Arrange
+        counters.reconcile(List::of);
+        counters.created("Nokia", DeviceState.AVAILABLE);
+
+        // WHEN - Act
+        counters.changed("Nokia", DeviceState.AVAILABLE, "HMD", DeviceState.AVAILABLE);
+
+        // THEN - Assert
+        assertThat(counters.snapshot().brands()).containsOnlyKeys("HMD");
+    }
+
+    @Test
+    void shouldApplyBulkStateChangesPerBrandAndPreviousState() {
+        // GIVEN - Arrange
+        counters.reconcile(() -> List.of(
+                new DeviceCount("Apple", DeviceState.AVAILABLE, 3),
+                new DeviceCount("Apple", DeviceState.INACTIVE, 1),
+                new DeviceCount("Google", DeviceState.AVAILABLE, 2)));
+
+        // WHEN - Devices already in the target state do not move
+        counters.stateChanged(List.of(
+                new DeviceStateChange(1L, "Apple", DeviceState.AVAILABLE),
+                new DeviceStateChange(2L, "Apple", DeviceState.AVAILABLE),
+                new DeviceStateChange(3L, "Apple", DeviceState.INACTIVE),
+                new DeviceStateChange(4L, "Google", DeviceState.AVAILABLE),
+                new DeviceStateChange(5L, "Google", DeviceState.IN_USE)), DeviceState.IN_USE);
+        DeviceStatsResponse stats = counters.snapshot();
+
+        // THEN - Assert
+        assertThat(stats.brands().get("Apple")).containsEntry(DeviceState.AVAILABLE, 1L)
+                .containsEntry(DeviceState.IN_USE, 3L)
+                .containsEntry(DeviceState.INACTIVE, 0L);
+        assertThat(stats.brands().get("Google")).containsEntry(DeviceState.AVAILABLE, 1L)
+                .containsEntry(DeviceState.IN_USE, 1L);
+        assertThat(stats.total()).isEqualTo(6);
+        assertThat(stats.stale()).isFalse();
+    }
+
+    @Test
+    void shouldCountDeletesWithoutRecounting() {
+        // GIVEN - Arrange
+        counters.reconcile(() -> List.of(new DeviceCount("Apple", DeviceState.AVAILABLE, 2)));
+
+        // WHEN - Act
+        counters.deleted("Apple", DeviceState.AVAILABLE);
+        counters.deleted("Apple", DeviceState.AVAILABLE);
+
+        // THEN - Assert
+        DeviceStatsResponse stats = counters.snapshot();
+        assertThat(stats.total()).isZero();
+        assertThat(stats.brands()).isEmpty();
+        assertThat(stats.stale()).isFalse();
+    }
+
+    @Test
+    void shouldReplaceCountsWithTheReconciledOnesAndKeepLaterDeltas() {
+        // GIVEN - Counts that drifted from the database and were never reconciled
+        counters.created("Apple", DeviceState.AVAILABLE);
+        assertThat(counters.snapshot().stale()).isTrue();
+
+        // WHEN - A device is created while the database is being counted
+        counters.reconcile(() -> {
+            counters.created("Apple", DeviceState.IN_USE);
+            return List.of(new DeviceCount("Apple", DeviceState.AVAILABLE, 5));
+        });
+
+        // THEN - The recount plus the write it did not see
+        DeviceStatsResponse stats = counters.snapshot();
+        assertThat(stats.brands().get("Apple")).containsEntry(DeviceState.AVAILABLE, 5L)
+                .containsEntry(DeviceState.IN_USE, 1L);
+        assertThat(stats.total()).isEqualTo(6);
+        assertThat(stats.stale()).isFalse();
+        assertThat(stats.reconciledAt()).isNotNull();
+    }
+
+    @Test
+    void shouldStayStaleWhenReconciliationFails() {
+        // GIVEN - Arrange
+        counters.reconcile(List::of);
+        assertThat(counters.isStale()).isFalse();
+
+        // WHEN/THEN - Exception is thrown
+        assertThatThrownBy(() -> counters.reconcile(() -> {
+            throw new IllegalStateException("database down");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(counters.isStale()).isTrue();
+    }
+}
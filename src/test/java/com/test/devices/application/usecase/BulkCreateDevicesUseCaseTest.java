@@ -0,0 +1,114 @@
+package com.test.devices.application.usecase;
+
+import com.test.devices.application.dto.BulkCreateItemResult;
+import com.test.devices.application.dto.CreateDeviceRequest;
+import com.test.devices.application.event.DeviceChangePublisher;
+import com.test.devices.application.event.DeviceChangeType;
+import com.test.devices.application.exception.DeviceValidationException;
+import com.test.devices.application.query.DeviceCounters;
+import com.test.devices.application.query.DeviceRegistry;
+import com.test.devices.application.query.DeviceSearch;
+import com.test.devices.domain.model.Device;
+import com.test.devices.domain.model.DeviceState;
+import com.test.devices.domain.repository.DeviceRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkCreateDevicesUseCaseTest {
+
+    @Mock
+    DeviceRepository deviceRepository;
+
+    @Mock
+    DeviceChangePublisher changePublisher;
+
+    @Mock
+    DeviceSearch deviceSearch;
+
+    @Mock
+    DeviceCounters deviceCounters;
+
+    @Mock
+    DeviceRegistry deviceRegistry;
+
+    @InjectMocks
+    BulkCreateDevicesUseCase bulkCreateDevicesUseCase;
+
+    @Test
+    void shouldCreateValidItemsAndReportRejectedOnes() {
+        // GIVEN - Arrange
+        var requests = Arrays.asList(
+                new CreateDeviceRequest("iPhone 15", "Apple", DeviceState.AVAILABLE),
+                new CreateDeviceRequest("", "Apple", DeviceState.AVAILABLE),
+                new CreateDeviceRequest("Pixel 8", "Google", DeviceState.INACTIVE));
+        AtomicLong ids = new AtomicLong();
+
+        when(deviceRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Device> devices = invocation.getArgument(0);
+            devices.forEach(device -> device.setId(ids.incrementAndGet()));
+            return devices;
+        });
+
+        // WHEN - Act
+        var response = bulkCreateDevicesUseCase.execute(requests);
+
+        // THEN - Assert
+        assertThat(response.created()).isEqualTo(2);
+        assertThat(response.rejected()).isEqualTo(1);
+        assertThat(response.results()).extracting(BulkCreateItemResult::index).containsExactly(0, 1, 2);
+        assertThat(response.results()).extracting(BulkCreateItemResult::created).containsExactly(true, false, true);
+        assertThat(response.results().get(0).device().id()).isEqualTo(1L);
+        assertThat(response.results().get(1).error()).isEqualTo("Name cannot be blank");
+        assertThat(response.results().get(2).device().name()).isEqualTo("Pixel 8");
+
+        verify(deviceRepository, times(1)).saveAll(anyList());
+        verify(deviceSearch, times(2)).index(any(Device.class));
+        verify(deviceCounters, times(2)).created(any(), any());
+        verify(deviceRegistry, times(2)).put(any());
+        verify(changePublisher).publishAll(DeviceChangeType.CREATED, List.of(1L), DeviceState.AVAILABLE);
+        verify(changePublisher).publishAll(DeviceChangeType.CREATED, List.of(2L), DeviceState.INACTIVE);
+        verify(changePublisher, never()).publish(any(), any(), any());
+    }
+
+    @Test
+    void shouldNotCallRepositoryWhenEveryItemIsRejected() {
+        // GIVEN - Arrange
+        var requests = Arrays.asList(
+                new CreateDeviceRequest("iPhone 15", null, DeviceState.AVAILABLE),
+                null);
+
+        // WHEN - Act
+        var response = bulkCreateDevicesUseCase.execute(requests);
+
+        // THEN - Assert
+        assertThat(response.created()).isZero();
+        assertThat(response.rejected()).isEqualTo(2);
+        assertThat(response.results()).extracting(BulkCreateItemResult::error)
+                .containsExactly("Brand cannot be null", "Device cannot be null");
+
+        verify(deviceRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void shouldRejectEmptyRequest() {
+        // WHEN/THEN - Exception is thrown
+        assertThatThrownBy(() -> bulkCreateDevicesUseCase.execute(Collections.emptyList()))
+                .isInstanceOf(DeviceValidationException.class);
+
+        verify(deviceRepository, never()).saveAll(anyList());
+    }
+}
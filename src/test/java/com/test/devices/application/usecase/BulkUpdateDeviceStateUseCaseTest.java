@@ -0,0 +1,153 @@
+package com.test.devices.application.usecase;
+
+import com.test.devices.application.dto.BulkStateChangeRequest;
+import com.test.devices.application.dto.DeviceResponse;
+import com.test.devices.application.event.DeviceChangePublisher;
+import com.test.devices.application.exception.DeviceValidationException;
+import com.test.devices.application.query.DeviceCounters;
+import com.test.devices.application.query.DeviceQueries;
+import com.test.devices.application.query.DeviceRegistry;
+import com.test.devices.domain.model.DeviceState;
+import com.test.devices.domain.repository.DeviceCriteria;
+import com.test.devices.domain.repository.DeviceRepository;
+import com.test.devices.domain.repository.DeviceStateChange;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkUpdateDeviceStateUseCaseTest {
+
+    @Mock
+    DeviceRepository deviceRepository;
+
+    @Mock
+    DeviceChangePublisher changePublisher;
+
+    @Mock
+    DeviceCounters deviceCounters;
+
+    @Mock
+    DeviceRegistry deviceRegistry;
+
+    @Mock
+    DeviceQueries deviceQueries;
+
+    @InjectMocks
+    BulkUpdateDeviceStateUseCase bulkUpdateDeviceStateUseCase;
+
+    @Test
+    void shouldReportChangedAndUnchangedIds() {
+        // GIVEN - Arrange
+        var request = new BulkStateChangeRequest(List.of(1L, 2L, 3L, 3L), null, null, DeviceState.IN_USE);
+
+        List<DeviceStateChange> changes = List.of(
+                new DeviceStateChange(1L, "Apple", DeviceState.AVAILABLE),
+                new DeviceStateChange(3L, "Apple", DeviceState.INACTIVE));
+        when(deviceRepository.updateState(request.ids(), DeviceState.IN_USE)).thenReturn(changes);
+
+        // WHEN - Act
+        var response = bulkUpdateDeviceStateUseCase.execute(request);
+
+        // THEN - Assert
+        assertThat(response.state()).isEqualTo(DeviceState.IN_USE);
+        assertThat(response.changed()).containsExactly(1L, 3L);
+        assertThat(response.unchanged()).containsExactly(2L);
+        verify(deviceCounters).stateChanged(changes, DeviceState.IN_USE);
+        verifyNoInteractions(deviceQueries);
+    }
+
+    @Test
+    void shouldUpdateByFilterWhenNoIdsGiven() {
+        // GIVEN - Arrange
+        var request = new BulkStateChangeRequest(null, "Apple", DeviceState.AVAILABLE, DeviceState.IN_USE);
+        var criteria = DeviceCriteria.none().withBrand("Apple").withState(DeviceState.AVAILABLE);
+
+        when(deviceRepository.findIdsToChange(criteria, DeviceState.IN_USE, BulkUpdateDeviceStateUseCase.MAX_IDS + 1))
+                .thenReturn(List.of(4L, 5L));
+        when(deviceRepository.updateState(List.of(4L, 5L), DeviceState.IN_USE)).thenReturn(List.of(
+                new DeviceStateChange(4L, "Apple", DeviceState.AVAILABLE),
+                new DeviceStateChange(5L, "Apple", DeviceState.AVAILABLE)));
+
+        // WHEN - Act
+        var response = bulkUpdateDeviceStateUseCase.execute(request);
+
+        // THEN - Assert
+        assertThat(response.changed()).containsExactly(4L, 5L);
+        assertThat(response.unchanged()).isEmpty();
+    }
+
+    @Test
+    void shouldRejectFilterMatchingMoreThanTheCap() {
+        // GIVEN - The filter matches one device more than a request may change
+        var request = new BulkStateChangeRequest(null, "Apple", null, DeviceState.INACTIVE);
+        List<Long> matching = LongStream.rangeClosed(1, BulkUpdateDeviceStateUseCase.MAX_IDS + 1).boxed().toList();
+        when(deviceRepository.findIdsToChange(any(), eq(DeviceState.INACTIVE), anyInt())).thenReturn(matching);
+
+        // WHEN/THEN - Exception is thrown before anything is locked
+        assertThatThrownBy(() -> bulkUpdateDeviceStateUseCase.execute(request))
+                .isInstanceOf(DeviceValidationException.class)
+                .hasMessageContaining("Filter matches more than " + BulkUpdateDeviceStateUseCase.MAX_IDS + " devices");
+
+        verify(deviceRepository, never()).updateState(anyCollection(), any());
+        verifyNoInteractions(changePublisher);
+    }
+
+    @Test
+    void shouldRegisterChangedDevicesAsStoredWhenRegistryEnabled() {
+        // GIVEN - The database assigned the new versions
+        var request = new BulkStateChangeRequest(List.of(1L, 2L), null, null, DeviceState.INACTIVE);
+        var stored = new DeviceResponse(1L, "iPhone 15", "Apple", DeviceState.INACTIVE, LocalDateTime.now(), 3L, LocalDateTime.now());
+
+        when(deviceRepository.updateState(request.ids(), DeviceState.INACTIVE))
+                .thenReturn(List.of(new DeviceStateChange(1L, "Apple", DeviceState.AVAILABLE)));
+        when(deviceRegistry.isEnabled()).thenReturn(true);
+        when(deviceQueries.findByIds(List.of(1L))).thenReturn(List.of(stored));
+
+        // WHEN - Act
+        bulkUpdateDeviceStateUseCase.execute(request);
+
+        // THEN - Assert
+        verify(deviceRegistry).put(stored);
+    }
+
+    @Test
+    void shouldRejectRequestWithoutSelection() {
+        // GIVEN - Neither ids nor a filter
+        var request = new BulkStateChangeRequest(List.of(), " ", null, DeviceState.IN_USE);
+
+        // WHEN/THEN - Exception is thrown
+        assertThatThrownBy(() -> bulkUpdateDeviceStateUseCase.execute(request))
+                .isInstanceOf(DeviceValidationException.class)
+                .hasMessageContaining("Either ids or a brand/currentState filter is required");
+
+        verifyNoInteractions(deviceRepository);
+    }
+
+    @Test
+    void shouldRejectMissingTargetState() {
+        // GIVEN - No target state
+        var request = new BulkStateChangeRequest(List.of(1L), null, null, null);
+
+        // WHEN/THEN - Exception is thrown
+        assertThatThrownBy(() -> bulkUpdateDeviceStateUseCase.execute(request))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("State cannot be null");
+
+        verifyNoInteractions(deviceRepository);
+    }
+}
@@ -1,6 +1,11 @@
 package com.test.devices.application.usecase;
 
 import com.test.devices.application.dto.CreateDeviceRequest;
+import com.test.devices.application.event.DeviceChangePublisher;
+import com.test.devices.application.event.DeviceChangeType;
+import com.test.devices.application.query.DeviceCounters;
+import com.test.devices.application.query.DeviceRegistry;
+import com.test.devices.application.query.DeviceSearch;
 import com.test.devices.domain.model.Device;
 import com.test.devices.domain.model.DeviceState;
 import com.test.devices.domain.repository.DeviceRepository;
@@ -21,6 +26,18 @@ class CreateDeviceUseCaseTest {
     @Mock
     DeviceRepository deviceRepository;
 
+    @Mock
+    DeviceChangePublisher changePublisher;
+
+    @Mock
+    DeviceSearch deviceSearch;
+
+    @Mock
+    DeviceCounters deviceCounters;
+
+    @Mock
+    DeviceRegistry deviceRegistry;
+
     @InjectMocks
     CreateDeviceUseCase createDeviceUseCase;
 
@@ -45,6 +62,10 @@ class CreateDeviceUseCaseTest {
         assertThat(response.creationTime()).isNotNull();
 
         verify(deviceRepository, times(1)).save(any(Device.class));
+        verify(changePublisher).publish(DeviceChangeType.CREATED, 1L, DeviceState.AVAILABLE);
+        verify(deviceSearch).index(expectedDevice);
+        verify(deviceCounters).created(expectedDevice.getBrand(), DeviceState.AVAILABLE);
+        verify(deviceRegistry).put(response);
     }
 
     @Test
@@ -1,9 +1,15 @@
 package com.test.devices.application.usecase;
 
+import com.test.devices.application.event.DeviceChangePublisher;
+import com.test.devices.application.event.DeviceChangeType;
 import com.test.devices.application.exception.DeviceNotFoundException;
+import com.test.devices.application.exception.DevicePreconditionFailedException;
 import com.test.devices.application.exception.DeviceValidationException;
-import com.test.devices.domain.model.Device;
+import com.test.devices.application.query.DeviceCounters;
+import com.test.devices.application.query.DeviceRegistry;
+import com.test.devices.application.query.DeviceSearch;
 import com.test.devices.domain.model.DeviceState;
+import com.test.devices.domain.repository.DeleteOutcome;
 import com.test.devices.domain.repository.DeviceRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,10 +17,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.Optional;
-
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
-import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -26,54 +29,62 @@ class DeleteDeviceUseCaseTest {
     @Mock
     DeviceRepository deviceRepository;
 
+    @Mock
+    DeviceChangePublisher changePublisher;
+
+    @Mock
+    DeviceSearch deviceSearch;
+
+    @Mock
+    DeviceCounters deviceCounters;
+
+    @Mock
+    DeviceRegistry deviceRegistry;
+
     @InjectMocks
     DeleteDeviceUseCase deleteDeviceUseCase;
 
     @Test
     void shouldDeleteDeviceSuccessfully() {
         // GIVEN - An available device
-        Device device = Device.create("iPhone 15", "Apple", DeviceState.AVAILABLE);
-        device.setId(1L);
-
-        when(deviceRepository.findById(1L)).thenReturn(Optional.of(device));
-        doNothing().when(deviceRepository).delete(device);
+        when(deviceRepository.deleteIfDeletable(1L, null)).thenReturn(DeleteOutcome.deleted("Apple", DeviceState.AVAILABLE));
 
         // WHEN - Deleting device
         deleteDeviceUseCase.execute(1L);
 
-        // THEN - Device is deleted
-        verify(deviceRepository, times(1)).findById(1L);
-        verify(deviceRepository, times(1)).delete(device);
+        // THEN - Device is deleted without being loaded first
+        verify(deviceRepository, times(1)).deleteIfDeletable(1L, null);
+        verify(deviceRepository, never()).findById(any());
+        verify(changePublisher).publish(DeviceChangeType.DELETED, 1L, null);
+        verify(deviceSearch).remove(1L);
+        verify(deviceCounters).deleted("Apple", DeviceState.AVAILABLE);
+        verify(deviceRegistry).remove(1L);
     }
 
     @Test
     void shouldThrowExceptionWhenDeviceNotFound() {
         // GIVEN - Non-existent device
-        when(deviceRepository.findById(1L)).thenReturn(Optional.empty());
+        when(deviceRepository.deleteIfDeletable(1L, null)).thenReturn(DeleteOutcome.NOT_FOUND);
 
         // WHEN/THEN - Exception is thrown
         assertThatThrownBy(() -> deleteDeviceUseCase.execute(1L))
                 .isInstanceOf(DeviceNotFoundException.class);
 
-        verify(deviceRepository, times(1)).findById(1L);
-        verify(deviceRepository, never()).delete(any(Device.class));
+        verify(deviceRepository, times(1)).deleteIfDeletable(1L, null);
     }
 
     @Test
     void shouldThrowExceptionWhenDeletingInUseDevice() {
         // GIVEN - Device in use
-        Device device = Device.create("iPhone 15", "Apple", DeviceState.IN_USE);
-        device.setId(1L);
-
-        when(deviceRepository.findById(1L)).thenReturn(Optional.of(device));
+        when(deviceRepository.deleteIfDeletable(1L, null)).thenReturn(DeleteOutcome.IN_USE);
 
         // WHEN/THEN - Exception is thrown
         assertThatThrownBy(() -> deleteDeviceUseCase.execute(1L))
                 .isInstanceOf(DeviceValidationException.class)
                 .hasMessageContaining("Cannot delete device that is in use");
 
-        verify(deviceRepository, times(1)).findById(1L);
-        verify(deviceRepository, never()).delete(any(Device.class));
+        verify(deviceRepository, times(1)).deleteIfDeletable(1L, null);
+        verifyNoInteractions(changePublisher, deviceSearch, deviceCounters, deviceRegistry);
     }
 
     @Test
@@ -83,7 +94,16 @@ class DeleteDeviceUseCaseTest {
                 .isInstanceOf(NullPointerException.class)
                 .hasMessage("Device ID cannot be null");
 
-        verify(deviceRepository, never()).findById(any());
-        verify(deviceRepository, never()).delete(any(Device.class));
+        verifyNoInteractions(deviceRepository);
+    }
+
+    @Test
+    void shouldFailPreconditionWhenVersionDiffers() {
+        // GIVEN - Device at another version
+        when(deviceRepository.deleteIfDeletable(1L, 2L)).thenReturn(DeleteOutcome.VERSION_MISMATCH);
+
+        // WHEN/THEN - Exception is thrown
+        assertThatThrownBy(() -> deleteDeviceUseCase.execute(1L, 2L))
+                .isInstanceOf(DevicePreconditionFailedException.class);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,61 @@
+package com.test.devices.application.usecase;
+
+import com.test.devices.application.dto.DeviceResponse;
+import com.test.devices.domain.model.Device;
+import com.test.devices.domain.model.DeviceState;
+import com.test.devices.domain.repository.DeviceRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportDevicesUseCaseTest {
+
+    @Mock
+    DeviceRepository deviceRepository;
+
+    @InjectMocks
+    ExportDevicesUseCase exportDevicesUseCase;
+
+    @Test
+    void shouldPassEveryDeviceToSinkAndCloseStream() {
+        // GIVEN - Arrange
+        var device1 = Device.create("iPhone 15", "Apple", DeviceState.AVAILABLE);
+        device1.setId(1L);
+        var device2 = Device.create("Pixel 8", "Google", DeviceState.INACTIVE);
+        device2.setId(2L);
+        AtomicBoolean closed = new AtomicBoolean();
+
+        when(deviceRepository.streamAll()).thenReturn(Stream.of(device1, device2).onClose(() -> closed.set(true)));
+
+        // WHEN - Act
+        List<DeviceResponse> exported = new ArrayList<>();
+        long count = exportDevicesUseCase.execute(exported::add);
+
+        // THEN - Assert
+        assertThat(count).isEqualTo(2);
+        assertThat(exported).extracting(DeviceResponse::id).containsExactly(1L, 2L);
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void shouldThrowNullPointerExceptionWhenSinkIsNull() {
+        // WHEN/THEN - Exception is thrown
+        assertThatThrownBy(() -> exportDevicesUseCase.execute(null))
+                .isInstanceOf(NullPointerException.class)
+                .hasMessage("Sink cannot be null");
+
+        verify(deviceRepository, never()).streamAll();
+    }
+}
@@ -4,12 +4,14 @@ import com.test.devices.application.exception.DeviceNotFoundException;
 import com.test.devices.domain.model.Device;
 import com.test.devices.domain.model.DeviceState;
 import com.test.devices.domain.repository.DeviceRepository;
+import com.test.devices.domain.repository.DeviceVersion;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -97,4 +99,28 @@ class GetDeviceUseCaseTest {
         verify(deviceRepository, times(1)).findById(3L);
     }
 
-}
\ No newline at end of file
+
+    @Test
+    void shouldGetDeviceVersionWithoutLoadingDevice() {
+        // GIVEN - Arrange
+        var version = new DeviceVersion(1L, 2L, LocalDateTime.now());
+        when(deviceRepository.findVersion(1L)).thenReturn(Optional.of(version));
+
+        // WHEN - Act
+        var response = getDeviceUseCase.executeVersion(1L);
+
+        // THEN - Assert
+        assertThat(response).isEqualTo(version);
+        verify(deviceRepository, never()).findById(any());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenVersionOfMissingDeviceRequested() {
+        // GIVEN - Arrange
+        when(deviceRepository.findVersion(999L)).thenReturn(Optional.empty());
+
+        // WHEN & THEN - Act & Assert
+        assertThatThrownBy(() -> getDeviceUseCase.executeVersion(999L))
+                .isInstanceOf(DeviceNotFoundException.class);
+    }
+}
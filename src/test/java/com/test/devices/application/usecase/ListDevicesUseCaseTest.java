@@ -1,172 +1,143 @@
 package com.test.devices.application.usecase;
 
+import com.test.devices.application.dto.DeviceCursor;
 import com.test.devices.application.dto.DeviceResponse;
-import com.test.devices.domain.model.Device;
+import com.test.devices.application.exception.DeviceValidationException;
+import com.test.devices.application.query.DeviceQueries;
 import com.test.devices.domain.model.DeviceState;
-import com.test.devices.domain.repository.DeviceRepository;
+import com.test.devices.domain.repository.DeviceCriteria;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class ListDevicesUseCaseTest {
 
     @Mock
-    DeviceRepository deviceRepository;
+    DeviceQueries deviceQueries;
 
     @InjectMocks
     ListDevicesUseCase listDevicesUseCase;
 
     @Test
-    void shouldListAllDevicesWhenNoFiltersProvided() {
+    void shouldReturnFirstPageWhenNoFiltersProvided() {
         // GIVEN - Arrange
-        var device1 = Device.create("iPhone 15", "Apple", DeviceState.AVAILABLE);
-        device1.setId(1L);
-        var device2 = Device.create("Galaxy S24", "Samsung", DeviceState.IN_USE);
-        device2.setId(2L);
-        var device3 = Device.create("Pixel 8", "Google", DeviceState.INACTIVE);
-        device3.setId(3L);
+        var device1 = device(1L, "iPhone 15", "Apple", DeviceState.AVAILABLE);
+        var device2 = device(2L, "Galaxy S24", "Samsung", DeviceState.IN_USE);
+        var device3 = device(3L, "Pixel 8", "Google", DeviceState.INACTIVE);
 
-        when(deviceRepository.findAll()).thenReturn(Arrays.asList(device1, device2, device3));
+        when(deviceQueries.findPage(DeviceCriteria.none(), null, ListDevicesUseCase.DEFAULT_PAGE_SIZE + 1))
+                .thenReturn(Arrays.asList(device1, device2, device3));
 
         // WHEN - Act
-        var responses = listDevicesUseCase.execute(null, null);
+        var page = listDevicesUseCase.executePage(DeviceCriteria.none(), null, null);
 
         // THEN - Assert
-        assertThat(responses).hasSize(3);
-        assertThat(responses.get(0).name()).isEqualTo("iPhone 15");
-        assertThat(responses.get(1).name()).isEqualTo("Galaxy S24");
-        assertThat(responses.get(2).name()).isEqualTo("Pixel 8");
-
-        verify(deviceRepository, times(1)).findAll();
-        verify(deviceRepository, never()).findByBrand(any());
-        verify(deviceRepository, never()).findByState(any());
+        assertThat(page.items()).extracting(DeviceResponse::name).containsExactly("iPhone 15", "Galaxy S24", "Pixel 8");
+        assertThat(page.next()).isNull();
+
+        verify(deviceQueries, times(1)).findPage(DeviceCriteria.none(), null, ListDevicesUseCase.DEFAULT_PAGE_SIZE + 1);
     }
 
     @Test
-    void shouldListDevicesByBrand() {
+    void shouldCombineBrandAndStateFiltersInOneQuery() {
         // GIVEN - Arrange
-        var device1 = Device.create("iPhone 15", "Apple", DeviceState.AVAILABLE);
-        device1.setId(1L);
-        var device2 = Device.create("MacBook Pro", "Apple", DeviceState.IN_USE);
-        device2.setId(2L);
+        var device = device(1L, "iPhone 15", "Apple", DeviceState.AVAILABLE);
+        var criteria = DeviceCriteria.none().withBrand("Apple").withState(DeviceState.AVAILABLE);
 
-        when(deviceRepository.findByBrand("Apple")).thenReturn(Arrays.asList(device1, device2));
+        when(deviceQueries.findPage(criteria, null, 11)).thenReturn(Collections.singletonList(device));
 
         // WHEN - Act
-        var responses = listDevicesUseCase.execute("Apple", null);
+        var page = listDevicesUseCase.executePage(criteria, null, 10);
 
         // THEN - Assert
-        assertThat(responses).hasSize(2);
-        assertThat(responses).allMatch(r -> r.brand().equals("Apple"));
+        assertThat(page.items()).hasSize(1);
 
-        verify(deviceRepository, times(1)).findByBrand("Apple");
-        verify(deviceRepository, never()).findAll();
-        verify(deviceRepository, never()).findByState(any());
+        verify(deviceQueries, times(1)).findPage(criteria, null, 11);
+        verifyNoMoreInteractions(deviceQueries);
     }
 
     @Test
-    void shouldListDevicesByState() {
+    void shouldReturnPageWithNextCursorWhenMoreDevicesExist() {
         // GIVEN - Arrange
-        var device1 = Device.create("iPhone 15", "Apple", DeviceState.AVAILABLE);
-        device1.setId(1L);
-        var device2 = Device.create("Pixel 8", "Google", DeviceState.AVAILABLE);
-        device2.setId(2L);
+        var device1 = device(1L, "Device 1", "Brand A", DeviceState.AVAILABLE);
+        var device2 = device(2L, "Device 2", "Brand A", DeviceState.AVAILABLE);
+        var device3 = device(3L, "Device 3", "Brand A", DeviceState.AVAILABLE);
 
-        when(deviceRepository.findByState(DeviceState.AVAILABLE)).thenReturn(Arrays.asList(device1, device2));
+        when(deviceQueries.findPage(DeviceCriteria.none(), null, 3)).thenReturn(Arrays.asList(device1, device2, device3));
 
         // WHEN - Act
-        var responses = listDevicesUseCase.execute(null, DeviceState.AVAILABLE);
+        var page = listDevicesUseCase.executePage(DeviceCriteria.none(), null, 2);
 
         // THEN - Assert
-        assertThat(responses).hasSize(2);
-        assertThat(responses).allMatch(r -> r.state().equals(DeviceState.AVAILABLE));
-
-        verify(deviceRepository, times(1)).findByState(DeviceState.AVAILABLE);
-        verify(deviceRepository, never()).findAll();
-        verify(deviceRepository, never()).findByBrand(any());
+        assertThat(page.items()).extracting(DeviceResponse::id).containsExactly(1L, 2L);
+        assertThat(page.next()).isEqualTo(DeviceCursor.encode(2L));
     }
 
     @Test
-    void shouldReturnEmptyListWhenNoDevicesFound() {
+    void shouldResumeFromCursorAndOmitNextOnLastPage() {
         // GIVEN - Arrange
-        when(deviceRepository.findAll()).thenReturn(Collections.emptyList());
-
-        // WHEN - Act
-        var responses = listDevicesUseCase.execute(null, null);
+        var device = device(3L, "Device 3", "Brand A", DeviceState.IN_USE);
 
-        // THEN - Assert
-        assertThat(responses).isEmpty();
+        var criteria = DeviceCriteria.none().withBrand("Brand A").withState(DeviceState.IN_USE);
 
-        verify(deviceRepository, times(1)).findAll();
-    }
-
-    @Test
-    void shouldIgnoreBlankBrandFilter() {
-        // GIVEN - Arrange
-        var device = Device.create("iPhone 15", "Apple", DeviceState.AVAILABLE);
-        device.setId(1L);
-
-        when(deviceRepository.findAll()).thenReturn(Collections.singletonList(device));
+        when(deviceQueries.findPage(criteria, 2L, 3)).thenReturn(Collections.singletonList(device));
 
         // WHEN - Act
-        var responses = listDevicesUseCase.execute("   ", null);
+        var page = listDevicesUseCase.executePage(criteria, DeviceCursor.encode(2L), 2);
 
         // THEN - Assert
-        assertThat(responses).hasSize(1);
-
-        verify(deviceRepository, times(1)).findAll();
-        verify(deviceRepository, never()).findByBrand(any());
+        assertThat(page.items()).extracting(DeviceResponse::id).containsExactly(3L);
+        assertThat(page.next()).isNull();
     }
 
     @Test
-    void shouldPrioritizeBrandFilterOverStateFilter() {
+    void shouldUseDefaultPageSizeWhenLimitNotProvided() {
         // GIVEN - Arrange
-        var device = Device.create("iPhone 15", "Apple", DeviceState.AVAILABLE);
-        device.setId(1L);
-
-        when(deviceRepository.findByBrand("Apple")).thenReturn(Collections.singletonList(device));
+        when(deviceQueries.findPage(DeviceCriteria.none(), null, ListDevicesUseCase.DEFAULT_PAGE_SIZE + 1))
+                .thenReturn(Collections.emptyList());
 
         // WHEN - Act
-        var responses = listDevicesUseCase.execute("Apple", DeviceState.AVAILABLE);
+        var page = listDevicesUseCase.executePage(DeviceCriteria.none().withBrand("  "), null, null);
 
         // THEN - Assert
-        assertThat(responses).hasSize(1);
-
-        verify(deviceRepository, times(1)).findByBrand("Apple");
-        verify(deviceRepository, never()).findByState(any());
-        verify(deviceRepository, never()).findAll();
+        assertThat(page.items()).isEmpty();
+        assertThat(page.next()).isNull();
     }
 
     @Test
-    void shouldListDevicesWithDifferentStates() {
-        // GIVEN - Arrange
-        var availableDevice = Device.create("Device 1", "Brand A", DeviceState.AVAILABLE);
-        availableDevice.setId(1L);
-        var inUseDevice = Device.create("Device 2", "Brand B", DeviceState.IN_USE);
-        inUseDevice.setId(2L);
-        var inactiveDevice = Device.create("Device 3", "Brand C", DeviceState.INACTIVE);
-        inactiveDevice.setId(3L);
-
-        when(deviceRepository.findAll()).thenReturn(Arrays.asList(availableDevice, inUseDevice, inactiveDevice));
-
-        // WHEN - Act
-        var responses = listDevicesUseCase.execute(null, null);
+    void shouldRejectOutOfRangeLimit() {
+        // WHEN/THEN - Exception is thrown
+        assertThatThrownBy(() -> listDevicesUseCase.executePage(DeviceCriteria.none(), null, 0))
+                .isInstanceOf(DeviceValidationException.class);
+        assertThatThrownBy(() -> listDevicesUseCase.executePage(DeviceCriteria.none(), null, ListDevicesUseCase.MAX_PAGE_SIZE + 1))
+                .isInstanceOf(DeviceValidationException.class);
+
+        verify(deviceQueries, never()).findPage(any(), any(), anyInt());
+    }
 
-        // THEN - Assert
-        assertThat(responses).hasSize(3);
-        assertThat(responses).extracting(DeviceResponse::state)
-                .containsExactlyInAnyOrder(DeviceState.AVAILABLE, DeviceState.IN_USE, DeviceState.INACTIVE);
+    @Test
+    void shouldRejectMalformedCursor() {
+        // WHEN/THEN - Exception is thrown
+        assertThatThrownBy(() -> listDevicesUseCase.executePage(DeviceCriteria.none(), "not-a-cursor", 10))
+                .isInstanceOf(DeviceValidationException.class)
+                .hasMessageContaining("Invalid pagination cursor");
+    }
 
-        verify(deviceRepository, times(1)).findAll();
+    private static DeviceResponse device(Long id, String name, String brand, DeviceState state) {
+        LocalDateTime now = LocalDateTime.now();
+        return new DeviceResponse(id, name, brand, state, now, 0L, now);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,77 @@
+package com.test.devices.application.usecase;
+
+import com.test.devices.application.event.DeviceChangeType;
+import com.test.devices.application.event.DeviceEventSink;
+import com.test.devices.application.event.DeviceOutbox;
+import com.test.devices.application.event.DeviceOutboxEvent;
+import com.test.devices.domain.model.DeviceState;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RelayDeviceEventsUseCaseTest {
+
+    @Mock
+    DeviceOutbox outbox;
+
+    @Mock
+    DeviceEventSink sink;
+
+    @InjectMocks
+    RelayDeviceEventsUseCase relayDeviceEventsUseCase;
+
+    @Test
+    void shouldDeliverAndRemoveNextBatch() {
+        // GIVEN - Two pending events
+        List<DeviceOutboxEvent> events = List.of(
+                new DeviceOutboxEvent(10L, DeviceChangeType.CREATED, 1L, DeviceState.AVAILABLE, LocalDateTime.now()),
+                new DeviceOutboxEvent(11L, DeviceChangeType.DELETED, 1L, null, LocalDateTime.now()));
+        when(outbox.lockNextBatch(100)).thenReturn(events);
+
+        // WHEN - Relaying
+        List<DeviceOutboxEvent> delivered = relayDeviceEventsUseCase.execute(100);
+
+        // THEN - They reach the sink and leave the outbox
+        assertThat(delivered).isEqualTo(events);
+        verify(sink).deliver(events);
+        verify(outbox).remove(List.of(10L, 11L));
+    }
+
+    @Test
+    void shouldKeepEventsWhenSinkFails() {
+        // GIVEN - A sink that rejects the batch
+        List<DeviceOutboxEvent> events = List.of(
+                new DeviceOutboxEvent(10L, DeviceChangeType.CREATED, 1L, DeviceState.AVAILABLE, LocalDateTime.now()));
+        when(outbox.lockNextBatch(100)).thenReturn(events);
+        doThrow(new IllegalStateException("sink down")).when(sink).deliver(events);
+
+        // WHEN/THEN - The failure propagates and nothing is removed
+        assertThatThrownBy(() -> relayDeviceEventsUseCase.execute(100)).isInstanceOf(IllegalStateException.class);
+        verify(outbox, never()).remove(any());
+    }
+
+    @Test
+    void shouldDoNothingWhenOutboxIsEmpty() {
+        // GIVEN - No pending events
+        when(outbox.lockNextBatch(100)).thenReturn(List.of());
+
+        // WHEN
+        List<DeviceOutboxEvent> delivered = relayDeviceEventsUseCase.execute(100);
+
+        // THEN
+        assertThat(delivered).isEmpty();
+        verify(sink, never()).deliver(anyList());
+    }
+}
@@ -0,0 +1,111 @@
+package com.test.devices.application.usecase;
+
+import com.test.devices.application.dto.DeviceCursor;
+import com.test.devices.application.dto.DeviceResponse;
+import com.test.devices.application.exception.DeviceValidationException;
+import com.test.devices.application.query.DeviceQueries;
+import com.test.devices.application.query.DeviceSearch;
+import com.test.devices.domain.model.DeviceState;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SearchDevicesUseCaseTest {
+
+    @Mock
+    DeviceSearch deviceSearch;
+
+    @Mock
+    DeviceQueries deviceQueries;
+
+    @InjectMocks
+    SearchDevicesUseCase searchDevicesUseCase;
+
+    @Test
+    void shouldReturnDevicesInRankingOrder() {
+        // GIVEN - The index ranks device 7 above device 3; the query returns them by id
+        when(deviceSearch.search("iphone", 0, SearchDevicesUseCase.DEFAULT_PAGE_SIZE + 1)).thenReturn(List.of(7L, 3L));
+        when(deviceQueries.findByIds(List.of(7L, 3L))).thenReturn(List.of(
+                device(3L, "iPhone 12 case", "Generic"),
+                device(7L, "iPhone 15", "Apple")));
+
+        // WHEN - Act
+        var page = searchDevicesUseCase.execute("iphone", null, null);
+
+        // THEN - Assert
+        assertThat(page.items()).extracting(DeviceResponse::id).containsExactly(7L, 3L);
+        assertThat(page.next()).isNull();
+    }
+
+    @Test
+    void shouldReturnCursorWithOffsetOfNextPage() {
+        // GIVEN - More matches than fit in the page
+        when(deviceSearch.search("pixel", 4, 3)).thenReturn(List.of(1L, 2L, 5L));
+        when(deviceQueries.findByIds(List.of(1L, 2L))).thenReturn(List.of(
+                device(1L, "Pixel 8", "Google"),
+                device(2L, "Pixel 8 Pro", "Google")));
+
+        // WHEN - Act
+        var page = searchDevicesUseCase.execute("pixel", DeviceCursor.encode(4L), 2);
+
+        // THEN - Assert
+        assertThat(page.items()).extracting(DeviceResponse::id).containsExactly(1L, 2L);
+        assertThat(DeviceCursor.decode(page.next())).isEqualTo(6L);
+    }
+
+    @Test
+    void shouldLeaveOutDevicesDeletedSinceTheyWereMatched() {
+        // GIVEN - Device 4 is still indexed but no longer in the database
+        when(deviceSearch.search("galaxy", 0, 11)).thenReturn(List.of(4L, 9L));
+        when(deviceQueries.findByIds(List.of(4L, 9L))).thenReturn(List.of(device(9L, "Galaxy S24", "Samsung")));
+
+        // WHEN - Act
+        var page = searchDevicesUseCase.execute("galaxy", null, 10);
+
+        // THEN - Assert
+        assertThat(page.items()).extracting(DeviceResponse::id).containsExactly(9L);
+    }
+
+    @Test
+    void shouldRejectMissingOrTooLongQuery() {
+        // WHEN/THEN - Exception is thrown
+        assertThatThrownBy(() -> searchDevicesUseCase.execute(" ", null, null))
+                .isInstanceOf(DeviceValidationException.class)
+                .hasMessageContaining("required");
+        assertThatThrownBy(() -> searchDevicesUseCase.execute("x".repeat(SearchDevicesUseCase.MAX_QUERY_LENGTH + 1), null, null))
+                .isInstanceOf(DeviceValidationException.class);
+
+        verifyNoInteractions(deviceSearch, deviceQueries);
+    }
+
+    @Test
+    void shouldRejectOutOfRangeLimitAndDeepPages() {
+        // WHEN/THEN - Exception is thrown
+        assertThatThrownBy(() -> searchDevicesUseCase.execute("apple", null, 0))
+                .isInstanceOf(DeviceValidationException.class);
+        assertThatThrownBy(() -> searchDevicesUseCase.execute("apple", null, SearchDevicesUseCase.MAX_PAGE_SIZE + 1))
+                .isInstanceOf(DeviceValidationException.class);
+        assertThatThrownBy(() -> searchDevicesUseCase.execute("apple", DeviceCursor.encode((long) SearchDevicesUseCase.MAX_RESULTS), null))
+                .isInstanceOf(DeviceValidationException.class)
+                .hasMessageContaining("first " + SearchDevicesUseCase.MAX_RESULTS);
+
+        verify(deviceSearch, never()).search(anyString(), anyInt(), anyInt());
+    }
+
+    private static DeviceResponse device(Long id, String name, String brand) {
+        LocalDateTime now = LocalDateTime.now();
+        return new DeviceResponse(id, name, brand, DeviceState.AVAILABLE, now, 0L, now);
+    }
+}
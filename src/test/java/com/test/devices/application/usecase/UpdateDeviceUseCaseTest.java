@@ -2,17 +2,24 @@ package com.test.devices.application.usecase;
 
 import com.test.devices.application.dto.DeviceResponse;
 import com.test.devices.application.dto.UpdateDeviceRequest;
+import com.test.devices.application.event.DeviceChangePublisher;
 import com.test.devices.application.exception.DeviceNotFoundException;
+import com.test.devices.application.exception.DevicePreconditionFailedException;
 import com.test.devices.application.exception.DeviceValidationException;
+import com.test.devices.application.query.DeviceCounters;
+import com.test.devices.application.query.DeviceRegistry;
+import com.test.devices.application.query.DeviceSearch;
 import com.test.devices.domain.model.Device;
 import com.test.devices.domain.model.DeviceState;
 import com.test.devices.domain.repository.DeviceRepository;
+import com.test.devices.domain.repository.StaleDeviceException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -27,6 +34,18 @@ class UpdateDeviceUseCaseTest {
     @Mock
     DeviceRepository deviceRepository;
 
+    @Mock
+    DeviceChangePublisher changePublisher;
+
+    @Mock
+    DeviceSearch deviceSearch;
+
+    @Mock
+    DeviceCounters deviceCounters;
+
+    @Mock
+    DeviceRegistry deviceRegistry;
+
     @InjectMocks
     UpdateDeviceUseCase updateDeviceUseCase;
 
@@ -37,7 +56,7 @@ class UpdateDeviceUseCaseTest {
 
         UpdateDeviceRequest request = new UpdateDeviceRequest(null, null, DeviceState.IN_USE);
 
-        when(deviceRepository.findById(1L)).thenReturn(Optional.of(device));
+        when(deviceRepository.findByIdForWrite(1L)).thenReturn(Optional.of(device));
         when(deviceRepository.save(any(Device.class))).thenReturn(device);
 
         DeviceResponse response = updateDeviceUseCase.execute(1L, request);
@@ -45,21 +64,24 @@ class UpdateDeviceUseCaseTest {
         assertThat(response).isNotNull();
         assertThat(response.state()).isEqualTo(DeviceState.IN_USE);
 
-        verify(deviceRepository, times(1)).findById(1L);
+        verify(deviceRepository, times(1)).findByIdForWrite(1L);
         verify(deviceRepository, times(1)).save(any(Device.class));
+        verify(deviceSearch).index(device);
+        verify(deviceCounters).changed("Apple", DeviceState.AVAILABLE, "Apple", DeviceState.IN_USE);
+        verify(deviceRegistry).put(response);
     }
 
     @Test
     void shouldThrowExceptionWhenDeviceNotFound() {
         UpdateDeviceRequest request = new UpdateDeviceRequest(null, null, DeviceState.IN_USE);
 
-        when(deviceRepository.findById(1L)).thenReturn(Optional.empty());
+        when(deviceRepository.findByIdForWrite(1L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> updateDeviceUseCase.execute(1L, request))
                 .isInstanceOf(DeviceNotFoundException.class)
                 .hasMessageContaining("Device not found");
 
-        verify(deviceRepository, times(1)).findById(1L);
+        verify(deviceRepository, times(1)).findByIdForWrite(1L);
         verify(deviceRepository, never()).save(any(Device.class));
     }
 
@@ -70,13 +92,56 @@ class UpdateDeviceUseCaseTest {
 
         UpdateDeviceRequest request = new UpdateDeviceRequest("New Name", null, null);
 
-        when(deviceRepository.findById(1L)).thenReturn(Optional.of(device));
+        when(deviceRepository.findByIdForWrite(1L)).thenReturn(Optional.of(device));
 
         assertThatThrownBy(() -> updateDeviceUseCase.execute(1L, request))
                 .isInstanceOf(DeviceValidationException.class)
                 .hasMessageContaining("Cannot update name or brand");
 
-        verify(deviceRepository, times(1)).findById(1L);
+        verify(deviceRepository, times(1)).findByIdForWrite(1L);
+        verify(deviceRepository, never()).save(any(Device.class));
+    }
+
+    @Test
+    void shouldUpdateWhenExpectedVersionMatches() {
+        Device device = Device.reconstitute(1L, "iPhone 15", "Apple", DeviceState.AVAILABLE, LocalDateTime.now(), 4L, LocalDateTime.now());
+
+        UpdateDeviceRequest request = new UpdateDeviceRequest(null, null, DeviceState.IN_USE);
+
+        when(deviceRepository.findByIdForWrite(1L)).thenReturn(Optional.of(device));
+        when(deviceRepository.save(device)).thenReturn(
+                Device.reconstitute(1L, "iPhone 15", "Apple", DeviceState.IN_USE, device.getCreationTime(), 5L, LocalDateTime.now()));
+
+        DeviceResponse response = updateDeviceUseCase.execute(1L, request, 4L);
+
+        assertThat(response.state()).isEqualTo(DeviceState.IN_USE);
+        assertThat(response.version()).isEqualTo(5L);
+    }
+
+    @Test
+    void shouldFailPreconditionWhenExpectedVersionDiffers() {
+        Device device = Device.reconstitute(1L, "iPhone 15", "Apple", DeviceState.AVAILABLE, LocalDateTime.now(), 4L, LocalDateTime.now());
+
+        UpdateDeviceRequest request = new UpdateDeviceRequest(null, null, DeviceState.IN_USE);
+
+        when(deviceRepository.findByIdForWrite(1L)).thenReturn(Optional.of(device));
+
+        assertThatThrownBy(() -> updateDeviceUseCase.execute(1L, request, 3L))
+                .isInstanceOf(DevicePreconditionFailedException.class);
+
         verify(deviceRepository, never()).save(any(Device.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldFailPreconditionWhenDeviceChangesConcurrently() {
+        Device device = Device.reconstitute(1L, "iPhone 15", "Apple", DeviceState.AVAILABLE, LocalDateTime.now(), 4L, LocalDateTime.now());
+
+        UpdateDeviceRequest request = new UpdateDeviceRequest(null, null, DeviceState.IN_USE);
+
+        when(deviceRepository.findByIdForWrite(1L)).thenReturn(Optional.of(device));
+        when(deviceRepository.save(device)).thenThrow(new StaleDeviceException(1L));
+
+        assertThatThrownBy(() -> updateDeviceUseCase.execute(1L, request))
+                .isInstanceOf(DevicePreconditionFailedException.class);
+    }
+}
@@ -161,9 +161,10 @@ class DeviceTest {
         String brand = "Apple";
         DeviceState state = DeviceState.AVAILABLE;
         LocalDateTime creationTime = LocalDateTime.now().minusDays(1);
+        LocalDateTime lastModified = LocalDateTime.now().minusHours(1);
 
         // WHEN - Reconstituting device
-        Device device = Device.reconstitute(id, name, brand, state, creationTime);
+        Device device = Device.reconstitute(id, name, brand, state, creationTime, 3L, lastModified);
 
         // THEN - Device has all properties
         assertThat(device.getId()).isEqualTo(id);
@@ -171,5 +172,7 @@ class DeviceTest {
         assertThat(device.getBrand()).isEqualTo(brand);
         assertThat(device.getState()).isEqualTo(state);
         assertThat(device.getCreationTime()).isEqualTo(creationTime);
+        assertThat(device.getVersion()).isEqualTo(3L);
+        assertThat(device.getLastModified()).isEqualTo(lastModified);
     }
 }
\ No newline at end of file
@@ -0,0 +1,95 @@
+package com.test.devices.infrastructure.cache;
+
+import com.test.devices.application.dto.CreateDeviceRequest;
+import com.test.devices.application.dto.DeviceResponse;
+import com.test.devices.application.dto.UpdateDeviceRequest;
+import com.test.devices.application.usecase.CreateDeviceUseCase;
+import com.test.devices.application.usecase.GetDeviceUseCase;
+import com.test.devices.application.usecase.UpdateDeviceUseCase;
+import com.test.devices.domain.model.DeviceState;
+import com.test.devices.infrastructure.persistance.ReplicaRouter;
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.agroal.DataSource;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@QuarkusTest
+@TestProfile(CachingDeviceRepositoryReplicaTest.LaggingReplicaProfile.class)
+class CachingDeviceRepositoryReplicaTest {
+
+    // The replica is a database of its own, only changed when a test replicates a row to it
+    public static class LaggingReplicaProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                "devices.replica.enabled", "true",
+                "devices.cache.enabled", "true",
+                "quarkus.datasource.\"replica\".jdbc.url", "jdbc:h2:mem:laggingreplica;DB_CLOSE_DELAY=-1",
+                "quarkus.hibernate-orm.\"replica\".database.generation", "drop-and-create");
+        }
+    }
+
+    @Inject
+    CreateDeviceUseCase createDeviceUseCase;
+
+    @Inject
+    UpdateDeviceUseCase updateDeviceUseCase;
+
+    @Inject
+    GetDeviceUseCase getDeviceUseCase;
+
+    @Inject
+    ReplicaRouter replicaRouter;
+
+    @Inject
+    @DataSource("replica")
+    AgroalDataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        replicaRouter.checkLag();
+    }
+
+    @Test
+    void shouldNotCacheRowsReadFromTheReplica() throws SQLException {
+        // GIVEN - A device updated on the primary, while the replica still has the version before
+        DeviceResponse created = createDeviceUseCase.execute(new CreateDeviceRequest("Pixel 8", "Google", DeviceState.AVAILABLE));
+        replicate(created);
+        DeviceResponse updated = updateDeviceUseCase.execute(created.id(), new UpdateDeviceRequest("Pixel 8 Pro", null, null));
+
+        // WHEN - It is read through the lagging replica, which then catches up
+        assertThat(getDeviceUseCase.execute(created.id()).name()).isEqualTo("Pixel 8");
+        replicate(updated);
+
+        // THEN - The next read is not the old row
+        assertThat(getDeviceUseCase.execute(created.id()).name()).isEqualTo("Pixel 8 Pro");
+    }
+
+    private void replicate(DeviceResponse device) throws SQLException {
+        try (Connection connection = replica.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                 "MERGE INTO devices (id, name, brand, state, creation_time, version, last_modified) KEY (id) "
+                     + "VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+            statement.setLong(1, device.id());
+            statement.setString(2, device.name());
+            statement.setString(3, device.brand());
+            statement.setString(4, device.state().name());
+            statement.setTimestamp(5, Timestamp.valueOf(device.creationTime()));
+            statement.setLong(6, device.version());
+            statement.setTimestamp(7, Timestamp.valueOf(device.lastModified()));
+            statement.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.test.devices.infrastructure.cache;
+
+import com.test.devices.domain.model.Device;
+import com.test.devices.domain.model.DeviceState;
+import com.test.devices.domain.repository.DeleteOutcome;
+import com.test.devices.domain.repository.DeviceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingDeviceRepositoryTest {
+
+    @Mock
+    DeviceRepository delegate;
+
+    DeviceCache cache;
+
+    CachingDeviceRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        cache = new DeviceCache();
+        cache.enabled = true;
+        cache.maximumSize = 100;
+        cache.ttl = Duration.ofMinutes(1);
+        cache.init();
+
+        repository = new CachingDeviceRepository();
+        repository.delegate = delegate;
+        repository.cache = cache;
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsFromCache() {
+        // GIVEN - A device in the underlying repository
+        Device device = Device.create("iPhone 15", "Apple", DeviceState.AVAILABLE);
+        device.setId(1L);
+        when(delegate.findById(1L)).thenReturn(Optional.of(device));
+
+        // WHEN - Looking it up twice
+        Optional<Device> first = repository.findById(1L);
+        Optional<Device> second = repository.findById(1L);
+
+        // THEN - Only the first lookup reaches the delegate
+        assertThat(first).contains(device);
+        assertThat(second).isPresent();
+        assertThat(second.get().getName()).isEqualTo("iPhone 15");
+        verify(delegate, times(1)).findById(1L);
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReturnIndependentCopiesOnHit() {
+        // GIVEN - A cached device
+        Device device = Device.create("iPhone 15", "Apple", DeviceState.AVAILABLE);
+        device.setId(1L);
+        when(delegate.findById(1L)).thenReturn(Optional.of(device));
+        repository.findById(1L);
+
+        // WHEN - A caller mutates the instance it received
+        repository.findById(1L).orElseThrow().updateState(DeviceState.IN_USE);
+
+        // THEN - The cached entry is unaffected
+        assertThat(repository.findById(1L).orElseThrow().getState()).isEqualTo(DeviceState.AVAILABLE);
+    }
+
+    @Test
+    void shouldNotCacheMissingDevices() {
+        // GIVEN - No device
+        when(delegate.findById(1L)).thenReturn(Optional.empty());
+
+        // WHEN - Looking it up twice
+        repository.findById(1L);
+        repository.findById(1L);
+
+        // THEN - Both lookups reach the delegate
+        verify(delegate, times(2)).findById(1L);
+    }
+
+    @Test
+    void shouldInvalidateOnSaveAndDelete() {
+        // GIVEN - A cached device
+        Device device = Device.create("iPhone 15", "Apple", DeviceState.AVAILABLE);
+        device.setId(1L);
+        when(delegate.findById(1L)).thenReturn(Optional.of(device));
+        when(delegate.save(device)).thenReturn(device);
+        when(delegate.deleteIfDeletable(1L, null)).thenReturn(DeleteOutcome.deleted("Apple", DeviceState.AVAILABLE));
+        repository.findById(1L);
+
+        // WHEN - Saving then deleting it
+        repository.save(device);
+        repository.findById(1L);
+        repository.deleteIfDeletable(1L, null);
+        repository.findById(1L);
+
+        // THEN - Every lookup after a write reaches the delegate
+        verify(delegate, times(3)).findById(1L);
+        verify(delegate).deleteIfDeletable(1L, null);
+    }
+
+    @Test
+    void shouldNotCacheRowReadBeforeConcurrentWriteCommitted() {
+        // GIVEN - A writer commits while the lookup is reading the previous row
+        Device stale = Device.create("iPhone 15", "Apple", DeviceState.AVAILABLE);
+        stale.setId(1L);
+        Device current = Device.reconstitute(1L, "iPhone 15", "Apple", DeviceState.IN_USE,
+                stale.getCreationTime(), 1L, stale.getLastModified());
+        when(delegate.findById(1L))
+                .thenAnswer(invocation -> {
+                    cache.invalidate(1L);
+                    return Optional.of(stale);
+                })
+                .thenReturn(Optional.of(current));
+
+        // WHEN - Looking it up during and after the write
+        Optional<Device> during = repository.findById(1L);
+        Optional<Device> after = repository.findById(1L);
+
+        // THEN - The stale row was returned once but not cached
+        assertThat(during).contains(stale);
+        assertThat(after.orElseThrow().getState()).isEqualTo(DeviceState.IN_USE);
+        assertThat(repository.findVersion(1L).orElseThrow().version()).isEqualTo(1L);
+        verify(delegate, times(2)).findById(1L);
+        verify(delegate, never()).findVersion(1L);
+    }
+
+    @Test
+    void shouldBypassCacheWhenDisabled() {
+        // GIVEN - Caching disabled
+        cache.enabled = false;
+        Device device = Device.create("iPhone 15", "Apple", DeviceState.AVAILABLE);
+        device.setId(1L);
+        when(delegate.findById(1L)).thenReturn(Optional.of(device));
+
+        // WHEN - Looking it up twice
+        repository.findById(1L);
+        repository.findById(1L);
+
+        // THEN - Both lookups reach the delegate
+        verify(delegate, times(2)).findById(1L);
+        assertThat(cache.size()).isZero();
+    }
+}
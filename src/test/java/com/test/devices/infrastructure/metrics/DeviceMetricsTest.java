@@ -0,0 +1,104 @@
+package com.test.devices.infrastructure.metrics;
+
+import com.test.devices.application.dto.CreateDeviceRequest;
+import com.test.devices.application.exception.DeviceNotFoundException;
+import com.test.devices.application.usecase.CreateDeviceUseCase;
+import com.test.devices.application.usecase.GetDeviceUseCase;
+import com.test.devices.domain.model.DeviceState;
+import com.test.devices.domain.repository.DeviceCriteria;
+import com.test.devices.infrastructure.persistance.JpaDeviceQueries;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.containsString;
+
+@QuarkusTest
+class DeviceMetricsTest {
+
+    @Inject
+    MeterRegistry registry;
+
+    @Inject
+    CreateDeviceUseCase createDeviceUseCase;
+
+    @Inject
+    GetDeviceUseCase getDeviceUseCase;
+
+    @Inject
+    JpaDeviceQueries queries;
+
+    @Test
+    void shouldTimeUseCasesByOutcome() {
+        // GIVEN
+        long found = useCaseCount("execute", "success");
+        long notFound = useCaseCount("execute", "not_found");
+        Long id = createDeviceUseCase.execute(new CreateDeviceRequest("Pixel 8", "Google", DeviceState.AVAILABLE)).id();
+
+        // WHEN
+        getDeviceUseCase.execute(id);
+        assertThatThrownBy(() -> getDeviceUseCase.execute(Long.MAX_VALUE)).isInstanceOf(DeviceNotFoundException.class);
+
+        // THEN
+        assertThat(useCaseCount("execute", "success")).isEqualTo(found + 1);
+        assertThat(useCaseCount("execute", "not_found")).isEqualTo(notFound + 1);
+    }
+
+    @Test
+    @Transactional
+    void shouldRecordRowsReturnedByRepositoryQueries() {
+        // GIVEN
+        createDeviceUseCase.execute(new CreateDeviceRequest("Galaxy S24", "Samsung", DeviceState.AVAILABLE));
+        int expectedRows = queries.findPage(DeviceCriteria.none().withBrand("Samsung"), null, 10).size();
+        DistributionSummary rows = registry.get("devices.repository.rows")
+                .tag("class", "JpaDeviceQueries")
+                .tag("method", "findPage")
+                .summary();
+        long calls = rows.count();
+
+        // WHEN
+        queries.findPage(DeviceCriteria.none().withBrand("Samsung"), null, 10);
+
+        // THEN
+        assertThat(rows.count()).isEqualTo(calls + 1);
+        assertThat(rows.max()).isGreaterThanOrEqualTo(expectedRows);
+        assertThat(registry.get("devices.repository")
+                .tag("method", "findPage")
+                .tag("outcome", "success")
+                .timer()
+                .count()).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void shouldExposePrometheusEndpoint() {
+        // GIVEN
+        given().when().get("/api/v1/devices/" + Long.MAX_VALUE).then().statusCode(404);
+
+        // WHEN/THEN - Use case, cache, outbox and connection pool meters are scraped
+        given()
+            .when().get("/q/metrics")
+            .then()
+            .statusCode(200)
+            .body(containsString("devices_usecase_seconds_bucket"))
+            .body(containsString("outcome=\"not_found\""))
+            .body(containsString("devices_cache_requests_total"))
+            .body(containsString("devices_outbox_relay_events_total"))
+            .body(containsString("agroal_active_count"));
+    }
+
+    private long useCaseCount(String method, String outcome) {
+        Timer timer = registry.find("devices.usecase")
+                .tag("class", "GetDeviceUseCase")
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
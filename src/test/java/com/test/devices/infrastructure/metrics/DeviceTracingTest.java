@@ -0,0 +1,128 @@
+package com.test.devices.infrastructure.metrics;
+
+import com.test.devices.application.dto.CreateDeviceRequest;
+import com.test.devices.application.usecase.CreateDeviceUseCase;
+import com.test.devices.domain.model.DeviceState;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@QuarkusTest
+class DeviceTracingTest {
+
+    private static final AttributeKey<String> DB_STATEMENT = AttributeKey.stringKey("db.statement");
+    private static final AttributeKey<String> HTTP_TARGET = AttributeKey.stringKey("http.target");
+
+    @Inject
+    InMemorySpanExporter exporter;
+
+    @Inject
+    CreateDeviceUseCase createDeviceUseCase;
+
+    @BeforeEach
+    void setUp() {
+        exporter.reset();
+    }
+
+    @Test
+    void shouldTraceRequestThroughUseCaseAndRepository() {
+        // GIVEN
+        Long id = createDeviceUseCase.execute(new CreateDeviceRequest("Pixel 8", "Google", DeviceState.AVAILABLE)).id();
+        exporter.reset();
+
+        // WHEN
+        given()
+            .contentType("application/json")
+            .body("{\"name\": \"Pixel 8 Pro\", \"brand\": \"Google\", \"state\": \"AVAILABLE\"}")
+            .when().put("/api/v1/devices/" + id)
+            .then().statusCode(200);
+
+        // THEN - server -> resource -> use case -> repository -> JDBC, all in one trace
+        SpanData server = await(spans -> spans.stream()
+                .filter(span -> span.getKind() == SpanKind.SERVER)
+                .filter(span -> ("/api/v1/devices/" + id).equals(span.getAttributes().get(HTTP_TARGET)))
+                .findFirst());
+        SpanData resource = child(server, "DeviceResource.updateDevice");
+        SpanData useCase = child(resource, "UpdateDeviceUseCase.execute");
+        SpanData save = child(useCase, "JpaDeviceRepository.save");
+        SpanData update = await(spans -> spans.stream()
+                .filter(span -> span.getParentSpanId().equals(save.getSpanId()))
+                .filter(span -> span.getAttributes().get(DB_STATEMENT) != null)
+                .findFirst());
+        assertThat(useCase.getAttributes().get(MeasuredInterceptor.OUTCOME)).isEqualTo("success");
+        assertThat(update.getKind()).isEqualTo(SpanKind.CLIENT);
+        assertThat(update.getAttributes().get(DB_STATEMENT)).startsWith("update devices");
+    }
+
+    @Test
+    void shouldRecordRowCountAndOutcomeOnSpans() {
+        // GIVEN
+        createDeviceUseCase.execute(new CreateDeviceRequest("Galaxy S24", "Samsung", DeviceState.AVAILABLE));
+        exporter.reset();
+
+        // WHEN
+        given().when().get("/api/v1/devices?brand=Samsung").then().statusCode(200);
+        given().when().get("/api/v1/devices/" + Long.MAX_VALUE).then().statusCode(404);
+
+        // THEN
+        SpanData list = await(spans -> named(spans, "JpaDeviceQueries.findPage"));
+        SpanData notFound = await(spans -> named(spans, "GetDeviceUseCase.execute"));
+        assertThat(list.getAttributes().get(MeasuredInterceptor.ROWS)).isGreaterThanOrEqualTo(1L);
+        assertThat(notFound.getAttributes().get(MeasuredInterceptor.OUTCOME)).isEqualTo("not_found");
+        assertThat(notFound.getEvents()).anySatisfy(event -> assertThat(event.getName()).isEqualTo("exception"));
+    }
+
+    private SpanData child(SpanData parent, String name) {
+        SpanData child = await(spans -> named(spans.stream()
+                .filter(span -> span.getParentSpanId().equals(parent.getSpanId()))
+                .toList(), name));
+        assertThat(child.getTraceId()).isEqualTo(parent.getTraceId());
+        return child;
+    }
+
+    private static Optional<SpanData> named(List<SpanData> spans, String name) {
+        return spans.stream().filter(span -> span.getName().equals(name)).findFirst();
+    }
+
+    // Spans are exported by a batch processor, so they show up shortly after the response
+    private SpanData await(Function<List<SpanData>, Optional<SpanData>> lookup) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (System.nanoTime() < deadline) {
+            Optional<SpanData> span = lookup.apply(exporter.getFinishedSpanItems());
+            if (span.isPresent()) {
+                return span.get();
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        throw new AssertionError("Span not exported in time: " + exporter.getFinishedSpanItems());
+    }
+
+    static class InMemoryExporterProducer {
+
+        @Produces
+        @Singleton
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.test.devices.infrastructure.outbox;
+
+import com.test.devices.application.dto.CreateDeviceRequest;
+import com.test.devices.application.dto.UpdateDeviceRequest;
+import com.test.devices.application.event.DeviceChangeType;
+import com.test.devices.application.event.DeviceOutbox;
+import com.test.devices.application.event.DeviceOutboxEvent;
+import com.test.devices.application.usecase.CreateDeviceUseCase;
+import com.test.devices.application.usecase.UpdateDeviceUseCase;
+import com.test.devices.domain.model.DeviceState;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@QuarkusTest
+class DeviceOutboxRelayTest {
+
+    @Inject
+    DeviceOutboxRelay relay;
+
+    @Inject
+    InMemoryDeviceEventSink sink;
+
+    @Inject
+    DeviceOutbox outbox;
+
+    @Inject
+    CreateDeviceUseCase createDeviceUseCase;
+
+    @Inject
+    UpdateDeviceUseCase updateDeviceUseCase;
+
+    @BeforeEach
+    void setUp() {
+        relay.drain();
+        sink.clear();
+    }
+
+    @Test
+    void shouldRelayChangesWrittenByUseCases() {
+        // GIVEN - A device created and updated through the use cases
+        Long id = createDeviceUseCase.execute(new CreateDeviceRequest("Relayed", "Brand", DeviceState.AVAILABLE)).id();
+        updateDeviceUseCase.execute(id, new UpdateDeviceRequest(null, null, DeviceState.IN_USE));
+        assertThat(pendingEvents()).isEqualTo(2);
+        assertThat(outbox.oldestPending()).isPresent();
+        long deliveredBefore = relay.deliveredEvents();
+
+        // WHEN - The relay runs
+        relay.drain();
+
+        // THEN - Both events reach the sink in order and the outbox is empty
+        assertThat(sink.delivered()).extracting(DeviceOutboxEvent::type)
+                .containsExactly(DeviceChangeType.CREATED, DeviceChangeType.UPDATED);
+        assertThat(sink.delivered()).extracting(DeviceOutboxEvent::deviceId).containsOnly(id);
+        assertThat(pendingEvents()).isZero();
+        assertThat(relay.deliveredEvents()).isEqualTo(deliveredBefore + 2);
+        assertThat(relay.oldestPending()).isEmpty();
+    }
+
+    private int pendingEvents() {
+        return QuarkusTransaction.requiringNew().call(() -> outbox.lockNextBatch(Integer.MAX_VALUE)).size();
+    }
+}
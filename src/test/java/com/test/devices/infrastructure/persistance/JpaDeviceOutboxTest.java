@@ -0,0 +1,86 @@
+package com.test.devices.infrastructure.persistance;
+
+import com.test.devices.application.event.DeviceChangeType;
+import com.test.devices.application.event.DeviceOutboxEvent;
+import com.test.devices.domain.model.DeviceState;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.transaction.TransactionalException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@QuarkusTest
+class JpaDeviceOutboxTest {
+
+    @Inject
+    JpaDeviceOutbox outbox;
+
+    @BeforeEach
+    void setUp() {
+        // Clean up the outbox before each test
+        QuarkusTransaction.requiringNew().run(() ->
+                outbox.remove(outbox.lockNextBatch(Integer.MAX_VALUE).stream().map(DeviceOutboxEvent::id).toList()));
+    }
+
+    @Test
+    void shouldRequireTheCallersTransaction() {
+        assertThatThrownBy(() -> outbox.append(DeviceChangeType.CREATED, List.of(1L), DeviceState.AVAILABLE))
+                .isInstanceOf(TransactionalException.class);
+    }
+
+    @Test
+    void shouldAppendAndRemoveEventsInOrder() {
+        // GIVEN - Events appended in one transaction
+        QuarkusTransaction.requiringNew().run(() ->
+                outbox.append(DeviceChangeType.UPDATED, List.of(1L, 2L, 3L), DeviceState.IN_USE));
+
+        // WHEN - Taking the next batch
+        List<DeviceOutboxEvent> batch = QuarkusTransaction.requiringNew().call(() -> outbox.lockNextBatch(2));
+
+        // THEN - Oldest events come first and removal drains the outbox
+        assertThat(batch).extracting(DeviceOutboxEvent::deviceId).containsExactly(1L, 2L);
+        assertThat(pendingEvents()).isEqualTo(3);
+        assertThat(outbox.oldestPending()).isPresent();
+
+        QuarkusTransaction.requiringNew().run(() -> outbox.remove(batch.stream().map(DeviceOutboxEvent::id).toList()));
+        assertThat(pendingEvents()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldSkipEventsLockedByAnotherRelay() throws Exception {
+        // GIVEN - A relay holding a lock on the first two events
+        QuarkusTransaction.requiringNew().run(() ->
+                outbox.append(DeviceChangeType.CREATED, List.of(1L, 2L, 3L, 4L), DeviceState.AVAILABLE));
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<List<DeviceOutboxEvent>> first = CompletableFuture.supplyAsync(() ->
+                QuarkusTransaction.requiringNew().call(() -> {
+                    List<DeviceOutboxEvent> batch = outbox.lockNextBatch(2);
+                    locked.countDown();
+                    release.await(10, TimeUnit.SECONDS);
+                    return batch;
+                }));
+        assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // WHEN - A second relay takes a batch meanwhile
+        List<DeviceOutboxEvent> second = QuarkusTransaction.requiringNew().call(() -> outbox.lockNextBatch(10));
+        release.countDown();
+
+        // THEN - It gets the remaining events without waiting
+        assertThat(first.get(10, TimeUnit.SECONDS)).extracting(DeviceOutboxEvent::deviceId).containsExactly(1L, 2L);
+        assertThat(second).extracting(DeviceOutboxEvent::deviceId).containsExactly(3L, 4L);
+    }
+
+    private int pendingEvents() {
+        return QuarkusTransaction.requiringNew().call(() -> outbox.lockNextBatch(Integer.MAX_VALUE)).size();
+    }
+}
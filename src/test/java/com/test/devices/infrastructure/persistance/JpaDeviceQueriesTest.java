@@ -0,0 +1,173 @@
+package com.test.devices.infrastructure.persistance;
+
+import com.test.devices.application.dto.DeviceResponse;
+import com.test.devices.application.query.DeviceCount;
+import com.test.devices.domain.model.Device;
+import com.test.devices.domain.model.DeviceState;
+import com.test.devices.domain.repository.DeviceCriteria;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@QuarkusTest
+class JpaDeviceQueriesTest {
+
+    @Inject
+    JpaDeviceQueries queries;
+
+    @Inject
+    JpaDeviceRepository repository;
+
+    @Inject
+    EntityManager entityManager;
+
+    @BeforeEach
+    @Transactional
+    void setUp() {
+        entityManager.createQuery("DELETE FROM DeviceEntity").executeUpdate();
+    }
+
+    @Test
+    @Transactional
+    void shouldSelectResponsesWithoutManagingEntities() {
+        // GIVEN
+        Device saved = repository.save(Device.create("iPhone 15", "Apple", DeviceState.AVAILABLE));
+        repository.save(Device.create("Galaxy S24", "Samsung", DeviceState.IN_USE));
+        entityManager.flush();
+        entityManager.clear();
+        DeviceResponse expected = DeviceResponse.from(repository.findById(saved.getId()).orElseThrow());
+        entityManager.clear();
+
+        // WHEN
+        List<DeviceResponse> devices = queries.findPage(DeviceCriteria.none().withBrand("Apple"), null, 10);
+
+        // THEN - Same values as mapping the entity, and the persistence context stays empty
+        assertThat(devices).containsExactly(expected);
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    @Transactional
+    void shouldPageAllDevicesOrderedByIdForEmptyCriteria() {
+        // GIVEN
+        Device first = repository.save(Device.create("iPhone 15", "Apple", DeviceState.AVAILABLE));
+        Device second = repository.save(Device.create("Galaxy S24", "Samsung", DeviceState.IN_USE));
+
+        // WHEN
+        List<DeviceResponse> devices = queries.findPage(DeviceCriteria.none(), null, 10);
+
+        // THEN
+        assertThat(devices).extracting(DeviceResponse::id).containsExactly(first.getId(), second.getId());
+    }
+
+    @Test
+    @Transactional
+    void shouldPageByIdWithCriteria() {
+        // GIVEN
+        Device first = repository.save(Device.create("Pixel 8", "Google", DeviceState.AVAILABLE));
+        Device second = repository.save(Device.create("Pixel 8 Pro", "Google", DeviceState.AVAILABLE));
+        Device third = repository.save(Device.create("Pixel Fold", "Google", DeviceState.AVAILABLE));
+        repository.save(Device.create("Pixel Tablet", "Google", DeviceState.IN_USE));
+
+        // WHEN
+        DeviceCriteria available = DeviceCriteria.none().withBrand("Google").withState(DeviceState.AVAILABLE);
+        List<DeviceResponse> firstPage = queries.findPage(available, null, 2);
+        List<DeviceResponse> secondPage = queries.findPage(available, second.getId(), 2);
+
+        // THEN
+        assertThat(firstPage).extracting(DeviceResponse::id).containsExactly(first.getId(), second.getId());
+        assertThat(secondPage).extracting(DeviceResponse::id).containsExactly(third.getId());
+    }
+
+    @Test
+    @Transactional
+    void shouldCombineAllCriteriaInOneQuery() {
+        // GIVEN
+        repository.save(Device.create("iPhone 15", "Apple", DeviceState.IN_USE));
+        repository.save(Device.create("iPhone 14", "Apple", DeviceState.AVAILABLE));
+        repository.save(Device.create("MacBook Pro", "Apple", DeviceState.IN_USE));
+        repository.save(Device.create("iPhone clone", "Other", DeviceState.IN_USE));
+
+        // WHEN
+        List<DeviceResponse> devices = queries.findPage(DeviceCriteria.none()
+                .withBrand("Apple")
+                .withState(DeviceState.IN_USE)
+                .withNamePrefix("iPhone")
+                .withCreatedBetween(LocalDateTime.now().minusHours(1), LocalDateTime.now().plusHours(1)), null, 10);
+
+        // THEN
+        assertThat(devices).extracting(DeviceResponse::name).containsExactly("iPhone 15");
+    }
+
+    @Test
+    @Transactional
+    void shouldTreatLikeWildcardsInNamePrefixLiterally() {
+        // GIVEN
+        repository.save(Device.create("50% off", "Brand", DeviceState.AVAILABLE));
+        repository.save(Device.create("500 series", "Brand", DeviceState.AVAILABLE));
+
+        // WHEN
+        List<DeviceResponse> devices = queries.findPage(DeviceCriteria.none().withNamePrefix("50%"), null, 10);
+
+        // THEN
+        assertThat(devices).extracting(DeviceResponse::name).containsExactly("50% off");
+    }
+
+    @Test
+    @Transactional
+    void shouldExcludeDevicesOutsideCreationRange() {
+        // GIVEN
+        repository.save(Device.create("iPhone 15", "Apple", DeviceState.AVAILABLE));
+
+        // WHEN
+        List<DeviceResponse> devices = queries.findPage(
+                DeviceCriteria.none().withCreatedBetween(LocalDateTime.now().plusDays(1), null), null, 10);
+
+        // THEN
+        assertThat(devices).isEmpty();
+    }
+
+    @Test
+    @Transactional
+    void shouldFindExistingDevicesByIdsOrderedById() {
+        // GIVEN
+        Device first = repository.save(Device.create("Pixel 8", "Google", DeviceState.AVAILABLE));
+        repository.save(Device.create("Pixel Fold", "Google", DeviceState.AVAILABLE));
+        Device third = repository.save(Device.create("Pixel Tablet", "Google", DeviceState.IN_USE));
+
+        // WHEN
+        List<DeviceResponse> devices = queries.findByIds(List.of(third.getId(), first.getId(), -1L));
+
+        // THEN - Unknown ids are skipped
+        assertThat(devices).extracting(DeviceResponse::id).containsExactly(first.getId(), third.getId());
+        assertThat(queries.findByIds(List.of())).isEmpty();
+    }
+
+    @Test
+    @Transactional
+    void shouldCountDevicesByBrandAndState() {
+        // GIVEN
+        repository.save(Device.create("Pixel 8", "Google", DeviceState.AVAILABLE));
+        repository.save(Device.create("Pixel Fold", "Google", DeviceState.AVAILABLE));
+        repository.save(Device.create("Pixel Tablet", "Google", DeviceState.IN_USE));
+        repository.save(Device.create("iPhone 15", "Apple", DeviceState.AVAILABLE));
+
+        // WHEN
+        List<DeviceCount> counts = queries.countByBrandAndState();
+
+        // THEN
+        assertThat(counts).containsExactlyInAnyOrder(
+                new DeviceCount("Google", DeviceState.AVAILABLE, 2),
+                new DeviceCount("Google", DeviceState.IN_USE, 1),
+                new DeviceCount("Apple", DeviceState.AVAILABLE, 1));
+    }
+}
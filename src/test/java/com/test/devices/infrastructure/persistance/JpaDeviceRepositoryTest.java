@@ -2,16 +2,27 @@ package com.test.devices.infrastructure.persistance;
 
 import com.test.devices.domain.model.Device;
 import com.test.devices.domain.model.DeviceState;
+import com.test.devices.domain.repository.DeleteOutcome;
+import com.test.devices.domain.repository.DeviceCriteria;
+import com.test.devices.domain.repository.DeviceStateChange;
+import com.test.devices.domain.repository.StaleDeviceException;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @QuarkusTest
 class JpaDeviceRepositoryTest {
@@ -19,11 +30,17 @@ class JpaDeviceRepositoryTest {
     @Inject
     JpaDeviceRepository repository;
 
+    @Inject
+    JpaDeviceQueries queries;
+
+    @Inject
+    EntityManager entityManager;
+
     @BeforeEach
     @Transactional
     void setUp() {
         // Clean up database before each test
-        repository.findAll().forEach(device -> repository.delete(device));
+        entityManager.createQuery("DELETE FROM DeviceEntity").executeUpdate();
     }
 
     @Test
@@ -89,111 +106,211 @@ class JpaDeviceRepositoryTest {
 
     @Test
     @Transactional
-    void shouldFindAllDevices() {
+    void shouldStreamAllDevicesOrderedById() {
         // GIVEN
-        repository.save(Device.create("iPhone 15", "Apple", DeviceState.AVAILABLE));
-        repository.save(Device.create("Samsung Galaxy S23", "Samsung", DeviceState.IN_USE));
-        repository.save(Device.create("Pixel 8", "Google", DeviceState.INACTIVE));
+        Long first = repository.save(Device.create("iPhone 15", "Apple", DeviceState.AVAILABLE)).getId();
+        Long second = repository.save(Device.create("Pixel 8", "Google", DeviceState.INACTIVE)).getId();
 
         // WHEN
-        List<Device> devices = repository.findAll();
+        List<Device> streamed;
+        try (Stream<Device> devices = repository.streamAll()) {
+            streamed = devices.toList();
+        }
 
         // THEN
-        assertThat(devices).hasSize(3);
-        assertThat(devices).extracting(Device::getName)
-                .containsExactlyInAnyOrder("iPhone 15", "Samsung Galaxy S23", "Pixel 8");
+        assertThat(streamed).extracting(Device::getId).containsExactly(first, second);
     }
 
     @Test
     @Transactional
-    void shouldFindDevicesByBrand() {
-        // GIVEN
-        repository.save(Device.create("iPhone 15", "Apple", DeviceState.AVAILABLE));
-        repository.save(Device.create("iPhone 14", "Apple", DeviceState.IN_USE));
-        repository.save(Device.create("Samsung Galaxy S23", "Samsung", DeviceState.AVAILABLE));
+    void shouldSaveAllDevicesInBatches() {
+        // GIVEN - More devices than one insert chunk
+        List<Device> devices = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            devices.add(Device.create("Device " + i, "Bulk", DeviceState.AVAILABLE));
+        }
 
         // WHEN
-        List<Device> appleDevices = repository.findByBrand("Apple");
+        List<Device> saved = repository.saveAll(devices);
 
         // THEN
-        assertThat(appleDevices).hasSize(2);
-        assertThat(appleDevices).extracting(Device::getBrand)
-                .containsOnly("Apple");
-        assertThat(appleDevices).extracting(Device::getName)
-                .containsExactlyInAnyOrder("iPhone 15", "iPhone 14");
+        assertThat(saved).hasSize(120);
+        assertThat(saved).extracting(Device::getId).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(saved.get(119).getName()).isEqualTo("Device 119");
+        assertThat(queries.findPage(DeviceCriteria.none().withBrand("Bulk"), null, 200)).hasSize(120);
     }
 
     @Test
     @Transactional
-    void shouldReturnEmptyListWhenNoBrandMatches() {
+    void shouldUpdateStateOfListedDevicesOnly() {
         // GIVEN
-        repository.save(Device.create("iPhone 15", "Apple", DeviceState.AVAILABLE));
+        Long available = repository.save(Device.create("iPhone 15", "Apple", DeviceState.AVAILABLE)).getId();
+        Long inUse = repository.save(Device.create("iPhone 14", "Apple", DeviceState.IN_USE)).getId();
+        Long untouched = repository.save(Device.create("Pixel 8", "Google", DeviceState.AVAILABLE)).getId();
 
         // WHEN
-        List<Device> devices = repository.findByBrand("Samsung");
+        List<DeviceStateChange> changed = repository.updateState(List.of(available, inUse, 999L), DeviceState.IN_USE);
 
-        // THEN
-        assertThat(devices).isEmpty();
+        // THEN - Reported with the brand and state they left
+        assertThat(changed).containsExactly(new DeviceStateChange(available, "Apple", DeviceState.AVAILABLE));
+        assertThat(repository.findById(available)).get().extracting(Device::getState).isEqualTo(DeviceState.IN_USE);
+        assertThat(repository.findById(untouched)).get().extracting(Device::getState).isEqualTo(DeviceState.AVAILABLE);
     }
 
     @Test
     @Transactional
-    void shouldFindDevicesByState() {
+    void shouldFindUpToLimitIdsOfDevicesToChange() {
         // GIVEN
-        repository.save(Device.create("iPhone 15", "Apple", DeviceState.AVAILABLE));
-        repository.save(Device.create("iPhone 14", "Apple", DeviceState.AVAILABLE));
-        repository.save(Device.create("Samsung Galaxy S23", "Samsung", DeviceState.IN_USE));
-        repository.save(Device.create("Pixel 8", "Google", DeviceState.INACTIVE));
+        Long first = repository.save(Device.create("iPhone 15", "Apple", DeviceState.AVAILABLE)).getId();
+        Long second = repository.save(Device.create("iPhone 16", "Apple", DeviceState.AVAILABLE)).getId();
+        repository.save(Device.create("iPhone 17", "Apple", DeviceState.AVAILABLE));
+        repository.save(Device.create("iPhone 14", "Apple", DeviceState.INACTIVE));
+        repository.save(Device.create("Pixel 8", "Google", DeviceState.AVAILABLE));
 
         // WHEN
-        List<Device> availableDevices = repository.findByState(DeviceState.AVAILABLE);
+        List<Long> ids = repository.findIdsToChange(DeviceCriteria.none().withBrand("Apple"), DeviceState.INACTIVE, 2);
 
-        // THEN
-        assertThat(availableDevices).hasSize(2);
-        assertThat(availableDevices).extracting(Device::getState)
-                .containsOnly(DeviceState.AVAILABLE);
+        // THEN - The lowest ids, skipping devices already in the state
+        assertThat(ids).containsExactly(first, second);
+    }
+
+    @Test
+    @Transactional
+    void shouldUpdateWithOneSelectAndOneUpdate() {
+        // GIVEN - A persisted device outside the persistence context
+        Long deviceId = repository.save(Device.create("iPhone 15", "Apple", DeviceState.AVAILABLE)).getId();
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // WHEN - Loading, changing and saving it
+        Device device = repository.findById(deviceId).orElseThrow();
+        device.updateState(DeviceState.IN_USE);
+        repository.save(device);
+        entityManager.flush();
+
+        // THEN - Exactly one SELECT and one UPDATE reached JDBC
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
     }
 
     @Test
     @Transactional
-    void shouldReturnEmptyListWhenNoStateMatches() {
+    void shouldDeleteDeletableDeviceAfterOneLockedProbeOnH2() {
         // GIVEN
-        repository.save(Device.create("iPhone 15", "Apple", DeviceState.AVAILABLE));
+        Long deviceId = repository.save(Device.create("iPhone 15", "Apple", DeviceState.AVAILABLE)).getId();
+        entityManager.flush();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
 
         // WHEN
-        List<Device> devices = repository.findByState(DeviceState.IN_USE);
+        DeleteOutcome outcome = repository.deleteIfDeletable(deviceId, null);
+
+        // THEN - H2 has no DELETE ... RETURNING, so the brand and state come from the probe
+        assertThat(outcome).isEqualTo(DeleteOutcome.deleted("Apple", DeviceState.AVAILABLE));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        entityManager.clear();
+        assertThat(repository.findById(deviceId)).isEmpty();
+    }
+
+    @Test
+    @Transactional
+    void shouldDistinguishInUseFromMissingWhenNothingDeleted() {
+        // GIVEN
+        Long inUse = repository.save(Device.create("iPhone 15", "Apple", DeviceState.IN_USE)).getId();
+
+        // WHEN/THEN
+        assertThat(repository.deleteIfDeletable(inUse, null)).isEqualTo(DeleteOutcome.IN_USE);
+        assertThat(repository.deleteIfDeletable(999_999L, null)).isEqualTo(DeleteOutcome.NOT_FOUND);
+        assertThat(repository.findById(inUse)).isPresent();
+    }
+
+    @Test
+    @Transactional
+    void shouldIncrementVersionOnUpdate() {
+        // GIVEN
+        Device saved = repository.save(Device.create("iPhone 15", "Apple", DeviceState.AVAILABLE));
+        Long initialVersion = saved.getVersion();
+
+        // WHEN
+        saved.updateState(DeviceState.IN_USE);
+        Device updated = repository.save(saved);
 
         // THEN
-        assertThat(devices).isEmpty();
+        assertThat(initialVersion).isNotNull();
+        assertThat(updated.getVersion()).isEqualTo(initialVersion + 1);
+    }
+
+    @Test
+    @Transactional
+    void shouldRejectSaveFromStaleVersion() {
+        // GIVEN - A device updated after a copy was read
+        Device saved = repository.save(Device.create("iPhone 15", "Apple", DeviceState.AVAILABLE));
+        Device staleCopy = Device.reconstitute(saved.getId(), saved.getName(), saved.getBrand(),
+                saved.getState(), saved.getCreationTime(), saved.getVersion(), saved.getLastModified());
+        saved.updateState(DeviceState.IN_USE);
+        repository.save(saved);
+
+        // WHEN/THEN
+        staleCopy.updateState(DeviceState.INACTIVE);
+        assertThatThrownBy(() -> repository.save(staleCopy)).isInstanceOf(StaleDeviceException.class);
     }
 
     @Test
     @Transactional
-    void shouldDeleteDevice() {
+    void shouldNotDeleteWhenExpectedVersionDiffers() {
         // GIVEN
-        Device device = Device.create("iPhone 15", "Apple", DeviceState.AVAILABLE);
-        Device savedDevice = repository.save(device);
-        Long deviceId = savedDevice.getId();
+        Device saved = repository.save(Device.create("iPhone 15", "Apple", DeviceState.AVAILABLE));
+
+        // WHEN/THEN
+        assertThat(repository.deleteIfDeletable(saved.getId(), saved.getVersion() + 1))
+                .isEqualTo(DeleteOutcome.VERSION_MISMATCH);
+        assertThat(repository.deleteIfDeletable(saved.getId(), saved.getVersion()))
+                .isEqualTo(DeleteOutcome.deleted("Apple", DeviceState.AVAILABLE));
+    }
+
+    @Test
+    @Transactional
+    void shouldFindVersionWithoutLoadingEntity() {
+        // GIVEN
+        Device saved = repository.save(Device.create("iPhone 15", "Apple", DeviceState.AVAILABLE));
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
 
         // WHEN
-        repository.delete(savedDevice);
+        var version = repository.findVersion(saved.getId());
 
         // THEN
-        Optional<Device> deletedDevice = repository.findById(deviceId);
-        assertThat(deletedDevice).isEmpty();
+        assertThat(version).isPresent();
+        assertThat(version.get().version()).isEqualTo(saved.getVersion());
+        assertThat(version.get().lastModified()).isNotNull();
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(repository.findVersion(999_999L)).isEmpty();
     }
 
     @Test
     @Transactional
-    void shouldHandleDeleteNonExistentDevice() {
+    void shouldAdvanceLastModifiedOnUpdate() throws InterruptedException {
         // GIVEN
-        Device device = Device.create("iPhone 15", "Apple", DeviceState.AVAILABLE);
-        device.setId(999L); // Non-existent ID
+        Device saved = repository.save(Device.create("iPhone 15", "Apple", DeviceState.AVAILABLE));
+        entityManager.flush();
+        LocalDateTime created = repository.findVersion(saved.getId()).orElseThrow().lastModified();
+        Thread.sleep(5);
 
-        // WHEN - Should not throw exception
-        repository.delete(device);
+        // WHEN
+        saved.updateState(DeviceState.IN_USE);
+        repository.save(saved);
+        entityManager.clear();
+        LocalDateTime updated = repository.findVersion(saved.getId()).orElseThrow().lastModified();
+        Thread.sleep(5);
+        repository.updateState(List.of(saved.getId()), DeviceState.INACTIVE);
 
-        // THEN - No exception should be thrown
-        assertThat(repository.findById(999L)).isEmpty();
+        // THEN
+        assertThat(updated).isAfter(created);
+        assertThat(repository.findVersion(saved.getId()).orElseThrow().lastModified()).isAfter(updated);
     }
 }
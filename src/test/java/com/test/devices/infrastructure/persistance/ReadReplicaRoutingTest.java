@@ -0,0 +1,103 @@
+package com.test.devices.infrastructure.persistance;
+
+import com.test.devices.application.dto.CreateDeviceRequest;
+import com.test.devices.application.dto.DeviceResponse;
+import com.test.devices.application.dto.UpdateDeviceRequest;
+import com.test.devices.application.usecase.CreateDeviceUseCase;
+import com.test.devices.application.usecase.GetDeviceUseCase;
+import com.test.devices.application.usecase.ListDevicesUseCase;
+import com.test.devices.application.usecase.UpdateDeviceUseCase;
+import com.test.devices.domain.model.DeviceState;
+import com.test.devices.domain.repository.DeviceCriteria;
+import io.quarkus.hibernate.orm.PersistenceUnit;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@QuarkusTest
+@TestProfile(ReadReplicaRoutingTest.ReplicaProfile.class)
+class ReadReplicaRoutingTest {
+
+    // The replica datasource points at the test database, so it never lags
+    public static class ReplicaProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                "devices.replica.enabled", "true",
+                "devices.cache.enabled", "false",
+                "quarkus.hibernate-orm.\"replica\".statistics", "true");
+        }
+    }
+
+    @Inject
+    CreateDeviceUseCase createDeviceUseCase;
+
+    @Inject
+    UpdateDeviceUseCase updateDeviceUseCase;
+
+    @Inject
+    GetDeviceUseCase getDeviceUseCase;
+
+    @Inject
+    ListDevicesUseCase listDevicesUseCase;
+
+    @Inject
+    ReplicaRouter replicaRouter;
+
+    @Inject
+    SessionFactory primary;
+
+    @Inject
+    @PersistenceUnit("replica")
+    SessionFactory replica;
+
+    @BeforeEach
+    void setUp() {
+        replicaRouter.checkLag();
+        primary.getStatistics().clear();
+        replica.getStatistics().clear();
+    }
+
+    @Test
+    void shouldRunReadUseCasesOnReplicaWithoutFlushing() {
+        // GIVEN
+        Long id = createDeviceUseCase.execute(new CreateDeviceRequest("Pixel 8", "Google", DeviceState.AVAILABLE)).id();
+        primary.getStatistics().clear();
+
+        // WHEN
+        DeviceResponse device = getDeviceUseCase.execute(id);
+        listDevicesUseCase.executePage(DeviceCriteria.none().withBrand("Google"), null, null);
+
+        // THEN
+        Statistics replicaStatistics = replica.getStatistics();
+        assertThat(device.name()).isEqualTo("Pixel 8");
+        assertThat(replicaStatistics.getPrepareStatementCount()).isGreaterThanOrEqualTo(2);
+        assertThat(replicaStatistics.getFlushCount()).isZero();
+        assertThat(primary.getStatistics().getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @Transactional
+    void shouldReadOnPrimaryInsideWriteTransaction() {
+        // GIVEN - An uncommitted change in the running transaction
+        Long id = createDeviceUseCase.execute(new CreateDeviceRequest("Galaxy S24", "Samsung", DeviceState.AVAILABLE)).id();
+        updateDeviceUseCase.execute(id, new UpdateDeviceRequest("Galaxy S24 Ultra", null, null));
+
+        // WHEN
+        DeviceResponse device = getDeviceUseCase.execute(id);
+
+        // THEN - The read joined the transaction and sees its change
+        assertThat(device.name()).isEqualTo("Galaxy S24 Ultra");
+        assertThat(replica.getStatistics().getPrepareStatementCount()).isZero();
+    }
+}
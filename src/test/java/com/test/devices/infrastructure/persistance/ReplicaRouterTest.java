@@ -0,0 +1,91 @@
+package com.test.devices.infrastructure.persistance;
+
+import io.agroal.api.AgroalDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaRouterTest {
+
+    AgroalDataSource replica;
+    ReplicaRouter router;
+
+    @BeforeEach
+    void setUp() {
+        replica = mock(AgroalDataSource.class, Answers.RETURNS_DEEP_STUBS);
+        router = new ReplicaRouter();
+        router.enabled = true;
+        router.maxLag = Duration.ofSeconds(1);
+        router.dbKind = "postgresql";
+        router.replica = replica;
+    }
+
+    @Test
+    void shouldUseReplicaOnlyOnceLagIsKnownToBeWithinBound() throws Exception {
+        // GIVEN
+        lag(250);
+        assertThat(router.useReplica()).isFalse();
+
+        // WHEN
+        router.checkLag();
+
+        // THEN
+        assertThat(router.useReplica()).isTrue();
+        assertThat(router.lagMillis()).isEqualTo(250);
+    }
+
+    @Test
+    void shouldFallBackToPrimaryWhenReplicaLags() throws Exception {
+        // GIVEN
+        lag(0);
+        router.checkLag();
+
+        // WHEN
+        lag(5_000);
+        router.checkLag();
+
+        // THEN
+        assertThat(router.useReplica()).isFalse();
+        assertThat(router.lagMillis()).isEqualTo(5_000);
+    }
+
+    @Test
+    void shouldFallBackToPrimaryWhenReplicaIsUnreachable() throws Exception {
+        // GIVEN
+        lag(0);
+        router.checkLag();
+
+        // WHEN
+        when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+        router.checkLag();
+
+        // THEN
+        assertThat(router.useReplica()).isFalse();
+        assertThat(router.lagMillis()).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldNotRouteWhenDisabled() throws Exception {
+        // GIVEN
+        router.enabled = false;
+        lag(0);
+
+        // WHEN
+        router.checkLag();
+
+        // THEN
+        assertThat(router.useReplica()).isFalse();
+    }
+
+    private void lag(long millis) throws SQLException {
+        when(replica.getConnection().createStatement().executeQuery(anyString()).getLong(1)).thenReturn(millis);
+    }
+}
@@ -0,0 +1,67 @@
+package com.test.devices.infrastructure.persistance;
+
+import com.test.devices.application.dto.SlowQueryResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlowQueryLogTest {
+
+    SlowQueryLog slowQueryLog;
+
+    @BeforeEach
+    void setUp() {
+        slowQueryLog = new SlowQueryLog();
+        slowQueryLog.enabled = true;
+        slowQueryLog.threshold = Duration.ofMillis(100);
+        slowQueryLog.dbKind = "h2";
+        slowQueryLog.init();
+    }
+
+    @Test
+    void shouldOnlyTreatCallsOverThresholdAsSlow() {
+        assertThat(slowQueryLog.isSlow(TimeUnit.MILLISECONDS.toNanos(99))).isFalse();
+        assertThat(slowQueryLog.isSlow(TimeUnit.MILLISECONDS.toNanos(100))).isTrue();
+    }
+
+    @Test
+    void shouldRankOperationsByTotalTimeAndKeepSlowestStatements() {
+        // GIVEN
+        slowQueryLog.record("JpaDeviceRepository.findByBrand", millis(300), List.of("select 1"));
+        slowQueryLog.record("JpaDeviceRepository.findByBrand", millis(500), List.of("select 2"));
+        slowQueryLog.record("JpaDeviceRepository.findByState", millis(700), List.of("select 3"));
+
+        // WHEN
+        List<SlowQueryResponse> top = slowQueryLog.top(10);
+
+        // THEN
+        assertThat(top).extracting(SlowQueryResponse::operation)
+                .containsExactly("JpaDeviceRepository.findByBrand", "JpaDeviceRepository.findByState");
+        SlowQueryResponse byBrand = top.get(0);
+        assertThat(byBrand.count()).isEqualTo(2);
+        assertThat(byBrand.totalMillis()).isEqualTo(800);
+        assertThat(byBrand.maxMillis()).isEqualTo(500);
+        assertThat(byBrand.statements()).singleElement().satisfies(statement -> {
+            assertThat(statement.sql()).isEqualTo("select 2");
+            assertThat(statement.plan()).isNull();
+        });
+        assertThat(slowQueryLog.top(1)).hasSize(1);
+    }
+
+    @Test
+    void shouldNumberParametersForGenericPlan() {
+        assertThat(SlowQueryLog.explainStatement("select d.id from devices d where d.brand=? and d.name like ? escape '\\' and d.state<>'?'"))
+                .isEqualTo("EXPLAIN (GENERIC_PLAN) select d.id from devices d where d.brand=$1 and d.name like $2 escape '\\' and d.state<>'?'");
+        assertThat(SlowQueryLog.isSelect("  SELECT 1")).isTrue();
+        assertThat(SlowQueryLog.isSelect("update devices set state=?")).isFalse();
+    }
+
+    private static long millis(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
@@ -0,0 +1,155 @@
+package com.test.devices.infrastructure.registry;
+
+import com.test.devices.application.dto.DeviceResponse;
+import com.test.devices.domain.model.DeviceState;
+import com.test.devices.domain.repository.DeviceVersion;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OffHeapDeviceRegistryTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2025, 12, 7, 10, 30, 0, 123_456_789);
+
+    private OffHeapDeviceRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        // Without a transaction registry changes apply immediately
+        registry = new OffHeapDeviceRegistry();
+        registry.enabled = true;
+        registry.initialCapacity = 16;
+    }
+
+    @Test
+    void shouldReturnRegisteredDevicesAsWritten() {
+        // GIVEN - Arrange
+        DeviceResponse device = device(7L, "Pixel 8 Pro – Ünïcode", "Google", DeviceState.IN_USE, 3L);
+        registry.put(device);
+
+        // WHEN/THEN - Assert
+        assertThat(registry.find(7L)).contains(device);
+        assertThat(registry.findVersion(7L)).contains(new DeviceVersion(7L, 3L, device.lastModified()));
+        assertThat(registry.state(7L)).isEqualTo(DeviceState.IN_USE);
+        assertThat(registry.find(8L)).isEmpty();
+        assertThat(registry.state(8L)).isNull();
+        assertThat(registry.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldIgnoreWritesOlderThanTheRegisteredOneOrTheRemoval() {
+        // GIVEN - Version 2 arrives before version 1
+        registry.put(device(1L, "Galaxy S24", "Samsung", DeviceState.IN_USE, 2L));
+        registry.put(device(1L, "Galaxy S23", "Samsung", DeviceState.AVAILABLE, 1L));
+        // and a removal before the create it follows
+        registry.remove(2L);
+        registry.put(device(2L, "Galaxy Tab", "Samsung", DeviceState.AVAILABLE, 0L));
+
+        // WHEN/THEN - Assert
+        assertThat(registry.find(1L)).get().extracting(DeviceResponse::name).isEqualTo("Galaxy S24");
+        assertThat(registry.find(2L)).isEmpty();
+        assertThat(registry.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldKeepTheRemovalAcrossRebuildsUntilOlderWritesAreApplied() {
+        // GIVEN - A write to device 1 whose transaction is still completing when the device is removed
+        registry.put(device(1L, "Pixel 8", "Google", DeviceState.AVAILABLE, 0L));
+        Synchronization lateWrite = inTransaction(() ->
+                registry.put(device(1L, "Pixel 8", "Google", DeviceState.IN_USE, 1L)));
+        inTransaction(() -> registry.remove(1L)).afterCompletion(Status.STATUS_COMMITTED);
+
+        // WHEN - The table is rebuilt before the late write is applied
+        for (long id = 2; id <= 100; id++) {
+            registry.put(device(id, "Device " + id, "Google", DeviceState.AVAILABLE, 0L));
+        }
+        lateWrite.afterCompletion(Status.STATUS_COMMITTED);
+
+        // THEN - The removal still wins
+        assertThat(registry.find(1L)).isEmpty();
+        assertThat(registry.size()).isEqualTo(99);
+    }
+
+    @Test
+    void shouldKeepEveryDeviceAcrossGrowthAndCompaction() {
+        // GIVEN - Many more devices than the initial capacity, renamed and removed at random
+        SplittableRandom random = new SplittableRandom(11);
+        Map<Long, DeviceResponse> expected = new HashMap<>();
+        for (long id = 1; id <= 20_000; id++) {
+            DeviceResponse device = device(id, "Device " + id, "Brand " + (id % 7), DeviceState.AVAILABLE, 0L);
+            registry.put(device);
+            expected.put(id, device);
+        }
+        for (int i = 0; i < 200_000; i++) {
+            long id = 1 + random.nextInt(20_000);
+            DeviceResponse current = expected.get(id);
+            if (current == null) {
+                continue;
+            }
+            if (random.nextInt(10) == 0) {
+                registry.remove(id);
+                expected.remove(id);
+            } else {
+                DeviceResponse renamed = device(id, "Renamed " + i + " ".repeat(random.nextInt(100)), current.brand(),
+                        DeviceState.values()[random.nextInt(3)], current.version() + 1);
+                registry.put(renamed);
+                expected.put(id, renamed);
+            }
+        }
+
+        // WHEN/THEN - Assert
+        for (long id = 1; id <= 20_000; id++) {
+            assertThat(registry.find(id)).as("device %d", id).isEqualTo(Optional.ofNullable(expected.get(id)));
+        }
+        assertThat(registry.size()).isEqualTo(expected.size());
+    }
+
+    @Test
+    void shouldIgnoreEverythingWhenDisabled() {
+        // GIVEN - Arrange
+        registry.enabled = false;
+        registry.put(device(1L, "iPhone 15", "Apple", DeviceState.AVAILABLE, 0L));
+
+        // WHEN/THEN - Assert
+        assertThat(registry.find(1L)).isEmpty();
+        assertThat(registry.offHeapBytes()).isZero();
+    }
+
+    // Runs the changes in a transaction and returns its completion callback, not called yet
+    private Synchronization inTransaction(Runnable changes) {
+        TransactionSynchronizationRegistry transaction = mock(TransactionSynchronizationRegistry.class);
+        Map<Object, Object> resources = new HashMap<>();
+        when(transaction.getTransactionStatus()).thenReturn(Status.STATUS_ACTIVE);
+        when(transaction.getResource(any())).thenAnswer(invocation -> resources.get(invocation.getArgument(0)));
+        doAnswer(invocation -> resources.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(transaction).putResource(any(), any());
+
+        registry.transactionRegistry = transaction;
+        changes.run();
+        registry.transactionRegistry = null;
+
+        ArgumentCaptor<Synchronization> synchronization = ArgumentCaptor.forClass(Synchronization.class);
+        verify(transaction).registerInterposedSynchronization(synchronization.capture());
+        return synchronization.getValue();
+    }
+
+    private static DeviceResponse device(Long id, String name, String brand, DeviceState state, Long version) {
+        return new DeviceResponse(id, name, brand, state, CREATED, version, CREATED.plusSeconds(version));
+    }
+}
@@ -0,0 +1,138 @@
+package com.test.devices.infrastructure.search;
+
+import com.test.devices.domain.model.Device;
+import com.test.devices.domain.model.DeviceState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryDeviceSearchTest {
+
+    private InMemoryDeviceSearch search;
+
+    @BeforeEach
+    void setUp() {
+        // Without a transaction registry changes apply immediately
+        search = new InMemoryDeviceSearch();
+    }
+
+    @Test
+    void shouldMatchEveryQueryWordAsPrefixCaseInsensitively() {
+        // GIVEN - Arrange
+        search.index(device(1L, "iPhone 15 Pro", "Apple"));
+        search.index(device(2L, "iPhone 14", "Apple"));
+        search.index(device(3L, "Galaxy S24", "Samsung"));
+
+        // WHEN/THEN - Assert
+        assertThat(search.search("IPHONE 15", 0, 10)).containsExactly(1L);
+        assertThat(search.search("iph", 0, 10)).containsExactly(1L, 2L);
+        assertThat(search.search("iphone-pro", 0, 10)).containsExactly(1L);
+        assertThat(search.search("phone", 0, 10)).isEmpty();
+        assertThat(search.search("  ", 0, 10)).isEmpty();
+    }
+
+    @Test
+    void shouldRankNameAboveBrandAndWholeWordsAbovePrefixes() {
+        // GIVEN - Arrange
+        search.index(device(1L, "Case", "Pixelworks"));
+        search.index(device(2L, "Pixel 8", "Google"));
+        search.index(device(3L, "Pixelbook", "Google"));
+        search.index(device(4L, "Pixel 7", "Google"));
+
+        // WHEN - Act
+        var ids = search.search("pixel", 0, 10);
+
+        // THEN - Whole name word, then name prefix, then brand prefix; ties by id
+        assertThat(ids).containsExactly(2L, 4L, 3L, 1L);
+    }
+
+    @Test
+    void shouldPageThroughRankedResults() {
+        // GIVEN - Arrange
+        for (long id = 1; id <= 5; id++) {
+            search.index(device(id, "Watch " + id, "Garmin"));
+        }
+
+        // WHEN/THEN - Assert
+        assertThat(search.search("watch", 0, 2)).containsExactly(1L, 2L);
+        assertThat(search.search("watch", 2, 2)).containsExactly(3L, 4L);
+        assertThat(search.search("watch", 4, 2)).containsExactly(5L);
+    }
+
+    @Test
+    void shouldFollowRenamesAndRemovals() {
+        // GIVEN - Arrange
+        search.index(device(1L, "Galaxy S23", "Samsung"));
+        search.index(device(2L, "Galaxy S24", "Samsung"));
+
+        // WHEN - Device 1 is renamed away and back, device 2 is removed
+        search.index(device(1L, "Tab S9", "Samsung"));
+        assertThat(search.search("galaxy", 0, 10)).containsExactly(2L);
+        search.index(device(1L, "Galaxy S23 FE", "Samsung"));
+        search.remove(2L);
+
+        // THEN - Each device is listed once, under its current words only
+        assertThat(search.search("galaxy", 0, 10)).containsExactly(1L);
+        assertThat(search.search("tab", 0, 10)).isEmpty();
+        assertThat(search.search("samsung", 0, 10)).containsExactly(1L);
+    }
+
+    @Test
+    void shouldKeepDevicesSharingANameApart() {
+        // GIVEN - Three devices with the same name and brand
+        search.index(device(1L, "Pixel 8", "Google"));
+        search.index(device(2L, "Pixel 8", "Google"));
+        search.index(device(3L, "Pixel 8", "Google"));
+
+        // WHEN - One is renamed away and back, another is removed
+        search.index(device(1L, "Pixel 9", "Google"));
+        search.index(device(1L, "Pixel 8", "Google"));
+        search.remove(2L);
+
+        // THEN - The others are still found, each once
+        assertThat(search.search("pixel 8", 0, 10)).containsExactly(1L, 3L);
+        assertThat(search.search("pixel 9", 0, 10)).isEmpty();
+    }
+
+    @Test
+    void shouldReturnTheSamePagesAsOneLargeSearchAfterManyChanges() {
+        // GIVEN - Devices indexed out of id order, then renamed and removed at random
+        SplittableRandom random = new SplittableRandom(7);
+        String[] lines = {"Galaxy", "Pixel", "iPhone", "Gear", "Glass"};
+        for (long id = 3000; id >= 1; id--) {
+            search.index(device(id, lines[random.nextInt(lines.length)] + " " + random.nextInt(40), "Gadgetco"));
+        }
+        for (int i = 0; i < 1500; i++) {
+            long id = 1 + random.nextInt(3000);
+            if (random.nextBoolean()) {
+                search.index(device(id, lines[random.nextInt(lines.length)] + " " + random.nextInt(40), "Gadgetco"));
+            } else {
+                search.remove(id);
+            }
+        }
+
+        for (String query : List.of("g", "galaxy 1", "pixel", "gadgetco 3")) {
+            // WHEN - Paging in small pages, which lets the search stop early
+            List<Long> all = search.search(query, 0, 3000);
+            List<Long> paged = new ArrayList<>();
+            for (int offset = 0; offset < 140; offset += 7) {
+                paged.addAll(search.search(query, offset, 7));
+            }
+
+            // THEN - Assert
+            assertThat(all).doesNotHaveDuplicates();
+            assertThat(paged).as(query).isEqualTo(all.subList(0, Math.min(140, all.size())));
+        }
+    }
+
+    private static Device device(Long id, String name, String brand) {
+        Device device = Device.create(name, brand, DeviceState.AVAILABLE);
+        device.setId(id);
+        return device;
+    }
+}
@@ -0,0 +1,72 @@
+package com.test.devices.presentation.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class AccessLogTest {
+
+    @Test
+    void shouldAlwaysLogServerErrorsAndSlowRequests() {
+        // GIVEN - Nothing sampled
+        AccessLog accessLog = accessLog(0, 10);
+
+        // WHEN
+        accessLog.log("GET", "/api/v1/devices/1", "getDevice", 200, TimeUnit.MILLISECONDS.toNanos(5));
+        accessLog.log("GET", "/api/v1/devices/2", "getDevice", 503, TimeUnit.MILLISECONDS.toNanos(5));
+        accessLog.log("GET", "/api/v1/devices", "listDevices", 200, TimeUnit.SECONDS.toNanos(2));
+
+        // THEN
+        assertThat(accessLog.queue)
+            .extracting(AccessLogEntry::path, AccessLogEntry::status, AccessLogEntry::sampled)
+            .containsExactly(
+                tuple("/api/v1/devices/2", 503, false),
+                tuple("/api/v1/devices", 200, false));
+    }
+
+    @Test
+    void shouldSampleOtherRequests() {
+        // GIVEN - Everything sampled
+        AccessLog accessLog = accessLog(1, 10);
+
+        // WHEN
+        accessLog.log("DELETE", "/api/v1/devices/1", "deleteDevice", 204, TimeUnit.MICROSECONDS.toNanos(1500));
+
+        // THEN
+        assertThat(accessLog.queue).singleElement().satisfies(entry -> {
+            assertThat(entry.method()).isEqualTo("DELETE");
+            assertThat(entry.operation()).isEqualTo("deleteDevice");
+            assertThat(entry.durationMicros()).isEqualTo(1500);
+            assertThat(entry.sampled()).isTrue();
+        });
+    }
+
+    @Test
+    void shouldDropEntriesInsteadOfBlockingWhenQueueIsFull() {
+        // GIVEN
+        AccessLog accessLog = accessLog(1, 1);
+
+        // WHEN
+        accessLog.log("GET", "/api/v1/devices/1", "getDevice", 500, 0);
+        accessLog.log("GET", "/api/v1/devices/2", "getDevice", 500, 0);
+
+        // THEN
+        assertThat(accessLog.queue).hasSize(1);
+        assertThat(accessLog.dropped()).isEqualTo(1);
+    }
+
+    // Disabled, so no writer thread drains the queue under test
+    private static AccessLog accessLog(double sampleRate, int queueSize) {
+        AccessLog accessLog = new AccessLog();
+        accessLog.enabled = false;
+        accessLog.sampleRate = sampleRate;
+        accessLog.slowThreshold = Duration.ofSeconds(1);
+        accessLog.queueSize = queueSize;
+        accessLog.init();
+        return accessLog;
+    }
+}
@@ -0,0 +1,101 @@
+package com.test.devices.presentation.rest;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.*;
+
+@QuarkusTest
+class DeviceBatchResourceTest {
+
+    // URL encoding is disabled so the ':' in the custom method path is sent literally
+
+    @Test
+    void shouldCreateDevicesInBulk() {
+        // GIVEN - Two valid devices and one invalid
+        String requestBody = """
+            [
+                {"name": "Bulk 1", "brand": "Warehouse", "state": "AVAILABLE"},
+                {"name": " ", "brand": "Warehouse", "state": "AVAILABLE"},
+                {"name": "Bulk 2", "brand": "Warehouse", "state": "INACTIVE"}
+            ]
+            """;
+
+        // WHEN/THEN - Valid items are created and the invalid one is reported
+        given()
+                .urlEncodingEnabled(false)
+                .contentType(ContentType.JSON)
+                .body(requestBody)
+                .when()
+                .post("/api/v1/devices:batch")
+                .then()
+                .statusCode(200)
+                .body("created", equalTo(2))
+                .body("rejected", equalTo(1))
+                .body("results[0].device.id", notNullValue())
+                .body("results[1].created", equalTo(false))
+                .body("results[1].error", containsString("blank"))
+                .body("results[2].device.state", equalTo("INACTIVE"));
+    }
+
+    @Test
+    void shouldReturnBadRequestForEmptyBatch() {
+        given()
+                .urlEncodingEnabled(false)
+                .contentType(ContentType.JSON)
+                .body("[]")
+                .when()
+                .post("/api/v1/devices:batch")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    void shouldChangeStateOfManyDevices() {
+        // GIVEN - Two available devices
+        Integer first = given().contentType(ContentType.JSON).body("""
+            {"name": "Shift 1", "brand": "ShiftBrand", "state": "AVAILABLE"}
+            """).post("/api/v1/devices").then().statusCode(201).extract().path("id");
+        Integer second = given().contentType(ContentType.JSON).body("""
+            {"name": "Shift 2", "brand": "ShiftBrand", "state": "AVAILABLE"}
+            """).post("/api/v1/devices").then().statusCode(201).extract().path("id");
+
+        // WHEN/THEN - Moving both to IN_USE reports them as changed
+        given()
+                .urlEncodingEnabled(false)
+                .contentType(ContentType.JSON)
+                .body("""
+                    {"ids": [%d, %d], "state": "IN_USE"}
+                    """.formatted(first, second))
+                .when()
+                .post("/api/v1/devices:batchUpdateState")
+                .then()
+                .statusCode(200)
+                .body("changed", hasItems(first, second))
+                .body("unchanged.size()", equalTo(0));
+
+        given()
+                .pathParam("id", first)
+                .when()
+                .get("/api/v1/devices/{id}")
+                .then()
+                .statusCode(200)
+                .body("state", equalTo("IN_USE"));
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenTargetStateMissing() {
+        given()
+                .urlEncodingEnabled(false)
+                .contentType(ContentType.JSON)
+                .body("""
+                    {"ids": [1]}
+                    """)
+                .when()
+                .post("/api/v1/devices:batchUpdateState")
+                .then()
+                .statusCode(400);
+    }
+}
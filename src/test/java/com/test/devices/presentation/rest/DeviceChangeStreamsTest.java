@@ -0,0 +1,82 @@
+package com.test.devices.presentation.rest;
+
+import com.test.devices.application.dto.DeviceChangeResponse;
+import com.test.devices.application.event.DeviceChangeFeed;
+import com.test.devices.application.event.DeviceChangeType;
+import com.test.devices.domain.model.DeviceState;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DeviceChangeStreamsTest {
+
+    DeviceChangeStreams streams;
+    SseEventSink sink;
+    Sse sse;
+    Runnable subscription;
+
+    @BeforeEach
+    void setUp() {
+        streams = new DeviceChangeStreams();
+        streams.changeFeed = mock(DeviceChangeFeed.class);
+        subscription = mock(Runnable.class);
+        when(streams.changeFeed.subscribe(anyLong(), any())).thenReturn(subscription);
+        sink = mock(SseEventSink.class);
+        when(sink.send(any())).thenReturn(CompletableFuture.completedFuture(null));
+        OutboundSseEvent.Builder events = mock(OutboundSseEvent.Builder.class, RETURNS_SELF);
+        when(events.build()).thenReturn(mock(OutboundSseEvent.class));
+        sse = mock(Sse.class);
+        when(sse.newEventBuilder()).thenReturn(events);
+    }
+
+    @Test
+    void shouldUnsubscribeOnHeartbeatOnceTheClientIsGone() {
+        // GIVEN - A stream whose client disconnected while there was nothing to send
+        streams.open(0, sink, sse);
+        when(sink.isClosed()).thenReturn(true);
+
+        // WHEN - Act
+        streams.heartbeat();
+
+        // THEN - Assert
+        verify(subscription).run();
+    }
+
+    @Test
+    void shouldUnsubscribeAndCloseWhenAWriteFails() {
+        // GIVEN - A stream whose writes fail
+        streams.open(0, sink, sse);
+        when(sink.send(any())).thenReturn(CompletableFuture.failedFuture(new IllegalStateException("reset")));
+
+        // WHEN - A change is delivered to it
+        boolean keep = listener().test(
+                new DeviceChangeResponse(1L, DeviceChangeType.CREATED, 1L, DeviceState.AVAILABLE, LocalDateTime.now()));
+
+        // THEN - The write was attempted, then the stream was torn down
+        assertThat(keep).isTrue();
+        verify(subscription).run();
+        verify(sink).close();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Predicate<DeviceChangeResponse> listener() {
+        ArgumentCaptor<Predicate<DeviceChangeResponse>> listener = ArgumentCaptor.forClass(Predicate.class);
+        verify(streams.changeFeed).subscribe(anyLong(), listener.capture());
+        return listener.getValue();
+    }
+}
@@ -0,0 +1,87 @@
+package com.test.devices.presentation.rest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+
+@QuarkusTest
+@TestProfile(DeviceResourceRegistryTest.RegistryProfile.class)
+class DeviceResourceRegistryTest {
+
+    public static class RegistryProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("devices.registry.enabled", "true");
+        }
+    }
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @Test
+    void shouldAnswerRegisteredDevicesWithoutTheUseCase() {
+        // GIVEN - A registered device and its ETag
+        Integer deviceId = given().contentType(ContentType.JSON).body("""
+            {"name": "Hit", "brand": "Brand", "state": "AVAILABLE"}
+            """).post("/api/v1/devices").then().statusCode(201).extract().path("id");
+        double useCaseCalls = getDeviceUseCaseCalls();
+
+        // WHEN - It is read, plainly and conditionally
+        String etag = given().pathParam("id", deviceId).get("/api/v1/devices/{id}")
+                .then().statusCode(200).body("name", equalTo("Hit")).extract().header("ETag");
+        given().header("If-None-Match", etag).pathParam("id", deviceId).get("/api/v1/devices/{id}")
+                .then().statusCode(304);
+
+        // THEN - Neither read went through the transactional use case
+        assertThat(getDeviceUseCaseCalls()).isEqualTo(useCaseCalls);
+    }
+
+    @Test
+    void shouldServeReadsFromRegistryKeptCurrentByWrites() {
+        // GIVEN - A device created and read back
+        Integer deviceId = given().contentType(ContentType.JSON).body("""
+            {"name": "Registered", "brand": "Brand", "state": "AVAILABLE"}
+            """).post("/api/v1/devices").then().statusCode(201).extract().path("id");
+        String etag = given().pathParam("id", deviceId).get("/api/v1/devices/{id}")
+                .then().statusCode(200).body("name", equalTo("Registered")).extract().header("ETag");
+        given().header("If-None-Match", etag).pathParam("id", deviceId).get("/api/v1/devices/{id}")
+                .then().statusCode(304);
+
+        // WHEN - It is renamed, then changed in bulk
+        given().contentType(ContentType.JSON).pathParam("id", deviceId).body("""
+            {"name": "Renamed"}
+            """).put("/api/v1/devices/{id}").then().statusCode(200);
+        // URL encoding is disabled so the ':' in the custom method path is sent literally
+        given().urlEncodingEnabled(false).contentType(ContentType.JSON)
+                .body("{\"ids\": [" + deviceId + "], \"state\": \"INACTIVE\"}")
+                .post("/api/v1/devices:batchUpdateState").then().statusCode(200);
+
+        // THEN - Reads see every write, with a new ETag, until the device is deleted
+        given().pathParam("id", deviceId).get("/api/v1/devices/{id}")
+                .then().statusCode(200)
+                .body("name", equalTo("Renamed"))
+                .body("state", equalTo("INACTIVE"))
+                .body("version", equalTo(2))
+                .header("ETag", not(equalTo(etag)));
+        given().pathParam("id", deviceId).delete("/api/v1/devices/{id}").then().statusCode(204);
+        given().pathParam("id", deviceId).get("/api/v1/devices/{id}").then().statusCode(404);
+    }
+
+    private double getDeviceUseCaseCalls() {
+        return meterRegistry.find("devices.usecase").tag("class", "GetDeviceUseCase").timers().stream()
+                .mapToDouble(Timer::count)
+                .sum();
+    }
+}
@@ -1,16 +1,33 @@
 package com.test.devices.presentation.rest;
 
+import com.test.devices.infrastructure.stats.DeviceStatsReconciler;
 import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
 import org.junit.jupiter.api.Test;
 
+import io.restassured.RestAssured;
 import io.restassured.http.ContentType;
 
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
 import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 
 @QuarkusTest
 class DeviceResourceTest {
+
+    @Inject
+    DeviceStatsReconciler statsReconciler;
+
     @Test
     void shouldCreateDeviceSuccessfully() {
         // GIVEN - A valid create request
@@ -195,13 +212,13 @@ class DeviceResourceTest {
             {"name": "Device 2", "brand": "Brand B", "state": "IN_USE"}
             """).post("/api/v1/devices");
 
-        // WHEN/THEN - Listing devices returns array
+        // WHEN/THEN - Listing devices returns the first page
         given()
                 .when()
                 .get("/api/v1/devices")
                 .then()
                 .statusCode(200)
-                .body("size()", greaterThanOrEqualTo(2));
+                .body("items.size()", greaterThanOrEqualTo(2));
     }
 
     @Test
@@ -222,7 +239,8 @@ class DeviceResourceTest {
                 .get("/api/v1/devices")
                 .then()
                 .statusCode(200)
-                .body("findAll { it.brand == 'Apple' }.size()", greaterThanOrEqualTo(1));
+                .body("items.size()", greaterThanOrEqualTo(1))
+                .body("items.findAll { it.brand != 'Apple' }.size()", equalTo(0));
     }
 
     @Test
@@ -293,4 +311,460 @@ class DeviceResourceTest {
                 .statusCode(400)
                 .body("message", containsString("Cannot delete"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldPageThroughDevicesWithCursor() {
+        // GIVEN - Devices of a brand unique to this test
+        for (int i = 1; i <= 3; i++) {
+            given().contentType(ContentType.JSON).body("""
+                {"name": "Paged %d", "brand": "PagedBrand", "state": "AVAILABLE"}
+                """.formatted(i)).post("/api/v1/devices");
+        }
+
+        // WHEN - Fetching the first page
+        String next = given()
+                .queryParam("brand", "PagedBrand")
+                .queryParam("limit", 2)
+                .when()
+                .get("/api/v1/devices")
+                .then()
+                .statusCode(200)
+                .body("items.size()", equalTo(2))
+                .body("items[0].name", equalTo("Paged 1"))
+                .body("next", notNullValue())
+                .extract()
+                .path("next");
+
+        // THEN - The cursor resumes after the last device and the final page has no cursor
+        given()
+                .queryParam("brand", "PagedBrand")
+                .queryParam("limit", 2)
+                .queryParam("after", next)
+                .when()
+                .get("/api/v1/devices")
+                .then()
+                .statusCode(200)
+                .body("items.size()", equalTo(1))
+                .body("items[0].name", equalTo("Paged 3"))
+                .body("next", nullValue());
+    }
+
+    @Test
+    void shouldReturnBadRequestForInvalidCursor() {
+        given()
+                .queryParam("after", "???")
+                .when()
+                .get("/api/v1/devices")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    void shouldSearchDevicesByWordPrefixesBestMatchFirst() {
+        // GIVEN - Devices named with words unique to this test
+        for (String name : List.of("Zephyrbook Air", "Zephyr 15 Pro", "Zephyr 14")) {
+            given().contentType(ContentType.JSON).body("""
+                {"name": "%s", "brand": "Zephyrco", "state": "AVAILABLE"}
+                """.formatted(name)).post("/api/v1/devices");
+        }
+
+        // WHEN/THEN - Every word must match; whole name words rank above prefixes
+        given()
+                .queryParam("q", "ZEPHYR 15")
+                .when()
+                .get("/api/v1/devices/search")
+                .then()
+                .statusCode(200)
+                .body("items.size()", equalTo(1))
+                .body("items[0].name", equalTo("Zephyr 15 Pro"));
+
+        String next = given()
+                .queryParam("q", "zephyr")
+                .queryParam("limit", 2)
+                .when()
+                .get("/api/v1/devices/search")
+                .then()
+                .statusCode(200)
+                .body("items.name", equalTo(List.of("Zephyr 15 Pro", "Zephyr 14")))
+                .body("next", notNullValue())
+                .extract()
+                .path("next");
+
+        given()
+                .queryParam("q", "zephyr")
+                .queryParam("limit", 2)
+                .queryParam("after", next)
+                .when()
+                .get("/api/v1/devices/search")
+                .then()
+                .statusCode(200)
+                .body("items.name", equalTo(List.of("Zephyrbook Air")))
+                .body("next", nullValue());
+    }
+
+    @Test
+    void shouldKeepSearchResultsCurrentWithWrites() {
+        // GIVEN - A device found by its name
+        Integer deviceId = given()
+                .contentType(ContentType.JSON)
+                .body("""
+                    {"name": "Quokkaphone", "brand": "Marsupial", "state": "AVAILABLE"}
+                    """)
+                .post("/api/v1/devices")
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("id");
+
+        // WHEN - It is renamed
+        given()
+                .contentType(ContentType.JSON)
+                .body("""
+                    {"name": "Wombatphone"}
+                    """)
+                .pathParam("id", deviceId)
+                .put("/api/v1/devices/{id}")
+                .then()
+                .statusCode(200);
+
+        // THEN - Only the new name matches, until the device is deleted
+        given().queryParam("q", "quokka").get("/api/v1/devices/search")
+                .then().statusCode(200).body("items.size()", equalTo(0));
+        given().queryParam("q", "wombat").get("/api/v1/devices/search")
+                .then().statusCode(200).body("items[0].id", equalTo(deviceId));
+
+        given().pathParam("id", deviceId).delete("/api/v1/devices/{id}").then().statusCode(204);
+        given().queryParam("q", "wombat").get("/api/v1/devices/search")
+                .then().statusCode(200).body("items.size()", equalTo(0));
+    }
+
+    @Test
+    void shouldReturnBadRequestForMissingSearchQuery() {
+        given()
+                .when()
+                .get("/api/v1/devices/search")
+                .then()
+                .statusCode(400)
+                .body("message", containsString("query is required"));
+    }
+
+    @Test
+    void shouldCountDevicesByStateAndBrand() {
+        // GIVEN - Counts recounted from the database, then two devices of a new brand, one put in use
+        statsReconciler.reconcile();
+        Integer deviceId = createDevice("Koala 1", "Koalacorp");
+        createDevice("Koala 2", "Koalacorp");
+        given()
+                .contentType(ContentType.JSON)
+                .body("""
+                    {"state": "IN_USE"}
+                    """)
+                .pathParam("id", deviceId)
+                .put("/api/v1/devices/{id}")
+                .then()
+                .statusCode(200);
+
+        // WHEN/THEN - Assert
+        given()
+                .when()
+                .get("/api/v1/devices/stats")
+                .then()
+                .statusCode(200)
+                .body("brands.Koalacorp.AVAILABLE", equalTo(1))
+                .body("brands.Koalacorp.IN_USE", equalTo(1))
+                .body("brands.Koalacorp.INACTIVE", equalTo(0))
+                .body("total", greaterThanOrEqualTo(2))
+                .body("stale", equalTo(false));
+    }
+
+    @Test
+    void shouldCountDeletesWithoutRecounting() {
+        // GIVEN - Arrange
+        Integer deviceId = createDevice("Numbat 1", "Numbatcorp");
+
+        // WHEN - Act
+        given().pathParam("id", deviceId).delete("/api/v1/devices/{id}").then().statusCode(204);
+
+        // THEN - The delete is counted exactly, so no recount is due
+        given()
+                .when()
+                .get("/api/v1/devices/stats")
+                .then()
+                .statusCode(200)
+                .body("brands.Numbatcorp", nullValue())
+                .body("stale", equalTo(false));
+    }
+
+    @Test
+    void shouldExportDevicesAsNdjson() {
+        // GIVEN - A created device
+        given().contentType(ContentType.JSON).body("""
+            {"name": "Exported", "brand": "ExportBrand", "state": "INACTIVE"}
+            """).post("/api/v1/devices");
+
+        // WHEN - Exporting the inventory
+        String body = given()
+                .when()
+                .get("/api/v1/devices/export")
+                .then()
+                .statusCode(200)
+                .contentType(containsString("application/x-ndjson"))
+                .extract()
+                .asString();
+
+        // THEN - Every line is a standalone JSON device
+        String[] lines = body.split("\n");
+        assertThat(lines).isNotEmpty();
+        assertThat(lines).allMatch(line -> line.startsWith("{") && line.endsWith("}"));
+        assertThat(lines).anyMatch(line -> line.contains("\"brand\":\"ExportBrand\""));
+    }
+
+    @Test
+    void shouldFilterDevicesByBrandAndStateTogether() {
+        // GIVEN - Devices of one brand in different states
+        given().contentType(ContentType.JSON).body("""
+            {"name": "Combo 1", "brand": "ComboBrand", "state": "AVAILABLE"}
+            """).post("/api/v1/devices");
+
+        given().contentType(ContentType.JSON).body("""
+            {"name": "Combo 2", "brand": "ComboBrand", "state": "IN_USE"}
+            """).post("/api/v1/devices");
+
+        // WHEN/THEN - Both filters apply
+        given()
+                .queryParam("brand", "ComboBrand")
+                .queryParam("state", "IN_USE")
+                .when()
+                .get("/api/v1/devices")
+                .then()
+                .statusCode(200)
+                .body("items.size()", equalTo(1))
+                .body("items[0].name", equalTo("Combo 2"));
+    }
+
+    @Test
+    void shouldReturnBadRequestForInvalidCreationTimestamp() {
+        given()
+                .queryParam("createdFrom", "yesterday")
+                .when()
+                .get("/api/v1/devices")
+                .then()
+                .statusCode(400)
+                .body("message", containsString("createdFrom"));
+    }
+
+    @Test
+    void shouldHonorIfMatchOnUpdate() {
+        // GIVEN - A created device and its ETag
+        Integer deviceId = given().contentType(ContentType.JSON).body("""
+            {"name": "Versioned", "brand": "Brand", "state": "AVAILABLE"}
+            """).post("/api/v1/devices").then().statusCode(201).extract().path("id");
+        String etag = given().pathParam("id", deviceId).get("/api/v1/devices/{id}")
+                .then().statusCode(200).header("ETag", notNullValue()).extract().header("ETag");
+
+        // WHEN - Updating with the current ETag
+        String newEtag = given()
+                .contentType(ContentType.JSON)
+                .header("If-Match", etag)
+                .pathParam("id", deviceId)
+                .body("""
+                    {"state": "INACTIVE"}
+                    """)
+                .when()
+                .put("/api/v1/devices/{id}")
+                .then()
+                .statusCode(200)
+                .extract()
+                .header("ETag");
+
+        // THEN - The ETag changes and the old one no longer matches
+        assertThat(newEtag).isNotEqualTo(etag);
+        given()
+                .contentType(ContentType.JSON)
+                .header("If-Match", etag)
+                .pathParam("id", deviceId)
+                .body("""
+                    {"state": "AVAILABLE"}
+                    """)
+                .when()
+                .put("/api/v1/devices/{id}")
+                .then()
+                .statusCode(412);
+    }
+
+    @Test
+    void shouldHonorIfMatchOnDelete() {
+        // GIVEN - A created device
+        Integer deviceId = given().contentType(ContentType.JSON).body("""
+            {"name": "Versioned delete", "brand": "Brand", "state": "AVAILABLE"}
+            """).post("/api/v1/devices").then().statusCode(201).extract().path("id");
+
+        // WHEN/THEN - A stale ETag is rejected and the device survives
+        given()
+                .header("If-Match", "\"999\"")
+                .pathParam("id", deviceId)
+                .when()
+                .delete("/api/v1/devices/{id}")
+                .then()
+                .statusCode(412);
+
+        given()
+                .pathParam("id", deviceId)
+                .when()
+                .get("/api/v1/devices/{id}")
+                .then()
+                .statusCode(200);
+    }
+
+    @Test
+    void shouldAnswerNotModifiedForCurrentETag() {
+        // GIVEN - A created device and its validators
+        Integer deviceId = given().contentType(ContentType.JSON).body("""
+            {"name": "Polled", "brand": "Brand", "state": "AVAILABLE"}
+            """).post("/api/v1/devices").then().statusCode(201).extract().path("id");
+        var first = given().pathParam("id", deviceId).get("/api/v1/devices/{id}")
+                .then().statusCode(200).header("Last-Modified", notNullValue()).extract();
+        String etag = first.header("ETag");
+        String lastModified = first.header("Last-Modified");
+
+        // WHEN/THEN - Conditional requests for the unchanged device get an empty 304
+        given()
+                .header("If-None-Match", etag)
+                .pathParam("id", deviceId)
+                .when()
+                .get("/api/v1/devices/{id}")
+                .then()
+                .statusCode(304)
+                .header("ETag", etag);
+
+        given()
+                .header("If-Modified-Since", lastModified)
+                .pathParam("id", deviceId)
+                .when()
+                .get("/api/v1/devices/{id}")
+                .then()
+                .statusCode(304);
+
+        // AND - Once the device changes the old ETag no longer matches
+        given().contentType(ContentType.JSON).pathParam("id", deviceId).body("""
+            {"state": "INACTIVE"}
+            """).put("/api/v1/devices/{id}").then().statusCode(200);
+
+        given()
+                .header("If-None-Match", etag)
+                .pathParam("id", deviceId)
+                .when()
+                .get("/api/v1/devices/{id}")
+                .then()
+                .statusCode(200)
+                .body("state", equalTo("INACTIVE"));
+    }
+
+    @Test
+    void shouldAnswerNotModifiedForUnchangedList() {
+        // GIVEN - The ETag of a listing
+        given().contentType(ContentType.JSON).body("""
+            {"name": "Listed", "brand": "ConditionalBrand", "state": "AVAILABLE"}
+            """).post("/api/v1/devices").then().statusCode(201);
+        String etag = given().queryParam("brand", "ConditionalBrand").get("/api/v1/devices")
+                .then().statusCode(200).extract().header("ETag");
+
+        // WHEN/THEN - Unchanged listing answers 304, a changed one 200
+        given()
+                .header("If-None-Match", etag)
+                .queryParam("brand", "ConditionalBrand")
+                .when()
+                .get("/api/v1/devices")
+                .then()
+                .statusCode(304);
+
+        given().contentType(ContentType.JSON).body("""
+            {"name": "Listed 2", "brand": "ConditionalBrand", "state": "AVAILABLE"}
+            """).post("/api/v1/devices").then().statusCode(201);
+
+        given()
+                .header("If-None-Match", etag)
+                .queryParam("brand", "ConditionalBrand")
+                .when()
+                .get("/api/v1/devices")
+                .then()
+                .statusCode(200)
+                .body("items.size()", equalTo(2));
+    }
+
+    @Test
+    void shouldLongPollCommittedChanges() {
+        // GIVEN - The current feed offset
+        long after = given().queryParam("timeout", 0).accept(ContentType.JSON).get("/api/v1/devices/changes")
+                .then().statusCode(200).body("changes.size()", equalTo(0)).extract().jsonPath().getLong("next");
+
+        // WHEN - A device is created and then deleted
+        Integer deviceId = given().contentType(ContentType.JSON).body("""
+            {"name": "Watched", "brand": "Brand", "state": "AVAILABLE"}
+            """).post("/api/v1/devices").then().statusCode(201).extract().path("id");
+        given().pathParam("id", deviceId).delete("/api/v1/devices/{id}").then().statusCode(204);
+
+        // THEN - Polling from the offset returns both changes in order
+        given()
+                .queryParam("after", after)
+                .accept(ContentType.JSON)
+                .when()
+                .get("/api/v1/devices/changes")
+                .then()
+                .statusCode(200)
+                .body("changes.type", hasItems("CREATED", "DELETED"))
+                .body("changes.findAll { it.deviceId == %s }.type".formatted(deviceId), equalTo(List.of("CREATED", "DELETED")))
+                .body("next", greaterThanOrEqualTo((int) after + 2));
+    }
+
+    @Test
+    void shouldRejectUnknownChangeOffset() {
+        given()
+                .queryParam("after", Long.MAX_VALUE)
+                .accept(ContentType.JSON)
+                .when()
+                .get("/api/v1/devices/changes")
+                .then()
+                .statusCode(410);
+    }
+
+    @Test
+    void shouldStreamChangesAsServerSentEvents() throws Exception {
+        // GIVEN - An event stream opened from the current offset
+        long after = given().queryParam("timeout", 0).accept(ContentType.JSON).get("/api/v1/devices/changes")
+                .then().statusCode(200).extract().jsonPath().getLong("next");
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(
+                        RestAssured.baseURI + ":" + RestAssured.port + "/api/v1/devices/changes?after=" + after))
+                .header("Accept", "text/event-stream")
+                .build();
+        CompletableFuture<HttpResponse<Stream<String>>> response =
+                client.sendAsync(request, HttpResponse.BodyHandlers.ofLines());
+
+        // WHEN - A device is created
+        Integer deviceId = given().contentType(ContentType.JSON).body("""
+            {"name": "Streamed", "brand": "Brand", "state": "AVAILABLE"}
+            """).post("/api/v1/devices").then().statusCode(201).extract().path("id");
+
+        // THEN - Its creation is pushed as an event
+        HttpResponse<Stream<String>> stream = response.get(10, TimeUnit.SECONDS);
+        assertThat(stream.statusCode()).isEqualTo(200);
+        CompletableFuture<String> data = CompletableFuture.supplyAsync(() -> stream.body()
+                .filter(line -> line.startsWith("data:") && line.contains("\"deviceId\":" + deviceId + ","))
+                .findFirst()
+                .orElseThrow());
+        assertThat(data.get(10, TimeUnit.SECONDS)).contains("\"type\":\"CREATED\"");
+        stream.body().close();
+    }
+
+    private static Integer createDevice(String name, String brand) {
+        return given()
+                .contentType(ContentType.JSON)
+                .body("{\"name\": \"" + name + "\", \"brand\": \"" + brand + "\", \"state\": \"AVAILABLE\"}")
+                .post("/api/v1/devices")
+                .then()
+                .statusCode(201)
+                .extract()
+                .path("id");
+    }
+}
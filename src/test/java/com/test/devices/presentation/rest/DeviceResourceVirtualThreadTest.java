@@ -0,0 +1,62 @@
+package com.test.devices.presentation.rest;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.equalTo;
+
+@QuarkusTest
+@TestProfile(DeviceResourceVirtualThreadTest.VirtualThreadProfile.class)
+class DeviceResourceVirtualThreadTest {
+
+    public static class VirtualThreadProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("devices.execution.mode", "virtual");
+        }
+    }
+
+    @Test
+    void shouldServeCrudRequestsOnVirtualThreadsWithoutPinning() throws Exception {
+        List<RecordedEvent> pinned = new CopyOnWriteArrayList<>();
+        try (RecordingStream recording = new RecordingStream()) {
+            // Threshold 0 reports every pinned park, not only those over the default 20 ms
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.onEvent("jdk.VirtualThreadPinned", pinned::add);
+            recording.startAsync();
+
+            // GIVEN - A device created on a virtual thread
+            Integer deviceId = given().contentType(ContentType.JSON).body("""
+                {"name": "Virtual", "brand": "Brand", "state": "AVAILABLE"}
+                """).post("/api/v1/devices").then().statusCode(201).extract().path("id");
+
+            // WHEN/THEN - Reads, updates, deletes and failures behave as on the worker
+            given().pathParam("id", deviceId).get("/api/v1/devices/{id}")
+                    .then().statusCode(200).body("name", equalTo("Virtual"));
+            given().contentType(ContentType.JSON).pathParam("id", deviceId).body("""
+                {"state": "INACTIVE"}
+                """).put("/api/v1/devices/{id}").then().statusCode(200).body("state", equalTo("INACTIVE"));
+            given().queryParam("brand", "Brand").get("/api/v1/devices").then().statusCode(200);
+            given().pathParam("id", deviceId).delete("/api/v1/devices/{id}").then().statusCode(204);
+            given().pathParam("id", 999_999).get("/api/v1/devices/{id}").then().statusCode(404);
+
+            Thread.sleep(1500);
+        }
+
+        // AND - No virtual thread parked while pinned to its carrier
+        assertThat(pinned).extracting(event -> event.getStackTrace() == null ? "?" : event.getStackTrace().toString())
+                .isEmpty();
+    }
+}
@@ -0,0 +1,78 @@
+package com.test.devices.presentation.rest;
+
+import com.test.devices.application.exception.DeviceNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestExecutorTest {
+
+    RequestExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void shouldRunInlineInWorkerMode() {
+        // GIVEN
+        executor = executor(RequestExecutor.Mode.WORKER, 1);
+
+        // WHEN
+        CompletableFuture<String> result = executor.submit(() -> Thread.currentThread().getName()).toCompletableFuture();
+
+        // THEN - Completed on the calling thread
+        assertThat(result).isCompletedWithValue(Thread.currentThread().getName());
+    }
+
+    @Test
+    void shouldRunOnVirtualThreadsUpToMaxConcurrency() throws Exception {
+        // GIVEN
+        executor = executor(RequestExecutor.Mode.VIRTUAL, 2);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        // WHEN - More requests than permits, all blocked until released
+        @SuppressWarnings("unchecked")
+        CompletableFuture<Boolean>[] results = new CompletableFuture[10];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = executor.submit(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                await(release);
+                running.decrementAndGet();
+                return Thread.currentThread().isVirtual();
+            }).toCompletableFuture();
+        }
+        Thread.sleep(200);
+        release.countDown();
+        CompletableFuture.allOf(results).get(5, TimeUnit.SECONDS);
+
+        // THEN
+        assertThat(maxRunning.get()).isEqualTo(2);
+        assertThat(results).allSatisfy(result -> assertThat(result.join()).isTrue());
+    }
+
+    private static RequestExecutor executor(RequestExecutor.Mode mode, int maxConcurrency) {
+        RequestExecutor executor = new RequestExecutor();
+        executor.mode = mode;
+        executor.maxVirtualConcurrency = maxConcurrency;
+        executor.init();
+        return executor;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.test.devices.presentation.rest;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+
+@QuarkusTest
+@TestProfile(SlowQueryResourceTest.EveryCallSlowProfile.class)
+class SlowQueryResourceTest {
+
+    public static class EveryCallSlowProfile implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("devices.slow-query.threshold", "PT0S");
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        given().delete("/api/v1/admin/slow-queries").then().statusCode(204);
+    }
+
+    @Test
+    void shouldListSlowRepositoryCallsWithTheirSql() {
+        // GIVEN
+        given().contentType(ContentType.JSON).body("""
+            {"name": "Slow", "brand": "Sloth", "state": "AVAILABLE"}
+            """).post("/api/v1/devices").then().statusCode(201);
+
+        // WHEN
+        given().queryParam("brand", "Sloth").get("/api/v1/devices").then().statusCode(200);
+        given().queryParam("brand", "Sloth").get("/api/v1/devices").then().statusCode(200);
+
+        // THEN - Every call counts as slow here; H2 gets no plans
+        given().get("/api/v1/admin/slow-queries")
+            .then().statusCode(200)
+            .body("operation", hasItem("JpaDeviceQueries.findPage"))
+            .body("find { it.operation == 'JpaDeviceQueries.findPage' }.count", equalTo(2))
+            .body("find { it.operation == 'JpaDeviceQueries.findPage' }.maxMillis", greaterThanOrEqualTo(0))
+            .body("find { it.operation == 'JpaDeviceQueries.findPage' }.statements[0].sql", containsString("from devices"))
+            .body("find { it.operation == 'JpaDeviceQueries.findPage' }.statements[0].plan", nullValue());
+    }
+
+    @Test
+    void shouldLimitAndResetSlowQueries() {
+        // GIVEN
+        given().contentType(ContentType.JSON).body("""
+            {"name": "Slow", "brand": "Sloth", "state": "AVAILABLE"}
+            """).post("/api/v1/devices").then().statusCode(201);
+        given().queryParam("brand", "Sloth").get("/api/v1/devices").then().statusCode(200);
+
+        // WHEN/THEN
+        given().queryParam("limit", 1).get("/api/v1/admin/slow-queries").then().statusCode(200).body("$", hasSize(1));
+        given().queryParam("limit", 0).get("/api/v1/admin/slow-queries").then().statusCode(400);
+        given().delete("/api/v1/admin/slow-queries").then().statusCode(204);
+        given().get("/api/v1/admin/slow-queries").then().statusCode(200).body("$", empty());
+    }
+}